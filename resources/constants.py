@@ -1234,8 +1234,21 @@ DEFAULT_LANG = {
     'tfc.commands.locate.invalid_biome_source': 'This world does not have a compatible biome source',
     'tfc.commands.locate.not_found': 'Could not find a biome of type \"%s\" within reasonable distance',
     'tfc.commands.locate.volcano_not_found': 'Could not find a volcano within reasonable distance',
+    'tfc.commands.locate.searching': 'Searching for %s...',
+    'tfc.commands.locate.progress': 'Still searching for %s (%s%% searched)',
+    'tfc.commands.locate.cancelled': 'Cancelled the search for %s',
+    'tfc.commands.locate.timed_out': 'Stopped the search for %s after %s seconds',
+    'tfc.commands.locate.nothing_to_cancel': 'There is no search to cancel',
     'tfc.commands.propick.found_blocks': 'The propick scan found %s %s',
     'tfc.commands.propick.cleared': 'Cleared %s blocks, Found %s prospectable blocks',
+    'tfc.commands.debug.chunk_data_cache': 'Chunk data cache: %s entries, %s hits, %s misses',
+    'tfc.commands.debug.layer_tile_cache': 'Layer tile cache: %s tiles (%s MB), %s / %s hits (%s%%)',
+    'tfc.commands.debug.calendar_catch_up': 'Calendar catch-up: %s caught up and %s waiting (%s ticks behind) last tick, %s caught up and %s deferred in total',
+    'tfc.commands.debug.block_entity_sync': '%s: %s bytes in %s packets',
+    'tfc.commands.debug.block_entity_sync_measure': 'Measuring the size of block entity syncs: %s',
+    'tfc.commands.debug.item_lookup': '%s: %s lookups, %s%% by item alone, %s%% testing ingredients, %s%% with no candidates',
+    'tfc.commands.debug.feature_timing': '[%s] %s: %s ms in %s placements, %s µs each',
+    'tfc.commands.debug.vein_cache': 'Vein cache: %s / %s hits (%s%%)',
 
     # Entities
     'entity.tfc.cod': 'Cod',
@@ -61,6 +61,7 @@ import net.minecraft.world.level.chunk.*;
 import net.minecraft.world.level.levelgen.Heightmap;
 import net.minecraft.world.level.material.FluidState;
 import net.minecraft.world.level.material.Material;
+import net.minecraft.world.level.storage.LevelResource;
 import net.minecraft.world.level.storage.ServerLevelData;
 import net.minecraft.world.phys.BlockHitResult;
 import net.minecraft.world.phys.HitResult;
@@ -78,6 +79,7 @@ import net.minecraftforge.event.entity.player.BonemealEvent;
 import net.minecraftforge.event.entity.player.PlayerContainerEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
 import net.minecraftforge.event.world.*;
 import net.minecraftforge.eventbus.api.Event;
 import net.minecraftforge.eventbus.api.EventPriority;
@@ -116,6 +118,7 @@ import net.dries007.tfc.common.capabilities.heat.HeatDefinition;
 import net.dries007.tfc.common.capabilities.player.PlayerData;
 import net.dries007.tfc.common.capabilities.player.PlayerDataCapability;
 import net.dries007.tfc.common.capabilities.size.ItemSizeManager;
+import net.dries007.tfc.common.commands.LocateSearch;
 import net.dries007.tfc.common.commands.TFCCommands;
 import net.dries007.tfc.common.container.BlockEntityContainer;
 import net.dries007.tfc.common.container.Container;
@@ -134,6 +137,7 @@ import net.dries007.tfc.network.PlayerDrinkPacket;
 import net.dries007.tfc.network.UpdateClimateModelPacket;
 import net.dries007.tfc.util.*;
 import net.dries007.tfc.util.calendar.ICalendar;
+import net.dries007.tfc.util.calendar.ICalendarTickable;
 import net.dries007.tfc.util.climate.Climate;
 import net.dries007.tfc.util.climate.ClimateModel;
 import net.dries007.tfc.util.climate.ClimateRange;
@@ -144,13 +148,18 @@ import net.dries007.tfc.util.events.StartFireEvent;
 import net.dries007.tfc.util.tracker.WeatherHelpers;
 import net.dries007.tfc.util.tracker.WorldTracker;
 import net.dries007.tfc.util.tracker.WorldTrackerCapability;
+import net.dries007.tfc.world.FeatureTimings;
 import net.dries007.tfc.world.NoopClimateSampler;
 import net.dries007.tfc.world.biome.BiomeSourceExtension;
+import net.dries007.tfc.world.biome.TFCBiomeSource;
 import net.dries007.tfc.world.biome.TFCBiomes;
 import net.dries007.tfc.world.chunkdata.ChunkData;
 import net.dries007.tfc.world.chunkdata.ChunkDataCache;
 import net.dries007.tfc.world.chunkdata.ChunkDataCapability;
 import net.dries007.tfc.world.chunkdata.ChunkGeneratorExtension;
+import net.dries007.tfc.world.feature.vein.VeinFeature;
+import net.dries007.tfc.world.layer.framework.LayerTileCache;
+import net.dries007.tfc.world.layer.framework.LayerTileStore;
 import net.dries007.tfc.world.settings.RockLayerSettings;
 import org.slf4j.Logger;
 
@@ -159,6 +168,7 @@ public final class ForgeEventHandler
     private static final Logger LOGGER = LogUtils.getLogger();
     private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz";
     private static final BlockHitResult FAKE_MISS = BlockHitResult.miss(Vec3.ZERO, Direction.UP, BlockPos.ZERO);
+    private static final int CHUNK_DATA_CACHE_SWEEP_INTERVAL = 1200;
 
     public static void init()
     {
@@ -182,7 +192,9 @@ public final class ForgeEventHandler
         bus.addListener(ForgeEventHandler::onNeighborUpdate);
         bus.addListener(ForgeEventHandler::onExplosionDetonate);
         bus.addListener(ForgeEventHandler::onWorldTick);
+        bus.addListener(ForgeEventHandler::onServerTick);
         bus.addListener(ForgeEventHandler::onWorldLoad);
+        bus.addListener(ForgeEventHandler::onServerStopped);
         bus.addListener(ForgeEventHandler::onCreateNetherPortal);
         bus.addListener(ForgeEventHandler::onFluidPlaceBlock);
         bus.addListener(ForgeEventHandler::onFluidCreateSource);
@@ -370,7 +382,7 @@ public final class ForgeEventHandler
         ChunkData chunkData = ChunkData.get(event.getWorld(), pos);
         if (chunkData.getStatus() != ChunkData.Status.EMPTY)
         {
-            PacketHandler.send(PacketDistributor.PLAYER.with(event::getPlayer), chunkData.getUpdatePacket());
+            ChunkDataCache.SYNC_QUEUE.enqueue(event.getPlayer(), chunkData);
         }
         else
         {
@@ -385,6 +397,7 @@ public final class ForgeEventHandler
         ChunkPos pos = event.getPos();
         PacketHandler.send(PacketDistributor.PLAYER.with(event::getPlayer), new ChunkUnwatchPacket(pos));
         ChunkDataCache.WATCH_QUEUE.dequeueChunk(pos, event.getPlayer());
+        ChunkDataCache.SYNC_QUEUE.dequeueChunk(pos, event.getPlayer());
     }
 
     public static void onChunkLoad(ChunkEvent.Load event)
@@ -444,11 +457,17 @@ public final class ForgeEventHandler
 
     public static void onBlockBroken(BlockEvent.BreakEvent event)
     {
-        // Trigger a collapse
         final LevelAccessor world = event.getWorld();
         final BlockPos pos = event.getPos();
         final BlockState state = world.getBlockState(pos);
 
+        if (world.getBlockEntity(pos) instanceof ICalendarTickable tickable)
+        {
+            tickable.forceCalendarUpdate(); // Catch up before the block entity's contents are dropped
+        }
+
+        // Trigger a collapse
+
         if (Helpers.isBlock(state, TFCTags.Blocks.CAN_TRIGGER_COLLAPSE) && world instanceof Level level)
         {
             CollapseRecipe.tryTriggerCollapse(level, pos);
@@ -530,6 +549,55 @@ public final class ForgeEventHandler
         {
             WeatherHelpers.preAdvancedWeatherCycle(level);
             level.getCapability(WorldTrackerCapability.CAPABILITY).ifPresent(cap -> cap.tick(level));
+
+            if (level.dimension() == Level.OVERWORLD && level.getGameTime() % CHUNK_DATA_CACHE_SWEEP_INTERVAL == 0)
+            {
+                // Periodically remove any chunk data for chunks that are no longer loaded in any level, in case an unload event was missed
+                final MinecraftServer server = level.getServer();
+                final int removed = ChunkDataCache.SERVER.retainIf(pos -> {
+                    final int x = ChunkPos.getX(pos), z = ChunkPos.getZ(pos);
+                    for (ServerLevel other : server.getAllLevels())
+                    {
+                        if (other.hasChunk(x, z))
+                        {
+                            return true;
+                        }
+                    }
+                    return false;
+                });
+                if (removed > 0)
+                {
+                    LOGGER.debug("Removed {} leaked entries from {}", removed, ChunkDataCache.SERVER);
+                }
+            }
+        }
+    }
+
+    public static void onServerTick(TickEvent.ServerTickEvent event)
+    {
+        if (event.phase == TickEvent.Phase.END)
+        {
+            BlockEntitySyncQueue.flush();
+            ChunkDataCache.SYNC_QUEUE.flush();
+        }
+    }
+
+    public static void onServerStopped(ServerStoppedEvent event)
+    {
+        ChunkDataCache.SERVER.clear();
+        ChunkDataCache.WATCH_QUEUE.clear();
+        ChunkDataCache.SYNC_QUEUE.clear();
+        BlockEntitySyncQueue.clear();
+        FeatureTimings.clear();
+        LocateSearch.cancelAll();
+        VeinFeature.clearCaches();
+
+        for (ServerLevel level : event.getServer().getAllLevels())
+        {
+            if (level.getChunkSource().getGenerator().getBiomeSource() instanceof TFCBiomeSource source)
+            {
+                source.closeLayerTileStore();
+            }
         }
     }
 
@@ -552,6 +620,11 @@ public final class ForgeEventHandler
             }
 
             Climate.onWorldLoad(level);
+            LayerTileCache.setCapacity(TFCConfig.COMMON.layerTileCacheCapacity.get());
+            if (TFCConfig.COMMON.enableLayerTileStore.get() && level.getChunkSource().getGenerator().getBiomeSource() instanceof TFCBiomeSource source)
+            {
+                source.attachLayerTileStore(new LayerTileStore(server.getWorldPath(LevelResource.ROOT).resolve("tfc").resolve("layers").resolve(Long.toHexString(source.getSeed()))));
+            }
             if (level.dimension() == Level.OVERWORLD)
             {
                 ItemSizeManager.applyItemStackSizeOverrides();
@@ -1147,6 +1220,11 @@ public final class ForgeEventHandler
         final BlockState state = level.getBlockState(event.getPos());
         final ItemStack stack = event.getItemStack();
 
+        if (level.getBlockEntity(event.getPos()) instanceof ICalendarTickable tickable)
+        {
+            tickable.forceCalendarUpdate(); // Catch up before the player interacts with the block entity
+        }
+
         if (event.getHand() == InteractionHand.MAIN_HAND && stack.isEmpty())
         {
             // For drinking, when we have an empty hand, we want to first try and interact with a block.
@@ -83,6 +83,7 @@ import net.dries007.tfc.util.calendar.ICalendar;
 import net.dries007.tfc.util.climate.Climate;
 import net.dries007.tfc.util.tracker.WorldTrackerCapability;
 import net.dries007.tfc.world.chunkdata.ChunkData;
+import net.dries007.tfc.world.chunkdata.ChunkDataCache;
 
 import static net.minecraft.ChatFormatting.*;
 
@@ -106,6 +107,7 @@ public class ClientForgeEventHandler
         bus.addListener(ClientForgeEventHandler::onInitGuiPost);
         bus.addListener(ClientForgeEventHandler::onClientWorldLoad);
         bus.addListener(ClientForgeEventHandler::onClientPlayerLoggedIn);
+        bus.addListener(ClientForgeEventHandler::onClientPlayerLoggedOut);
         bus.addListener(ClientForgeEventHandler::onClientTick);
         bus.addListener(ClientForgeEventHandler::onKeyEvent);
         bus.addListener(ClientForgeEventHandler::onScreenKey);
@@ -296,6 +298,8 @@ public class ClientForgeEventHandler
             colorCaches.putIfAbsent(TFCColors.FRESH_WATER, new BlockTintCache(TFCColors::getWaterColor));
             colorCaches.putIfAbsent(TFCColors.SALT_WATER, new BlockTintCache(TFCColors::getWaterColor));
 
+            // Cached colors belong to the previous level
+            TFCColors.invalidateColumnColors();
         }
     }
 
@@ -316,6 +320,13 @@ public class ClientForgeEventHandler
         }
     }
 
+    public static void onClientPlayerLoggedOut(ClientPlayerNetworkEvent.LoggedOutEvent event)
+    {
+        // Unwatch packets are not sent when disconnecting, so anything left in the client cache would otherwise leak into the next world
+        ChunkDataCache.CLIENT.clear();
+        TFCColors.invalidateColumnColors();
+    }
+
     public static void onClientTick(TickEvent.ClientTickEvent event)
     {
         Level world = Minecraft.getInstance().level;
@@ -323,6 +334,7 @@ public class ClientForgeEventHandler
         {
             Calendars.CLIENT.onClientTick();
             ClimateRenderCache.INSTANCE.onClientTick();
+            TFCColors.onClientTick();
         }
     }
 
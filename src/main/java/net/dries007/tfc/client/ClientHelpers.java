@@ -9,6 +9,7 @@ package net.dries007.tfc.client;
 import java.util.Objects;
 
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.LevelRenderer;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.client.searchtree.MutableSearchTree;
 import net.minecraft.client.searchtree.SearchRegistry;
@@ -84,6 +85,18 @@ public final class ClientHelpers
         Minecraft.getInstance().setScreen(new PetCommandScreen(mammal));
     }
 
+    /**
+     * Marks every section of a chunk to be re-meshed, for when data which affects its rendering, such as the climate used by block tints, changes without a block update.
+     */
+    public static void setChunkDirty(Level level, int chunkX, int chunkZ)
+    {
+        final LevelRenderer renderer = Minecraft.getInstance().levelRenderer;
+        for (int sectionY = level.getMinSection(); sectionY < level.getMaxSection(); sectionY++)
+        {
+            renderer.setSectionDirty(chunkX, sectionY, chunkZ);
+        }
+    }
+
     /**
      * Refreshes the search trees build in {@link Minecraft#createSearchTrees()}.
      * Allows for tag dependent values, both in the search results, and prevents these item stacks from decaying.
@@ -14,6 +14,7 @@ import net.minecraft.world.level.Level;
 
 import net.dries007.tfc.util.calendar.Calendars;
 import net.dries007.tfc.util.climate.Climate;
+import net.dries007.tfc.util.climate.ClimateSample;
 import net.dries007.tfc.util.tracker.WorldTracker;
 import net.dries007.tfc.util.tracker.WorldTrackerCapability;
 import net.dries007.tfc.world.chunkdata.ChunkData;
@@ -26,6 +27,8 @@ public enum ClimateRenderCache
 {
     INSTANCE;
 
+    private final ClimateSample sample = new ClimateSample();
+
     private long ticks;
     private float averageTemperature;
     private float temperature;
@@ -46,9 +49,10 @@ public enum ClimateRenderCache
             final BlockPos pos = player.blockPosition();
 
             ticks = Calendars.CLIENT.getTicks();
-            averageTemperature = Climate.getAverageTemperature(level, pos);
-            temperature = Climate.getTemperature(level, pos);
-            rainfall = Climate.getRainfall(level, pos);
+            Climate.sample(level, pos, sample);
+            averageTemperature = sample.averageTemperature();
+            temperature = sample.temperature();
+            rainfall = sample.rainfall();
             plateTectonicsInfo = ChunkData.get(level, pos).getPlateTectonicsInfo();
 
             // Can't call level.getRainLevel() because it's redirected to exactly this
@@ -6,21 +6,29 @@
 
 package net.dries007.tfc.client;
 
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.ToIntFunction;
 
+import net.minecraft.client.Minecraft;
 import net.minecraft.core.BlockPos;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.ColorResolver;
 import net.minecraft.world.level.CommonLevelAccessor;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.biome.Biome;
 
+import it.unimi.dsi.fastutil.HashCommon;
 import net.dries007.tfc.util.Helpers;
 import net.dries007.tfc.util.calendar.Calendars;
+import net.dries007.tfc.util.calendar.ICalendar;
 import net.dries007.tfc.util.calendar.Month;
 import net.dries007.tfc.util.calendar.Season;
 import net.dries007.tfc.util.climate.Climate;
+import net.dries007.tfc.util.climate.ClimateSample;
+import net.dries007.tfc.world.FastConcurrentCache;
 import net.dries007.tfc.world.TFCChunkGenerator;
 import net.dries007.tfc.world.biome.TFCBiomes;
 import org.jetbrains.annotations.Nullable;
@@ -43,6 +51,25 @@ public final class TFCColors
     private static final int COLORMAP_SIZE = 256 * 256;
     private static final int COLORMAP_MASK = COLORMAP_SIZE - 1;
 
+    private static final ThreadLocal<ClimateSample> CLIMATE_SAMPLE = ThreadLocal.withInitial(ClimateSample::new); // Color resolvers are invoked from chunk render threads
+
+    // Indexes of the block tint color maps in ColumnColors
+    private static final int FOLIAGE = 0;
+    private static final int FOLIAGE_WINTER = 1;
+    private static final int GRASS = 2;
+    private static final int TALL_GRASS = 3;
+    private static final int CACHED_COLOR_MAPS = 4;
+
+    // Cached colors are shared by all y levels within a band, and are sampled at the center of the band
+    private static final int COLOR_BAND_BITS = 3;
+
+    // Versions of each chunk's climate data, striped by chunk position, which are incremented after a chunk's climate data is synced
+    private static final int CLIMATE_VERSION_STRIPES = 4096;
+    private static final AtomicIntegerArray CLIMATE_VERSIONS = new AtomicIntegerArray(CLIMATE_VERSION_STRIPES);
+
+    private static volatile FastConcurrentCache<ColumnColors> COLUMN_COLORS = createColumnColors(0);
+    private static volatile int COLUMN_COLORS_RENDER_DISTANCE = 0;
+
     private static int[] SKY_COLORS_CACHE = new int[COLORMAP_SIZE];
     private static int[] FOG_COLORS_CACHE = new int[COLORMAP_SIZE];
     private static int[] WATER_COLORS_CACHE = new int[COLORMAP_SIZE];
@@ -83,6 +110,7 @@ public final class TFCColors
     public static void setFoliageColors(int[] foliageColorsCache)
     {
         FOLIAGE_COLORS_CACHE = foliageColorsCache;
+        invalidateColumnColors();
     }
 
     public static void setFoliageFallColors(int[] foliageFallColorsCache)
@@ -93,16 +121,50 @@ public final class TFCColors
     public static void setFoliageWinterColors(int[] foliageWinterColorsCache)
     {
         FOLIAGE_WINTER_COLORS_CACHE = foliageWinterColorsCache;
+        invalidateColumnColors();
     }
 
     public static void setGrassColors(int[] grassColorsCache)
     {
         GRASS_COLORS_CACHE = grassColorsCache;
+        invalidateColumnColors();
     }
 
     public static void setTallGrassColors(int[] tallGrassColorsCache)
     {
         TALL_GRASS_COLORS_CACHE = tallGrassColorsCache;
+        invalidateColumnColors();
+    }
+
+    /**
+     * Invalidates the cached colors of a chunk, when its climate data changes. Must be called after the new climate data is visible.
+     * The version is incremented, rather than just removing the entry, as a render thread may be sampling the old data, and would otherwise insert stale colors after the removal.
+     */
+    public static void invalidateColumnColors(int chunkX, int chunkZ)
+    {
+        CLIMATE_VERSIONS.incrementAndGet(climateVersionIndex(chunkX, chunkZ));
+        COLUMN_COLORS.remove(chunkX, chunkZ);
+    }
+
+    /**
+     * Discards all cached colors. Called when the color maps are reloaded, and when the client level changes or is unloaded, as cached colors are only valid for a single level.
+     */
+    public static void invalidateColumnColors()
+    {
+        COLUMN_COLORS = createColumnColors(COLUMN_COLORS_RENDER_DISTANCE);
+    }
+
+    /**
+     * Resizes the per-chunk color cache to fit every chunk within the client's render distance, when it changes.
+     */
+    public static void onClientTick()
+    {
+        final int renderDistance = Minecraft.getInstance().options.renderDistance;
+        if (renderDistance != COLUMN_COLORS_RENDER_DISTANCE)
+        {
+            COLUMN_COLORS_RENDER_DISTANCE = renderDistance;
+            COLUMN_COLORS = createColumnColors(renderDistance);
+        }
     }
 
     public static int getSkyColor(CommonLevelAccessor level, Biome biome, BlockPos pos)
@@ -133,12 +195,12 @@ public final class TFCColors
             {
                 case SPRING:
                 case SUMMER:
-                    return getClimateColor(FOLIAGE_COLORS_CACHE, pos);
+                    return getClimateColor(FOLIAGE_COLORS_CACHE, FOLIAGE, pos);
                 case FALL:
                     int index = Helpers.hash(91273491823412341L, pos);
                     return FOLIAGE_FALL_COLORS_CACHE[index & COLORMAP_MASK];
                 case WINTER:
-                    return getClimateColor(FOLIAGE_WINTER_COLORS_CACHE, pos);
+                    return getClimateColor(FOLIAGE_WINTER_COLORS_CACHE, FOLIAGE_WINTER, pos);
             }
         }
         return -1;
@@ -150,7 +212,7 @@ public final class TFCColors
         {
             if (pos != null)
             {
-                return getClimateColor(FOLIAGE_COLORS_CACHE, pos);
+                return getClimateColor(FOLIAGE_COLORS_CACHE, FOLIAGE, pos);
             }
             return getClimateColor(FOLIAGE_COLORS_CACHE, 10f, 250f); // Default values
         }
@@ -163,7 +225,7 @@ public final class TFCColors
         {
             if (pos != null)
             {
-                return getClimateColor(GRASS_COLORS_CACHE, pos);
+                return getClimateColor(GRASS_COLORS_CACHE, GRASS, pos);
             }
             return getClimateColor(GRASS_COLORS_CACHE, 10f, 250f); // Default values
         }
@@ -176,7 +238,7 @@ public final class TFCColors
         {
             if (pos != null)
             {
-                return getClimateColor(TALL_GRASS_COLORS_CACHE, pos);
+                return getClimateColor(TALL_GRASS_COLORS_CACHE, TALL_GRASS, pos);
             }
             return getClimateColor(TALL_GRASS_COLORS_CACHE, 10f, 250f); // Default values
         }
@@ -218,9 +280,55 @@ public final class TFCColors
         final Level level = ClientHelpers.getLevel();
         if (level != null)
         {
-            final float temperature = Climate.getTemperature(level, pos);
-            final float rainfall = Climate.getRainfall(level, pos);
-            return getClimateColor(colorCache, temperature, rainfall);
+            final ClimateSample sample = Climate.sample(level, pos, CLIMATE_SAMPLE.get());
+            return getClimateColor(colorCache, sample.temperature(), sample.rainfall());
+        }
+        return 0;
+    }
+
+    /**
+     * Queries a block tint color map, as in {@link #getClimateColor(int[], BlockPos)}, but through a per-column cache of each resident chunk.
+     * Meshing a chunk queries the same columns many times, and a chunk is re-meshed on every block or light update, which would otherwise sample the climate again for every tinted block.
+     * Climate only varies by the hour, so cached colors are discarded when the calendar hour changes (which includes month boundaries), when the chunk's climate data is synced, or when the color maps are reloaded.
+     * Temperature varies with elevation, so each column holds colors for bands of {@code 1 << COLOR_BAND_BITS} y levels, which are only allocated for the color maps and bands that are actually queried.
+     */
+    private static int getClimateColor(int[] colorCache, int colorMap, BlockPos pos)
+    {
+        final Level level = ClientHelpers.getLevel();
+        if (level != null)
+        {
+            final long hour = ICalendar.getTotalHours(Calendars.CLIENT.getCalendarTicks());
+            final int chunkX = pos.getX() >> 4, chunkZ = pos.getZ() >> 4;
+            final FastConcurrentCache<ColumnColors> cache = COLUMN_COLORS;
+
+            final int version = CLIMATE_VERSIONS.get(climateVersionIndex(chunkX, chunkZ));
+
+            final int band = (pos.getY() - level.getMinBuildHeight()) >> COLOR_BAND_BITS;
+            if (band < 0 || band >= ColumnColors.bands(level))
+            {
+                return getClimateColor(colorCache, pos); // Outside the level, so not worth caching
+            }
+
+            ColumnColors colors = cache.getIfPresent(chunkX, chunkZ);
+            if (colors == null || colors.hour != hour || colors.version != version || colors.bands != ColumnColors.bands(level))
+            {
+                colors = new ColumnColors(hour, version, ColumnColors.bands(level));
+                cache.set(chunkX, chunkZ, colors);
+            }
+
+            final int[] columns = colors.getOrCreate(colorMap, band);
+            final int index = ((pos.getZ() & 15) << 4) | (pos.getX() & 15);
+            final int color = columns[index];
+            if (color != ColumnColors.EMPTY)
+            {
+                return color;
+            }
+
+            final BlockPos center = pos.atY(level.getMinBuildHeight() + (band << COLOR_BAND_BITS) + (1 << (COLOR_BAND_BITS - 1)));
+            final ClimateSample sample = Climate.sample(level, center, CLIMATE_SAMPLE.get());
+            final int sampledColor = getClimateColor(colorCache, sample.temperature(), sample.rainfall());
+            columns[index] = sampledColor;
+            return sampledColor;
         }
         return 0;
     }
@@ -235,6 +343,18 @@ public final class TFCColors
         return colorCache[temperatureIndex | (rainfallIndex << 8)];
     }
 
+    private static FastConcurrentCache<ColumnColors> createColumnColors(int renderDistance)
+    {
+        // The number of chunks the client keeps loaded, as in ClientChunkCache
+        final int radius = Math.max(2, renderDistance) + 3;
+        return new FastConcurrentCache<>((2 * radius + 1) * (2 * radius + 1));
+    }
+
+    private static int climateVersionIndex(int chunkX, int chunkZ)
+    {
+        return (int) (HashCommon.mix(ChunkPos.asLong(chunkX, chunkZ)) & (CLIMATE_VERSION_STRIPES - 1));
+    }
+
     private static ColorResolver waterColorResolver(ToIntFunction<BlockPos> colorAccessor)
     {
         final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
@@ -243,4 +363,43 @@ public final class TFCColors
             return colorAccessor.applyAsInt(cursor);
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Cached colors for each column of a chunk, at a single calendar hour and version of the chunk's climate data. Colors are held per color map and band of y levels, as {@code 16 x 16} arrays which are allocated on first use.
+     * Entries are read and written from multiple chunk render threads. A racing write just replaces one valid color with the same color, and a write which is not yet visible to another thread only causes it to sample the color again.
+     */
+    private static final class ColumnColors
+    {
+        static final int EMPTY = 0; // A cached color of zero is indistinguishable from an empty entry, so it is just sampled again
+
+        static int bands(Level level)
+        {
+            return (level.getHeight() + (1 << COLOR_BAND_BITS) - 1) >> COLOR_BAND_BITS;
+        }
+
+        final long hour;
+        final int version;
+        final int bands;
+        private final AtomicReferenceArray<int[]> colors;
+
+        ColumnColors(long hour, int version, int bands)
+        {
+            this.hour = hour;
+            this.version = version;
+            this.bands = bands;
+            this.colors = new AtomicReferenceArray<>(CACHED_COLOR_MAPS * bands);
+        }
+
+        int[] getOrCreate(int colorMap, int band)
+        {
+            final int index = colorMap * bands + band;
+            final int[] existing = colors.get(index);
+            if (existing != null)
+            {
+                return existing;
+            }
+            final int[] created = new int[16 * 16];
+            return colors.compareAndSet(index, null, created) ? created : colors.get(index);
+        }
+    }
+}
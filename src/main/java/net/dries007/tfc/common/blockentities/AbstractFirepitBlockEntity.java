@@ -59,7 +59,10 @@ public abstract class AbstractFirepitBlockEntity<C extends IItemHandlerModifiabl
     public static void serverTick(Level level, BlockPos pos, BlockState state, AbstractFirepitBlockEntity<?> firepit)
     {
         firepit.checkForLastTickSync();
-        firepit.checkForCalendarUpdate();
+        if (!firepit.checkForCalendarUpdate())
+        {
+            return; // Waiting to catch up
+        }
 
         if (firepit.needsRecipeUpdate)
         {
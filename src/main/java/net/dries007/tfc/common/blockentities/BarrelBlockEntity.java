@@ -8,7 +8,6 @@ package net.dries007.tfc.common.blockentities;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -22,7 +21,6 @@ import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.item.BucketItem;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.crafting.RecipeManager;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.material.Fluids;
@@ -43,8 +41,9 @@ import net.dries007.tfc.common.capabilities.size.Weight;
 import net.dries007.tfc.common.container.BarrelContainer;
 import net.dries007.tfc.common.fluids.FluidHelpers;
 import net.dries007.tfc.common.recipes.BarrelRecipe;
+import net.dries007.tfc.common.recipes.InstantBarrelRecipe;
+import net.dries007.tfc.common.recipes.InstantFluidBarrelRecipe;
 import net.dries007.tfc.common.recipes.SealedBarrelRecipe;
-import net.dries007.tfc.common.recipes.TFCRecipeTypes;
 import net.dries007.tfc.common.recipes.inventory.EmptyInventory;
 import net.dries007.tfc.config.TFCConfig;
 import net.dries007.tfc.util.Helpers;
@@ -75,7 +74,10 @@ public class BarrelBlockEntity extends TickableInventoryBlockEntity<BarrelBlockE
         }
 
         barrel.checkForLastTickSync();
-        barrel.checkForCalendarUpdate();
+        if (!barrel.checkForCalendarUpdate())
+        {
+            return; // Waiting to catch up
+        }
 
         if (level.getGameTime() % 5 == 0)
         {
@@ -121,18 +123,20 @@ public class BarrelBlockEntity extends TickableInventoryBlockEntity<BarrelBlockE
             barrel.needsInstantRecipeUpdate = false;
             if (barrel.inventory.excess.isEmpty()) // Excess must be empty for instant recipes to apply
             {
-                final RecipeManager recipeManager = level.getRecipeManager();
-                Optional.<BarrelRecipe>empty() // For type erasure
-                    .or(() -> recipeManager.getRecipeFor(TFCRecipeTypes.BARREL_INSTANT.get(), barrel.inventory, level))
-                    .or(() -> recipeManager.getRecipeFor(TFCRecipeTypes.BARREL_INSTANT_FLUID.get(), barrel.inventory, level))
-                    .ifPresent(instantRecipe -> {
-                        instantRecipe.assembleOutputs(barrel.inventory);
-                        if (barrel.soundCooldownTicks == 0)
-                        {
-                            Helpers.playSound(level, barrel.getBlockPos(), instantRecipe.getCompleteSound());
-                            barrel.soundCooldownTicks = 5;
-                        }
-                    });
+                BarrelRecipe instantRecipe = InstantBarrelRecipe.getRecipe(barrel.inventory);
+                if (instantRecipe == null)
+                {
+                    instantRecipe = InstantFluidBarrelRecipe.getRecipe(barrel.inventory);
+                }
+                if (instantRecipe != null)
+                {
+                    instantRecipe.assembleOutputs(barrel.inventory);
+                    if (barrel.soundCooldownTicks == 0)
+                    {
+                        Helpers.playSound(level, barrel.getBlockPos(), instantRecipe.getCompleteSound());
+                        barrel.soundCooldownTicks = 5;
+                    }
+                }
                 barrel.markForSync();
             }
         }
@@ -191,11 +195,12 @@ public class BarrelBlockEntity extends TickableInventoryBlockEntity<BarrelBlockE
     @Override
     public <T> LazyOptional<T> getCapability(Capability<T> cap, @Nullable Direction side)
     {
+        final LazyOptional<T> capability = super.getCapability(cap, side); // Queried first, as it catches up the calendar, see TickableInventoryBlockEntity
         if (cap == Capabilities.FLUID)
         {
             return sidedFluidInventory.getSidedHandler(side).cast();
         }
-        return super.getCapability(cap, side);
+        return capability;
     }
 
     @Override
@@ -389,7 +394,7 @@ public class BarrelBlockEntity extends TickableInventoryBlockEntity<BarrelBlockE
         if (inventory.excess.isEmpty())
         {
             // Will only work on a recipe as long as the 'excess' is empty
-            recipe = level.getRecipeManager().getRecipeFor(TFCRecipeTypes.BARREL_SEALED.get(), inventory, level).orElse(null);
+            recipe = SealedBarrelRecipe.getRecipe(inventory);
             if (recipe != null && oldRecipe != recipe && (oldRecipe == null || !oldRecipe.getId().equals(recipe.getId())))
             {
                 // The recipe has changed to a new one, so update the recipe ticks
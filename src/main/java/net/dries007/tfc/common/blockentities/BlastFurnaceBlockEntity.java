@@ -66,7 +66,10 @@ public class BlastFurnaceBlockEntity extends TickableInventoryBlockEntity<BlastF
     public static void serverTick(Level level, BlockPos pos, BlockState state, BlastFurnaceBlockEntity entity)
     {
         entity.checkForLastTickSync();
-        entity.checkForCalendarUpdate();
+        if (!entity.checkForCalendarUpdate())
+        {
+            return; // Waiting to catch up
+        }
 
         if (level.getGameTime() % 20 == 0)
         {
@@ -408,11 +411,12 @@ public class BlastFurnaceBlockEntity extends TickableInventoryBlockEntity<BlastF
     @Override
     public <T> LazyOptional<T> getCapability(Capability<T> cap, @Nullable Direction side)
     {
+        final LazyOptional<T> capability = super.getCapability(cap, side); // Queried first, as it catches up the calendar, see TickableInventoryBlockEntity
         if (cap == Capabilities.FLUID)
         {
             return sidedFluidInventory.getSidedHandler(side).cast();
         }
-        return super.getCapability(cap, side);
+        return capability;
     }
 
     @Override
@@ -0,0 +1,114 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.common.blockentities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.dries007.tfc.config.TFCConfig;
+
+/**
+ * Coalesces calls to {@link TFCBlockEntity#markForSync()} on the server. Each block entity is synced at most once per {@code blockEntitySyncInterval} ticks, at the end of the server tick, with only the parts of its update tag which changed since it was last synced.
+ * <p>
+ * Also tracks the number of update packets sent, by block entity type, and optionally their size in bytes. Measuring the size requires serializing each tag a second time, so it is only done when enabled by {@code /tfc debug sync measure start}. Only accessed from the server thread.
+ */
+public final class BlockEntitySyncQueue
+{
+    private static final List<TFCBlockEntity> PENDING = new ArrayList<>();
+    private static final Object2LongMap<BlockEntityType<?>> BYTES_SENT = new Object2LongOpenHashMap<>();
+    private static final Object2LongMap<BlockEntityType<?>> PACKETS_SENT = new Object2LongOpenHashMap<>();
+    private static final FriendlyByteBuf SIZE_BUFFER = new FriendlyByteBuf(Unpooled.buffer());
+
+    private static long tick = 0;
+    private static boolean measuringBytes = false;
+
+    static void enqueue(TFCBlockEntity entity)
+    {
+        if (!entity.syncPending)
+        {
+            entity.syncPending = true;
+            PENDING.add(entity);
+        }
+    }
+
+    /**
+     * Called at the end of each server tick, to send all pending syncs which are due.
+     */
+    public static void flush()
+    {
+        tick++;
+        if (PENDING.isEmpty())
+        {
+            return;
+        }
+
+        final int interval = TFCConfig.SERVER.blockEntitySyncInterval.get();
+        PENDING.removeIf(entity -> {
+            if (entity.isRemoved())
+            {
+                entity.syncPending = false;
+                return true;
+            }
+            if (tick - entity.lastSyncTick < interval)
+            {
+                return false; // Synced too recently, so wait until a later tick
+            }
+            entity.syncPending = false;
+            entity.lastSyncTick = tick;
+            entity.sendSyncPacket();
+            return true;
+        });
+    }
+
+    public static void clear()
+    {
+        PENDING.forEach(entity -> entity.syncPending = false);
+        PENDING.clear();
+        BYTES_SENT.clear();
+        PACKETS_SENT.clear();
+        measuringBytes = false;
+    }
+
+    public static void setMeasuringBytes(boolean measuringBytes)
+    {
+        BlockEntitySyncQueue.measuringBytes = measuringBytes;
+    }
+
+    static void recordSent(BlockEntityType<?> type, CompoundTag tag, int players)
+    {
+        PACKETS_SENT.mergeLong(type, players, Long::sum);
+        if (measuringBytes)
+        {
+            SIZE_BUFFER.clear();
+            SIZE_BUFFER.writeNbt(tag);
+            BYTES_SENT.mergeLong(type, (long) SIZE_BUFFER.writerIndex() * players, Long::sum);
+        }
+    }
+
+    /**
+     * @return The total number of bytes of update tags sent, by block entity type, while measuring was enabled.
+     */
+    public static Object2LongMap<BlockEntityType<?>> bytesSent()
+    {
+        return BYTES_SENT;
+    }
+
+    /**
+     * @return The total number of update packets sent, by block entity type, since the server started.
+     */
+    public static Object2LongMap<BlockEntityType<?>> packetsSent()
+    {
+        return PACKETS_SENT;
+    }
+}
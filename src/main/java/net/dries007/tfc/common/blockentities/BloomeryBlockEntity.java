@@ -52,7 +52,10 @@ public class BloomeryBlockEntity extends TickableInventoryBlockEntity<BloomeryBl
     public static void serverTick(Level level, BlockPos pos, BlockState state, BloomeryBlockEntity bloomery)
     {
         bloomery.checkForLastTickSync();
-        bloomery.checkForCalendarUpdate();
+        if (!bloomery.checkForCalendarUpdate())
+        {
+            return; // Waiting to catch up
+        }
 
         if (level.getGameTime() % 20 == 0)
         {
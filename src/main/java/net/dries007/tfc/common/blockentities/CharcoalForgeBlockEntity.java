@@ -67,7 +67,10 @@ public class CharcoalForgeBlockEntity extends TickableInventoryBlockEntity<ItemS
     public static void serverTick(Level level, BlockPos pos, BlockState state, CharcoalForgeBlockEntity forge)
     {
         forge.checkForLastTickSync();
-        forge.checkForCalendarUpdate();
+        if (!forge.checkForCalendarUpdate())
+        {
+            return; // Waiting to catch up
+        }
 
         if (forge.needsRecipeUpdate)
         {
@@ -415,7 +418,7 @@ public class CharcoalForgeBlockEntity extends TickableInventoryBlockEntity<ItemS
             ItemStack inputStack = inventory.getStackInSlot(i);
             if (!inputStack.isEmpty())
             {
-                cachedRecipes[i - SLOT_INPUT_MIN] = HeatingRecipe.getRecipe(new ItemStackInventory(inputStack));
+                cachedRecipes[i - SLOT_INPUT_MIN] = HeatingRecipe.getRecipe(inputStack);
             }
         }
     }
@@ -52,7 +52,10 @@ public class CrucibleBlockEntity extends TickableInventoryBlockEntity<CrucibleBl
     public static void serverTick(Level level, BlockPos pos, BlockState state, CrucibleBlockEntity crucible)
     {
         crucible.checkForLastTickSync();
-        crucible.checkForCalendarUpdate();
+        if (!crucible.checkForCalendarUpdate())
+        {
+            return; // Waiting to catch up
+        }
 
         if (crucible.needsRecipeUpdate)
         {
@@ -297,6 +300,7 @@ public class CrucibleBlockEntity extends TickableInventoryBlockEntity<CrucibleBl
     @Override
     public <T> LazyOptional<T> getCapability(Capability<T> cap, @Nullable Direction side)
     {
+        final LazyOptional<T> capability = super.getCapability(cap, side); // Queried first, as it catches up the calendar, see TickableInventoryBlockEntity
         if (cap == Capabilities.FLUID)
         {
             return sidedFluidInventory.getSidedHandler(side).cast();
@@ -305,7 +309,7 @@ public class CrucibleBlockEntity extends TickableInventoryBlockEntity<CrucibleBl
         {
             return sidedHeat.getSidedHandler(side).cast();
         }
-        return super.getCapability(cap, side);
+        return capability;
     }
 
     @Override
@@ -85,7 +85,7 @@ public class FirepitBlockEntity extends AbstractFirepitBlockEntity<ItemStackHand
     protected void updateCachedRecipe()
     {
         assert level != null;
-        cachedRecipe = HeatingRecipe.getRecipe(new ItemStackInventory(inventory.getStackInSlot(FirepitBlockEntity.SLOT_ITEM_INPUT)));
+        cachedRecipe = HeatingRecipe.getRecipe(inventory.getStackInSlot(FirepitBlockEntity.SLOT_ITEM_INPUT));
     }
 
     /**
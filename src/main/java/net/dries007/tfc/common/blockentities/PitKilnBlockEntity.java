@@ -318,7 +318,7 @@ public class PitKilnBlockEntity extends PlacedItemBlockEntity
         if (level == null) return;
         for (int i = 0; i < 4; i++)
         {
-            cachedRecipes[i] = HeatingRecipe.getRecipe(new ItemStackInventory(inventory.getStackInSlot(i)));
+            cachedRecipes[i] = HeatingRecipe.getRecipe(inventory.getStackInSlot(i));
         }
     }
 }
@@ -6,18 +6,40 @@
 
 package net.dries007.tfc.common.blockentities;
 
+import java.util.List;
+import java.util.Objects;
+
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
 import net.minecraft.network.Connection;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
 
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+
 public abstract class TFCBlockEntity extends BlockEntity
 {
+    private static final String SYNC_DELTA = "tfc:sync_delta";
+    private static final String SYNC_REMOVED = "tfc:sync_removed";
+
+    /**
+     * On server, the last update tag sent to all tracking players, or {@code null} if the next sync needs to send the full tag. On client, the last update tag received.
+     */
+    @Nullable private CompoundTag syncedTag;
+
+    // Used by BlockEntitySyncQueue
+    boolean syncPending;
+    long lastSyncTick = Long.MIN_VALUE / 2;
+
     protected TFCBlockEntity(BlockEntityType<?> type, BlockPos pos, BlockState state)
     {
         super(type, pos, state);
@@ -33,14 +55,27 @@ public abstract class TFCBlockEntity extends BlockEntity
     }
 
     /**
-     * Handle a packet sent from {@link #getUpdatePacket()}. Delegates to {@link #handleUpdateTag(CompoundTag)}.
+     * Handle a packet sent from {@link #getUpdatePacket()} or {@link #sendSyncPacket()}. Delegates to {@link #handleUpdateTag(CompoundTag)}.
+     * Packets sent by {@link #sendSyncPacket()} may only contain the changes since the previous packet, in which case they are applied to the last received tag.
      */
     @Override
     public void onDataPacket(Connection net, ClientboundBlockEntityDataPacket packet)
     {
-        if (packet.getTag() != null)
+        final CompoundTag tag = packet.getTag();
+        if (tag != null)
         {
-            handleUpdateTag(packet.getTag());
+            if (tag.contains(SYNC_DELTA, Tag.TAG_COMPOUND))
+            {
+                final CompoundTag merged = applySyncDelta(syncedTag, tag);
+                if (merged != null)
+                {
+                    handleUpdateTag(merged);
+                }
+            }
+            else
+            {
+                handleUpdateTag(tag);
+            }
         }
     }
 
@@ -51,6 +86,8 @@ public abstract class TFCBlockEntity extends BlockEntity
     @Override
     public CompoundTag getUpdateTag()
     {
+        // This is sent to some players (i.e. those that start tracking this chunk), so the next sync cannot be relative to the last synced tag, and must send the full tag
+        syncedTag = null;
         return saveWithoutMetadata();
     }
 
@@ -61,6 +98,7 @@ public abstract class TFCBlockEntity extends BlockEntity
     @Override
     public void handleUpdateTag(CompoundTag tag)
     {
+        syncedTag = tag;
         load(tag);
     }
 
@@ -99,10 +137,15 @@ public abstract class TFCBlockEntity extends BlockEntity
     /**
      * Marks a block entity for syncing without sending a block update. Also internally marks dirty.
      * Use preferentially over {@link InventoryBlockEntity#markForBlockUpdate()} if there's no reason to have a block update.
+     * <p>
+     * The sync is not sent immediately, but by {@link BlockEntitySyncQueue} at the end of the tick, so any number of calls within a tick (or within the configured sync interval) result in a single packet.
      */
     public void markForSync()
     {
-        sendVanillaUpdatePacket();
+        if (level instanceof ServerLevel)
+        {
+            BlockEntitySyncQueue.enqueue(this);
+        }
         setChanged();
     }
 
@@ -119,6 +162,105 @@ public abstract class TFCBlockEntity extends BlockEntity
         }
     }
 
+    /**
+     * Sends the update tag to all tracking players. If possible, this only includes the top level entries of the tag which changed since the last sync.
+     */
+    void sendSyncPacket()
+    {
+        if (level instanceof ServerLevel serverLevel)
+        {
+            final List<ServerPlayer> players = serverLevel.getChunkSource().chunkMap.getPlayers(new ChunkPos(worldPosition), false);
+            if (players.isEmpty())
+            {
+                syncedTag = null; // Any player that starts tracking this will receive the full tag with the chunk
+                return;
+            }
+
+            final CompoundTag tag = saveWithoutMetadata();
+            final CompoundTag packetTag;
+            if (syncedTag == null)
+            {
+                packetTag = tag;
+            }
+            else
+            {
+                packetTag = createSyncDelta(syncedTag, tag);
+                if (packetTag == null)
+                {
+                    return; // Nothing changed
+                }
+            }
+
+            syncedTag = tag;
+            final ClientboundBlockEntityDataPacket packet = ClientboundBlockEntityDataPacket.create(this, e -> packetTag);
+            players.forEach(e -> e.connection.send(packet));
+            BlockEntitySyncQueue.recordSent(getType(), packetTag, players.size());
+        }
+    }
+
+    /**
+     * @return A tag containing only the top level entries of {@code tag} which differ from {@code previous}, and the keys of any entries which were removed, or {@code null} if nothing changed.
+     */
+    @VisibleForTesting
+    @Nullable
+    public static CompoundTag createSyncDelta(CompoundTag previous, CompoundTag tag)
+    {
+        final CompoundTag delta = new CompoundTag();
+        final ListTag removed = new ListTag();
+        for (String key : tag.getAllKeys())
+        {
+            final Tag value = tag.get(key);
+            if (!Objects.equals(value, previous.get(key)))
+            {
+                delta.put(key, value);
+            }
+        }
+        for (String key : previous.getAllKeys())
+        {
+            if (!tag.contains(key))
+            {
+                removed.add(StringTag.valueOf(key));
+            }
+        }
+        if (delta.isEmpty() && removed.isEmpty())
+        {
+            return null;
+        }
+        final CompoundTag packetTag = new CompoundTag();
+        packetTag.put(SYNC_DELTA, delta);
+        if (!removed.isEmpty())
+        {
+            packetTag.put(SYNC_REMOVED, removed);
+        }
+        return packetTag;
+    }
+
+    /**
+     * Applies a tag created by {@link #createSyncDelta(CompoundTag, CompoundTag)} to {@code base}, which is modified.
+     *
+     * @param base The last received tag, or {@code null} if none was received.
+     * @return The updated tag, or {@code null} if there was no tag to apply the changes to. The changes alone are only part of the block entity, so they are ignored, and the block entity is left as is until the next full sync.
+     */
+    @Nullable
+    @VisibleForTesting
+    public static CompoundTag applySyncDelta(@Nullable CompoundTag base, CompoundTag packetTag)
+    {
+        if (base == null)
+        {
+            return null;
+        }
+        final CompoundTag delta = packetTag.getCompound(SYNC_DELTA);
+        for (String key : delta.getAllKeys())
+        {
+            base.put(key, delta.get(key));
+        }
+        for (Tag key : packetTag.getList(SYNC_REMOVED, Tag.TAG_STRING))
+        {
+            base.remove(key.getAsString());
+        }
+        return base;
+    }
+
     public void sendVanillaUpdatePacket()
     {
         final ClientboundBlockEntityDataPacket packet = getUpdatePacket();
@@ -7,13 +7,20 @@
 package net.dries007.tfc.common.blockentities;
 
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.util.INBTSerializable;
+import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.items.IItemHandlerModifiable;
 
+import net.dries007.tfc.util.calendar.ICalendarTickable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
 public abstract class TickableInventoryBlockEntity<C extends IItemHandlerModifiable & INBTSerializable<CompoundTag>> extends InventoryBlockEntity<C>
 {
     protected boolean needsClientUpdate;
@@ -39,6 +46,17 @@ public abstract class TickableInventoryBlockEntity<C extends IItemHandlerModifia
         }
     }
 
+    @NotNull
+    @Override
+    public <T> LazyOptional<T> getCapability(Capability<T> cap, @Nullable Direction side)
+    {
+        if (this instanceof ICalendarTickable tickable)
+        {
+            tickable.forceCalendarUpdate(); // Catch up before the capability is accessed, i.e. by a hopper, if the catch-up was deferred
+        }
+        return super.getCapability(cap, side);
+    }
+
     @Override
     public void markForSync()
     {
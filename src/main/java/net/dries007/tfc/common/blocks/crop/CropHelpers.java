@@ -29,6 +29,7 @@ import net.dries007.tfc.util.calendar.Calendars;
 import net.dries007.tfc.util.calendar.ICalendar;
 import net.dries007.tfc.util.climate.Climate;
 import net.dries007.tfc.util.climate.ClimateRange;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Common growth logic for crop blocks
@@ -52,63 +53,97 @@ public final class CropHelpers
     }
 
     /**
+     * Catches up on all growth since the crop was last ticked, in steps of at most {@link #UPDATE_INTERVAL}.
+     * The world is only queried once for the whole period: the temperature at each step boundary is computed once (as it is shared by adjacent steps), and the hydration and growth limit, which cannot change during the catch-up, are computed up front.
+     *
      * @return {@code true} if the crop survived.
      */
     public static boolean growthTick(Level level, BlockPos pos, BlockState state, CropBlockEntity crop)
     {
         final long firstTick = crop.getLastGrowthTick(), thisTick = Calendars.SERVER.getTicks();
-        long tick = firstTick + CropHelpers.UPDATE_INTERVAL, lastTick = firstTick;
-        for (; tick < thisTick; tick += CropHelpers.UPDATE_INTERVAL)
+        if (firstTick >= thisTick)
         {
-            if (!CropHelpers.growthTickStep(level, pos, state, level.getRandom(), lastTick, tick, crop))
+            return true;
+        }
+
+        return growthTick(level, pos, state, level.getRandom(), crop, growthTicks(firstTick, thisTick));
+    }
+
+    /**
+     * @return The boundaries of each growth step from {@code firstTick} to {@code thisTick}, which must be after {@code firstTick}. Every step is {@link #UPDATE_INTERVAL} long, except the last, which may be shorter.
+     */
+    public static long[] growthTicks(long firstTick, long thisTick)
+    {
+        final int steps = (int) ((thisTick - firstTick + UPDATE_INTERVAL - 1) / UPDATE_INTERVAL);
+        final long[] ticks = new long[steps + 1];
+        for (int i = 0; i < steps; i++)
+        {
+            ticks[i] = firstTick + i * UPDATE_INTERVAL;
+        }
+        ticks[steps] = thisTick;
+        return ticks;
+    }
+
+    public static boolean growthTickStep(Level level, BlockPos pos, BlockState state, Random random, long fromTick, long toTick, CropBlockEntity crop)
+    {
+        return growthTick(level, pos, state, random, crop, new long[] {fromTick, toTick});
+    }
+
+    /**
+     * Simulates growth over consecutive steps, from {@code ticks[i]} to {@code ticks[i + 1]}, where {@code temperatures[i]} is the temperature at {@code ticks[i]}.
+     * This is independent of the world, so growth can be simulated for any number of steps without any world queries.
+     *
+     * @param crop The state of the crop, which is updated with the result of each step.
+     * @param farmland The farmland to consume nutrients from, or {@code null} if there is none.
+     * @return {@code true} if the crop survived every step. Otherwise, {@code crop} holds the state during the step in which it died.
+     */
+    public static boolean simulateGrowth(GrowthState crop, @Nullable IFarmland farmland, GrowthConditions conditions, Random random, long[] ticks, float[] temperatures)
+    {
+        for (int step = 0; step + 1 < ticks.length; step++)
+        {
+            if (!growthTickStep(crop, farmland, conditions, random, ticks[step], ticks[step + 1], temperatures[step], temperatures[step + 1]))
             {
                 return false;
             }
-            lastTick = tick;
         }
-        return lastTick >= thisTick || CropHelpers.growthTickStep(level, pos, state, level.getRandom(), lastTick, thisTick, crop);
+        return true;
     }
 
-    public static boolean growthTickStep(Level level, BlockPos pos, BlockState state, Random random, long fromTick, long toTick, CropBlockEntity crop)
+    /**
+     * Simulates a single step of growth, from {@code fromTick} to {@code toTick}, which should be at most {@link #UPDATE_INTERVAL} apart.
+     *
+     * @param crop The state of the crop, which is updated with the result of the step.
+     * @param farmland The farmland to consume nutrients from, or {@code null} if there is none.
+     * @return {@code true} if the crop survived. Otherwise, {@code crop} holds the growth and yield at the end of the step, and the crop should die.
+     */
+    public static boolean growthTickStep(GrowthState crop, @Nullable IFarmland farmland, GrowthConditions conditions, Random random, long fromTick, long toTick, float startTemperature, float endTemperature)
     {
-        // Calculate invariants
-        final ICalendar calendar = Calendars.get(level);
-        final BlockPos sourcePos = pos.below();
-        final int hydration = FarmlandBlock.getHydration(level, sourcePos);
-        final float startTemperature = Climate.getTemperature(level, pos, calendar, Calendars.SERVER.ticksToCalendarTicks(fromTick));
-        final float endTemperature = Climate.getTemperature(level, pos, calendar, Calendars.SERVER.ticksToCalendarTicks(toTick));
+        final ClimateRange range = conditions.range();
+        final float localExpiryLimit = EXPIRY_LIMIT * conditions.expiryModifier() * (1f / conditions.growthModifier());
+        final float growthLimit = conditions.growthLimit();
         final long tickDelta = toTick - fromTick;
 
-        final ICropBlock cropBlock = (ICropBlock) state.getBlock();
-        final ClimateRange range = cropBlock.getClimateRange();
-        final boolean growing = checkClimate(range, hydration, startTemperature, endTemperature, false);
-        final boolean healthy = growing || checkClimate(range, hydration, startTemperature, endTemperature, true);
+        final boolean growing = checkClimate(range, conditions.hydration(), startTemperature, endTemperature, false);
+        final boolean healthy = growing || checkClimate(range, conditions.hydration(), startTemperature, endTemperature, true);
 
         // Nutrients are consumed first, since they are independent of growth or health.
         // As long as the crop exists it consumes nutrients.
-
-        final FarmlandBlockEntity.NutrientType primaryNutrient = cropBlock.getPrimaryNutrient();
         float nutrientsAvailable = 0, nutrientsRequired = NUTRIENT_CONSUMPTION * tickDelta, nutrientsConsumed = 0;
-        if (level.getBlockEntity(sourcePos) instanceof IFarmland farmland)
+        if (farmland != null)
         {
-            nutrientsAvailable = farmland.getNutrient(primaryNutrient);
-            nutrientsConsumed = farmland.consumeNutrientAndResupplyOthers(primaryNutrient, nutrientsRequired);
+            nutrientsAvailable = farmland.getNutrient(conditions.primaryNutrient());
+            nutrientsConsumed = farmland.consumeNutrientAndResupplyOthers(conditions.primaryNutrient(), nutrientsRequired);
         }
 
-        final float growthModifier = TFCConfig.SERVER.cropGrowthModifier.get().floatValue(); // Higher = Slower growth
-        final float expiryModifier = TFCConfig.SERVER.cropExpiryModifier.get().floatValue(); // Higher = Slower expiry
-        final float localExpiryLimit = EXPIRY_LIMIT * expiryModifier * (1f / growthModifier);
-
         // Total growth is based on the ticks and the nutrients consumed. It is then allocated to actual growth or expiry based on other factors.
-        final float totalGrowthDelta = (1f / growthModifier) * Helpers.uniform(random, 0.9f, 1.1f) * tickDelta * CropHelpers.GROWTH_FACTOR + nutrientsConsumed * NUTRIENT_GROWTH_FACTOR;
-        final float initialGrowth = crop.getGrowth();
+        final float totalGrowthDelta = (1f / conditions.growthModifier()) * Helpers.uniform(random, 0.9f, 1.1f) * tickDelta * CropHelpers.GROWTH_FACTOR + nutrientsConsumed * NUTRIENT_GROWTH_FACTOR;
+        final float initialGrowth = crop.growth;
         float remainingGrowthDelta = totalGrowthDelta;
-        float growth = initialGrowth, expiry = crop.getExpiry(), actualYield = crop.getYield();
+        float growth = initialGrowth, expiry = crop.expiry;
 
         // Re-scale expiry to within our imaginary limits
         expiry *= localExpiryLimit / EXPIRY_LIMIT;
 
-        final float growthLimit = cropBlock.getGrowthLimit(level, pos, state);
         if (remainingGrowthDelta > 0 && growing && growth < growthLimit)
         {
             // Allocate to growth
@@ -137,22 +172,53 @@ public final class CropHelpers
             nutrientSatisfaction = Math.min(1, (totalGrowthDelta / growthDelta) * (nutrientsAvailable / nutrientsRequired));
         }
 
-        actualYield += growthDelta * Helpers.lerp(nutrientSatisfaction, YIELD_MIN, YIELD_LIMIT);
+        crop.growth = growth;
+        crop.yield += growthDelta * Helpers.lerp(nutrientSatisfaction, YIELD_MIN, YIELD_LIMIT);
 
         // Check if the crop should've expired.
         if (expiry >= localExpiryLimit || !healthy)
         {
             // Lenient here - instead of assuming it expired at the start of the duration, we assume at the end. Including growth during this period.
-            cropBlock.die(level, pos, state, growth >= 1);
             return false;
         }
 
         // Re-scale expiry to constant values to maintain invariance if the config value is updated
-        expiry *= EXPIRY_LIMIT / localExpiryLimit;
+        crop.expiry = expiry * (EXPIRY_LIMIT / localExpiryLimit);
+        return true;
+    }
+
+    private static boolean growthTick(Level level, BlockPos pos, BlockState state, Random random, CropBlockEntity crop, long[] ticks)
+    {
+        // Calculate invariants
+        final ICalendar calendar = Calendars.get(level);
+        final BlockPos sourcePos = pos.below();
+        final ICropBlock cropBlock = (ICropBlock) state.getBlock();
+        final GrowthConditions conditions = new GrowthConditions(
+            cropBlock.getClimateRange(),
+            FarmlandBlock.getHydration(level, sourcePos),
+            cropBlock.getGrowthLimit(level, pos, state),
+            cropBlock.getPrimaryNutrient(),
+            TFCConfig.SERVER.cropGrowthModifier.get().floatValue(), // Higher = Slower growth
+            TFCConfig.SERVER.cropExpiryModifier.get().floatValue() // Higher = Slower expiry
+        );
 
-        crop.setGrowth(growth);
-        crop.setYield(actualYield);
-        crop.setExpiry(expiry);
+        final float[] temperatures = new float[ticks.length];
+        for (int i = 0; i < ticks.length; i++)
+        {
+            temperatures[i] = Climate.getTemperature(level, pos, calendar, Calendars.SERVER.ticksToCalendarTicks(ticks[i]));
+        }
+
+        final GrowthState growth = new GrowthState(crop.getGrowth(), crop.getYield(), crop.getExpiry());
+        final IFarmland farmland = level.getBlockEntity(sourcePos) instanceof IFarmland f ? f : null;
+        if (!simulateGrowth(growth, farmland, conditions, random, ticks, temperatures))
+        {
+            cropBlock.die(level, pos, state, growth.growth >= 1);
+            return false;
+        }
+
+        crop.setGrowth(growth.growth);
+        crop.setYield(growth.yield);
+        crop.setExpiry(growth.expiry);
         crop.setLastGrowthTick(calendar.getTicks());
 
         return true;
@@ -189,4 +255,23 @@ public final class CropHelpers
         return false;
     }
 
+    /**
+     * The parts of a crop's environment which are constant while catching up on growth.
+     */
+    public record GrowthConditions(ClimateRange range, int hydration, float growthLimit, FarmlandBlockEntity.NutrientType primaryNutrient, float growthModifier, float expiryModifier) {}
+
+    /**
+     * The mutable growth state of a crop, during a simulation.
+     */
+    public static final class GrowthState
+    {
+        public float growth, yield, expiry;
+
+        public GrowthState(float growth, float yield, float expiry)
+        {
+            this.growth = growth;
+            this.yield = yield;
+            this.expiry = expiry;
+        }
+    }
 }
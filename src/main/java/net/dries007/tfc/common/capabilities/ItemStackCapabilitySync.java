@@ -6,14 +6,16 @@
 
 package net.dries007.tfc.common.capabilities;
 
-import net.minecraft.nbt.CompoundTag;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.item.ItemStack;
-import net.minecraftforge.common.capabilities.Capability;
-import net.minecraftforge.common.util.INBTSerializable;
 
 import net.dries007.tfc.common.capabilities.food.FoodCapability;
+import net.dries007.tfc.common.capabilities.food.IFood;
 import net.dries007.tfc.common.capabilities.heat.HeatCapability;
+import net.dries007.tfc.common.capabilities.heat.IHeat;
+import net.dries007.tfc.util.Helpers;
 
 /**
  * This is a manager for capabilities that need to be synced externally, constantly.
@@ -31,15 +33,36 @@ import net.dries007.tfc.common.capabilities.heat.HeatCapability;
  * - All other capabilities use the stack tag to avoid sync concerns.
  * <p>
  * Finally, in order to avoid issues caused by other mods due to incorrectly synced item stacks (see <a href="https://github.com/TerraFirmaCraft/TerraFirmaCraft/issues/2198">TerraFirmaCraft#2198</a>), we need to write and read this data in an as unconditional method as possible.
- * This means we cannot check for empty stacks, or those that do not have a capability. In the best case, we write an additional +1 bytes per item stack (a typical item stack has ~4-6 bytes default). This is about as least-cost that we can make it (in the worst case, we write 1 + two nbt tags).
+ * This means we cannot check for empty stacks, or those that do not have a capability. In the best case, we write an additional +1 bytes per item stack (a typical item stack has ~4-6 bytes default).
+ * <p>
+ * The format is a single flag byte, holding the format version and which capabilities are present, followed by each present capability, prefixed with its length. Capabilities write a compact encoding (see {@link IFood#writeToNetwork(FriendlyByteBuf)} and {@link IHeat#writeToNetwork(FriendlyByteBuf)}), and the length prefix means the reader can skip a capability which is not present on its side.
  */
 public final class ItemStackCapabilitySync
 {
+    private static final int FORMAT_VERSION = 1;
+    private static final int FOOD = 1;
+    private static final int HEAT = 2;
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
     public static boolean hasSyncableCapability(ItemStack stack)
     {
         return stack.getCapability(FoodCapability.CAPABILITY).isPresent() || stack.getCapability(HeatCapability.CAPABILITY).isPresent();
     }
 
+    /**
+     * @return {@code true} if both stacks would write the same capability data to the network. Used to avoid re-syncing stacks whose capabilities have not changed since they were last synced.
+     */
+    public static boolean hasSameSyncableCapabilities(ItemStack stack, ItemStack other)
+    {
+        final Buffers buffers = BUFFERS.get();
+        buffers.left.clear();
+        buffers.right.clear();
+        writeToNetwork(stack, buffers.left);
+        writeToNetwork(other, buffers.right);
+        return buffers.left.equals(buffers.right);
+    }
+
     public static void writeToNetwork(ItemStack stack, FriendlyByteBuf buffer)
     {
         // getCapability().resolve() might be called on an uninitialized stack here, which actually involves a mutation to the stack, as capabilities will be initialized for the first time
@@ -47,41 +70,82 @@ public final class ItemStackCapabilitySync
         // While this is a weird construct, we should be able to synchronize on the item stack itself - this will prevent any stacks from having getCapability invoked and resolved by two threads at once. Different stacks should be fully safe to execute independently.
         synchronized (stack)
         {
-            if (hasSyncableCapability(stack))
+            final IFood food = Helpers.getCapability(stack, FoodCapability.CAPABILITY);
+            final IHeat heat = Helpers.getCapability(stack, HeatCapability.CAPABILITY);
+
+            buffer.writeByte((FORMAT_VERSION << 4) | (food != null ? FOOD : 0) | (heat != null ? HEAT : 0));
+            if (food != null)
             {
-                buffer.writeBoolean(true);
-                writeToNetwork(FoodCapability.CAPABILITY, stack, buffer);
-                writeToNetwork(HeatCapability.CAPABILITY, stack, buffer);
+                final FriendlyByteBuf payload = BUFFERS.get().payload();
+                food.writeToNetwork(payload);
+                writePayload(payload, buffer);
             }
-            else
+            if (heat != null)
             {
-                buffer.writeBoolean(false);
+                final FriendlyByteBuf payload = BUFFERS.get().payload();
+                heat.writeToNetwork(payload);
+                writePayload(payload, buffer);
             }
         }
     }
 
     public static void readFromNetwork(ItemStack stack, FriendlyByteBuf buffer)
     {
-        if (buffer.readBoolean())
+        final int flags = buffer.readUnsignedByte();
+        if ((flags >> 4) != FORMAT_VERSION)
         {
-            readFromNetwork(FoodCapability.CAPABILITY, stack, buffer);
-            readFromNetwork(HeatCapability.CAPABILITY, stack, buffer);
+            throw new DecoderException("Unknown item stack capability format: " + (flags >> 4) + ", expected " + FORMAT_VERSION);
+        }
+        if ((flags & FOOD) != 0)
+        {
+            final int end = readPayloadEnd(buffer);
+            final IFood food = Helpers.getCapability(stack, FoodCapability.CAPABILITY);
+            if (food != null)
+            {
+                food.readFromNetwork(buffer);
+            }
+            buffer.readerIndex(end);
+        }
+        if ((flags & HEAT) != 0)
+        {
+            final int end = readPayloadEnd(buffer);
+            final IHeat heat = Helpers.getCapability(stack, HeatCapability.CAPABILITY);
+            if (heat != null)
+            {
+                heat.readFromNetwork(buffer);
+            }
+            buffer.readerIndex(end);
         }
     }
 
-    private static void writeToNetwork(Capability<? extends INBTSerializable<CompoundTag>> capability, ItemStack stack, FriendlyByteBuf buffer)
+    private static void writePayload(FriendlyByteBuf payload, FriendlyByteBuf buffer)
     {
-        buffer.writeNbt(stack.getCapability(capability)
-            .map(INBTSerializable::serializeNBT)
-            .orElse(null));
+        buffer.writeVarInt(payload.readableBytes());
+        buffer.writeBytes(payload);
     }
 
-    private static void readFromNetwork(Capability<? extends INBTSerializable<CompoundTag>> capability, ItemStack stack, FriendlyByteBuf buffer)
+    /**
+     * Reads the length prefix of a capability, and returns the reader index after the capability, so any data not read (i.e. if the capability is not present) can be skipped.
+     */
+    private static int readPayloadEnd(FriendlyByteBuf buffer)
     {
-        final CompoundTag tag = buffer.readNbt();
-        if (tag != null)
+        final int length = buffer.readVarInt();
+        return buffer.readerIndex() + length;
+    }
+
+    /**
+     * Scratch buffers, as stacks are written from both the server thread and network threads.
+     */
+    private static final class Buffers
+    {
+        final FriendlyByteBuf left = new FriendlyByteBuf(Unpooled.buffer());
+        final FriendlyByteBuf right = new FriendlyByteBuf(Unpooled.buffer());
+        private final FriendlyByteBuf payload = new FriendlyByteBuf(Unpooled.buffer());
+
+        FriendlyByteBuf payload()
         {
-            stack.getCapability(capability).ifPresent(cap -> cap.deserializeNBT(tag));
+            payload.clear();
+            return payload;
         }
     }
 }
@@ -14,6 +14,7 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.StringTag;
 import net.minecraft.nbt.Tag;
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.ICapabilitySerializable;
@@ -200,6 +201,45 @@ public class FoodHandler implements ICapabilitySerializable<CompoundTag>, IFood
         creationDate = nbt.contains("creationDate") ? nbt.getLong("creationDate") : UNKNOWN_CREATION_DATE;
     }
 
+    @Override
+    public void writeToNetwork(FriendlyByteBuf buffer)
+    {
+        buffer.writeVarLong(getCreationDate());
+        buffer.writeVarInt(foodTraits.size());
+        for (int i = 0; i < foodTraits.size(); i++)
+        {
+            buffer.writeVarInt(FoodTrait.getNetworkId(foodTraits.get(i)));
+        }
+        if (isDynamic())
+        {
+            buffer.writeNbt(data.write());
+        }
+    }
+
+    @Override
+    public void readFromNetwork(FriendlyByteBuf buffer)
+    {
+        creationDate = buffer.readVarLong();
+        foodTraits.clear();
+        final int traits = buffer.readVarInt();
+        for (int i = 0; i < traits; i++)
+        {
+            final FoodTrait trait = FoodTrait.byNetworkId(buffer.readVarInt());
+            if (trait != null)
+            {
+                foodTraits.add(trait);
+            }
+        }
+        if (isDynamic())
+        {
+            final CompoundTag tag = buffer.readNbt();
+            if (tag != null)
+            {
+                data = FoodData.read(tag);
+            }
+        }
+    }
+
     /**
      * This marks if the food data should be serialized. For normal food items, it isn't, because all values are provided on construction via CapabilityFood. Only mark this if food data will change per item stack
      */
@@ -13,6 +13,8 @@ import org.jetbrains.annotations.Nullable;
 
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import net.minecraft.network.chat.Component;
@@ -26,6 +28,8 @@ public class FoodTrait
 {
     private static final BiMap<ResourceLocation, FoodTrait> REGISTRY = HashBiMap.create();
 
+    @Nullable private static volatile NetworkIds networkIds;
+
     /**
      * Register a food trait.
      * This method is safe to call during parallel mod loading.
@@ -37,6 +41,7 @@ public class FoodTrait
             throw new IllegalArgumentException("Duplicate key: " + id);
         }
         REGISTRY.put(id, trait);
+        networkIds = null;
         return trait;
     }
 
@@ -56,6 +61,45 @@ public class FoodTrait
         return REGISTRY.inverse().get(trait);
     }
 
+    /**
+     * @return A compact id for the trait, for syncing to the client. Ids are assigned in order of the trait's registry name, so they are the same on both sides regardless of the order traits were registered in.
+     */
+    public static int getNetworkId(FoodTrait trait)
+    {
+        return getNetworkIds().toId.getInt(trait);
+    }
+
+    @Nullable
+    public static FoodTrait byNetworkId(int id)
+    {
+        final List<FoodTrait> byId = getNetworkIds().byId;
+        return id >= 0 && id < byId.size() ? byId.get(id) : null;
+    }
+
+    private static NetworkIds getNetworkIds()
+    {
+        NetworkIds ids = networkIds;
+        if (ids == null)
+        {
+            synchronized (FoodTrait.class)
+            {
+                ids = networkIds;
+                if (ids == null)
+                {
+                    final List<FoodTrait> byId = REGISTRY.keySet().stream().sorted().map(REGISTRY::get).toList();
+                    final Reference2IntMap<FoodTrait> toId = new Reference2IntOpenHashMap<>(byId.size());
+                    toId.defaultReturnValue(-1);
+                    for (int i = 0; i < byId.size(); i++)
+                    {
+                        toId.put(byId.get(i), i);
+                    }
+                    ids = networkIds = new NetworkIds(byId, toId);
+                }
+            }
+        }
+        return ids;
+    }
+
     private final float decayModifier;
     @Nullable private final String translationKey;
 
@@ -83,4 +127,6 @@ public class FoodTrait
             text.add(Helpers.translatable(translationKey));
         }
     }
+
+    private record NetworkIds(List<FoodTrait> byId, Reference2IntMap<FoodTrait> toId) {}
 }
@@ -10,12 +10,14 @@ import java.util.List;
 
 import net.minecraft.ChatFormatting;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.common.util.INBTSerializable;
 
 import net.dries007.tfc.client.ClientHelpers;
+import net.dries007.tfc.common.capabilities.ItemStackCapabilitySync;
 import net.dries007.tfc.config.TFCConfig;
 import net.dries007.tfc.util.Helpers;
 import net.dries007.tfc.util.calendar.Calendars;
@@ -207,4 +209,22 @@ public interface IFood extends INBTSerializable<CompoundTag>
             text.add(Helpers.literal(ChatFormatting.DARK_GRAY + "[Debug] Created at: " + getCreationDate() + " rots at: " + getRottenDate()));
         }
     }
+
+    /**
+     * Writes the state of this food which is synced to the client, see {@link ItemStackCapabilitySync}. By default, this is the NBT serialization, but implementations may write a more compact encoding.
+     * Must be read by {@link #readFromNetwork(FriendlyByteBuf)}.
+     */
+    default void writeToNetwork(FriendlyByteBuf buffer)
+    {
+        buffer.writeNbt(serializeNBT());
+    }
+
+    default void readFromNetwork(FriendlyByteBuf buffer)
+    {
+        final CompoundTag tag = buffer.readNbt();
+        if (tag != null)
+        {
+            deserializeNBT(tag);
+        }
+    }
 }
@@ -8,6 +8,7 @@ package net.dries007.tfc.common.capabilities.heat;
 
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.ICapabilitySerializable;
 import net.minecraftforge.common.util.LazyOptional;
@@ -124,6 +125,28 @@ public class HeatHandler implements ICapabilitySerializable<CompoundTag>, IHeat
         lastUpdateTick = nbt.getLong("ticks");
     }
 
+    @Override
+    public void writeToNetwork(FriendlyByteBuf buffer)
+    {
+        // Matches serializeNBT(), but the update tick is only needed if the temperature is not zero
+        if (getTemperature() <= 0)
+        {
+            buffer.writeFloat(0);
+        }
+        else
+        {
+            buffer.writeFloat(temperature);
+            buffer.writeVarLong(lastUpdateTick);
+        }
+    }
+
+    @Override
+    public void readFromNetwork(FriendlyByteBuf buffer)
+    {
+        temperature = buffer.readFloat();
+        lastUpdateTick = temperature > 0 ? buffer.readVarLong() : 0;
+    }
+
     /**
      * Sets the current heat capacity, for implementations that might change this based on an internal state
      */
@@ -9,12 +9,14 @@ package net.dries007.tfc.common.capabilities.heat;
 import java.util.List;
 
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.network.chat.TranslatableComponent;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.common.util.INBTSerializable;
 
+import net.dries007.tfc.common.capabilities.ItemStackCapabilitySync;
 import net.dries007.tfc.common.recipes.HeatingRecipe;
 import net.dries007.tfc.common.recipes.inventory.ItemStackInventory;
 import net.dries007.tfc.config.TFCConfig;
@@ -130,4 +132,22 @@ public interface IHeat extends INBTSerializable<CompoundTag>
             text.add(tooltip);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes the state of this heat which is synced to the client, see {@link ItemStackCapabilitySync}. By default, this is the NBT serialization, but implementations may write a more compact encoding.
+     * Must be read by {@link #readFromNetwork(FriendlyByteBuf)}.
+     */
+    default void writeToNetwork(FriendlyByteBuf buffer)
+    {
+        buffer.writeNbt(serializeNBT());
+    }
+
+    default void readFromNetwork(FriendlyByteBuf buffer)
+    {
+        final CompoundTag tag = buffer.readNbt();
+        if (tag != null)
+        {
+            deserializeNBT(tag);
+        }
+    }
+}
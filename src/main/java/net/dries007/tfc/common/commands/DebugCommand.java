@@ -0,0 +1,153 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.common.commands;
+
+import java.util.Locale;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.core.Registry;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.minecraft.world.level.levelgen.GenerationStep;
+import net.minecraft.world.level.levelgen.placement.PlacedFeature;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import net.dries007.tfc.common.blockentities.BlockEntitySyncQueue;
+import net.dries007.tfc.util.Helpers;
+import net.dries007.tfc.util.calendar.CalendarCatchUp;
+import net.dries007.tfc.util.collections.IndirectItemCollection;
+import net.dries007.tfc.world.FeatureTimings;
+import net.dries007.tfc.world.chunkdata.ChunkDataCache;
+import net.dries007.tfc.world.feature.vein.VeinFeature;
+import net.dries007.tfc.world.layer.framework.LayerTileCache;
+
+/**
+ * Reports statistics of various internal caches, for diagnosing performance on large servers.
+ */
+public final class DebugCommand
+{
+    private static final String CHUNK_DATA_CACHE = "tfc.commands.debug.chunk_data_cache";
+    private static final String LAYER_TILE_CACHE = "tfc.commands.debug.layer_tile_cache";
+    private static final String CALENDAR_CATCH_UP = "tfc.commands.debug.calendar_catch_up";
+    private static final String BLOCK_ENTITY_SYNC = "tfc.commands.debug.block_entity_sync";
+    private static final String BLOCK_ENTITY_SYNC_MEASURE = "tfc.commands.debug.block_entity_sync_measure";
+    private static final String ITEM_LOOKUP = "tfc.commands.debug.item_lookup";
+    private static final String FEATURE_TIMING = "tfc.commands.debug.feature_timing";
+    private static final String VEIN_CACHE = "tfc.commands.debug.vein_cache";
+
+    private static final int SLOWEST_FEATURES_PER_STEP = 5;
+
+    public static LiteralArgumentBuilder<CommandSourceStack> create()
+    {
+        return Commands.literal("debug").requires(source -> source.hasPermission(2))
+            .then(Commands.literal("chunkdata")
+                .executes(cmd -> chunkDataCache(cmd.getSource()))
+            )
+            .then(Commands.literal("layers")
+                .executes(cmd -> layerTileCache(cmd.getSource()))
+            )
+            .then(Commands.literal("calendar")
+                .executes(cmd -> calendarCatchUp(cmd.getSource()))
+            )
+            .then(Commands.literal("sync")
+                .then(Commands.literal("measure")
+                    .then(Commands.literal("start")
+                        .executes(cmd -> measureBlockEntitySync(cmd.getSource(), true))
+                    )
+                    .then(Commands.literal("stop")
+                        .executes(cmd -> measureBlockEntitySync(cmd.getSource(), false))
+                    )
+                )
+                .executes(cmd -> blockEntitySync(cmd.getSource()))
+            )
+            .then(Commands.literal("items")
+                .executes(cmd -> itemLookups(cmd.getSource()))
+            )
+            .then(Commands.literal("features")
+                .executes(cmd -> featureTimings(cmd.getSource()))
+            )
+            .then(Commands.literal("veins")
+                .executes(cmd -> veinCache(cmd.getSource()))
+            );
+    }
+
+    private static int chunkDataCache(CommandSourceStack source)
+    {
+        final ChunkDataCache cache = ChunkDataCache.SERVER;
+        source.sendSuccess(Helpers.translatable(CHUNK_DATA_CACHE, cache.size(), cache.hits(), cache.misses()), false);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int layerTileCache(CommandSourceStack source)
+    {
+        final long hits = LayerTileCache.hits(), total = hits + LayerTileCache.misses();
+        source.sendSuccess(Helpers.translatable(LAYER_TILE_CACHE, LayerTileCache.tiles(), LayerTileCache.bytes() >> 20, hits, total, percent(hits, total)), false);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int calendarCatchUp(CommandSourceStack source)
+    {
+        source.sendSuccess(Helpers.translatable(CALENDAR_CATCH_UP, CalendarCatchUp.lastTickProcessed(), CalendarCatchUp.lastTickDeferred(), CalendarCatchUp.lastTickDeferredTicks(), CalendarCatchUp.totalProcessed(), CalendarCatchUp.totalDeferred()), false);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int blockEntitySync(CommandSourceStack source)
+    {
+        final Object2LongMap<BlockEntityType<?>> bytes = BlockEntitySyncQueue.bytesSent();
+        BlockEntitySyncQueue.packetsSent().object2LongEntrySet()
+            .stream()
+            .sorted((a, b) -> Long.compare(b.getLongValue(), a.getLongValue()))
+            .forEach(entry -> source.sendSuccess(Helpers.translatable(BLOCK_ENTITY_SYNC, String.valueOf(ForgeRegistries.BLOCK_ENTITIES.getKey(entry.getKey())), bytes.getLong(entry.getKey()), entry.getLongValue()), false));
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int measureBlockEntitySync(CommandSourceStack source, boolean measuring)
+    {
+        BlockEntitySyncQueue.setMeasuringBytes(measuring);
+        source.sendSuccess(Helpers.translatable(BLOCK_ENTITY_SYNC_MEASURE, measuring), false);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int itemLookups(CommandSourceStack source)
+    {
+        for (IndirectItemCollection<?> cache : IndirectItemCollection.getAll())
+        {
+            final long hits = cache.hits(), tested = cache.tested(), misses = cache.misses(), total = hits + tested + misses;
+            source.sendSuccess(Helpers.translatable(ITEM_LOOKUP, cache.getName(), total, percent(hits, total), percent(tested, total), percent(misses, total)), false);
+        }
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int featureTimings(CommandSourceStack source)
+    {
+        final Registry<PlacedFeature> registry = source.registryAccess().registryOrThrow(Registry.PLACED_FEATURE_REGISTRY);
+        for (GenerationStep.Decoration step : GenerationStep.Decoration.values())
+        {
+            for (FeatureTimings.Timing timing : FeatureTimings.slowest(step.ordinal(), SLOWEST_FEATURES_PER_STEP))
+            {
+                final long nanos = timing.nanos(), count = timing.count();
+                source.sendSuccess(Helpers.translatable(FEATURE_TIMING, step.name().toLowerCase(Locale.ROOT), String.valueOf(registry.getKey(timing.feature())), nanos / 1_000_000, count, count == 0 ? 0 : nanos / (1000 * count)), false);
+            }
+        }
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int veinCache(CommandSourceStack source)
+    {
+        final long hits = VeinFeature.cacheHits(), total = hits + VeinFeature.cacheMisses();
+        source.sendSuccess(Helpers.translatable(VEIN_CACHE, hits, total, percent(hits, total)), false);
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static String percent(long part, long total)
+    {
+        return total == 0 ? "0" : String.format("%.1f", 100.0 * part / total);
+    }
+}
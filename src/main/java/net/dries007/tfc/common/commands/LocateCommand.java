@@ -7,8 +7,8 @@
 package net.dries007.tfc.common.commands;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import java.util.Random;
 import java.util.function.Function;
 
 import net.minecraft.ChatFormatting;
@@ -31,6 +31,7 @@ import net.minecraft.world.level.biome.Climate;
 import net.minecraft.world.level.levelgen.WorldGenerationContext;
 import net.minecraft.world.level.levelgen.feature.ConfiguredFeature;
 
+import com.mojang.brigadier.Command;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
@@ -45,7 +46,6 @@ import net.dries007.tfc.world.biome.VolcanoNoise;
 import net.dries007.tfc.world.feature.vein.Vein;
 import net.dries007.tfc.world.feature.vein.VeinConfig;
 import net.dries007.tfc.world.feature.vein.VeinFeature;
-import org.jetbrains.annotations.Nullable;
 
 public class LocateCommand
 {
@@ -72,6 +72,9 @@ public class LocateCommand
                 .then(Commands.argument("vein", new VeinFeatureArgument())
                     .executes(context -> locateVein(context, context.getArgument("vein", ResourceLocation.class)))
                 )
+            )
+            .then(Commands.literal("cancel")
+                .executes(context -> cancel(context.getSource()))
             );
     }
 
@@ -90,20 +93,15 @@ public class LocateCommand
         }
 
         final BlockPos center = new BlockPos(source.getPosition());
-        final BlockPos result = radialSearch(QuartPos.fromBlock(center.getX()), QuartPos.fromBlock(center.getZ()), 1024, 16, (x, z) -> {
+        LocateSearch.start(source, id.toString(), QuartPos.fromBlock(center.getX()), QuartPos.fromBlock(center.getZ()), 1024, 16, (x, z) -> {
             final BiomeExtension found = biomeSourceExtension.getNoiseBiomeVariants(x, z);
             if (found == variants)
             {
                 return new BlockPos(QuartPos.fromSection(x), 0, QuartPos.fromSection(z));
             }
             return null;
-        });
-
-        if (result == null)
-        {
-            throw ERROR_NOT_FOUND.create(id);
-        }
-        return showLocateResult(source, id.toString(), center, result, "commands.locate.success");
+        }, result -> showLocateResult(source, id.toString(), center, result, "commands.locate.success"), () -> sendFailure(source, ERROR_NOT_FOUND.create(id)));
+        return Command.SINGLE_SUCCESS;
     }
 
     private static int locateVolcano(CommandSourceStack source) throws CommandSyntaxException
@@ -116,7 +114,7 @@ public class LocateCommand
 
         final VolcanoNoise volcanoNoise = new VolcanoNoise(source.getLevel().getSeed());
         final BlockPos center = new BlockPos(source.getPosition());
-        final BlockPos result = radialSearch(center.getX(), center.getZ(), 1024, 16, (x, z) -> {
+        LocateSearch.start(source, "volcano", center.getX(), center.getZ(), 1024, 16, (x, z) -> {
             final BlockPos volcanoPos = volcanoNoise.calculateCenter(x, 0, z, 1); // Sample with rarity 1 first, to always include the cell
             if (volcanoPos != null)
             {
@@ -129,13 +127,8 @@ public class LocateCommand
                 }
             }
             return null;
-        });
-
-        if (result == null)
-        {
-            throw ERROR_VOLCANO_NOT_FOUND.create();
-        }
-        return showLocateResult(source, "volcano", center, result, "commands.locate.success");
+        }, result -> showLocateResult(source, "volcano", center, result, "commands.locate.success"), () -> sendFailure(source, ERROR_VOLCANO_NOT_FOUND.create()));
+        return Command.SINGLE_SUCCESS;
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
@@ -164,29 +157,33 @@ public class LocateCommand
 
         final ConfiguredFeature<?, ? extends VeinFeature<?, ?>> vein = optionalVeinFeature.get();
 
-        final ArrayList<? extends Vein> veins = new ArrayList<>();
-        final Random random = new Random();
         final BiomeSource source = level.getChunkSource().getGenerator().getBiomeSource();
         final Climate.Sampler sampler = level.getChunkSource().getGenerator().climateSampler();
         final BiomeManager biomeManager = level.getBiomeManager().withDifferentSource((x, y, z) -> source.getNoiseBiome(x, y, z, sampler));
         final WorldGenerationContext generationContext = new WorldGenerationContext(level.getChunkSource().getGenerator(), level);
         final Function<BlockPos, Holder<Biome>> biomeQuery = biomeManager::getBiome;
 
-        final @Nullable BlockPos foundPos = radialSearch(pos.x, pos.z, 16, 1, (x, z) -> {
+        LocateSearch.start(context.getSource(), id.toString(), pos.x, pos.z, 16, 1, (x, z) -> {
+            final List<? extends Vein> veins = new ArrayList<>();
             ((VeinFeature) vein.feature()).getVeinsAtChunk(level, generationContext, x, z, veins, (VeinConfig) vein.config(), biomeQuery);
             if (!veins.isEmpty())
             {
                 return veins.get(0).getPos();
             }
             return null;
-        });
+        }, result -> showLocateResultIn3D(context.getSource(), id.toString(), sourcePos, result, "commands.locate.success"), () -> sendFailure(context.getSource(), ERROR_VEIN_NOT_FOUND.create(id.toString())));
+        return Command.SINGLE_SUCCESS;
+    }
 
-        if (foundPos != null)
-        {
-            return showLocateResultIn3D(context.getSource(), id.toString(), sourcePos, veins.get(0).getPos(), "commands.locate.success");
-        }
+    private static int cancel(CommandSourceStack source)
+    {
+        LocateSearch.cancel(source);
+        return Command.SINGLE_SUCCESS;
+    }
 
-        throw ERROR_VEIN_NOT_FOUND.create(id.toString());
+    private static void sendFailure(CommandSourceStack source, CommandSyntaxException e)
+    {
+        source.sendFailure(ComponentUtils.fromMessage(e.getRawMessage()));
     }
 
     private static int showLocateResult(CommandSourceStack context, String nameOfThing, BlockPos source, BlockPos dest, String translationKey)
@@ -212,54 +209,4 @@ public class LocateCommand
         context.sendSuccess(Helpers.translatable(translationKey, nameOfThing, text, distance), false);
         return distance;
     }
-
-    @Nullable
-    private static BlockPos radialSearch(int x, int z, int radius, int step, SearchFunction function)
-    {
-        // r = [1, radius)
-        // d = [0, 2r)
-        // Example at r = 2 (d = [0, 3]):
-        // a a a a b  +x ->
-        // c . . . b  +z
-        // c . x . b   |
-        // c . . . b   v
-        // c d d d d
-
-        BlockPos pos;
-        for (int r = 1; r < radius; r++)
-        {
-            for (int d = 0; d < 2 * r; d++)
-            {
-                // a, b, c, d
-                pos = function.find(x + step * (d - r), z + step * -r);
-                if (pos != null)
-                {
-                    return pos;
-                }
-                pos = function.find(x + step * r, z + step * (d - r));
-                if (pos != null)
-                {
-                    return pos;
-                }
-                pos = function.find(x + step * -r, z + step * (d + 1 - r));
-                if (pos != null)
-                {
-                    return pos;
-                }
-                pos = function.find(x + step * (d + 1 - r), z + step * r);
-                if (pos != null)
-                {
-                    return pos;
-                }
-            }
-        }
-        return null;
-    }
-
-    @FunctionalInterface
-    interface SearchFunction
-    {
-        @Nullable
-        BlockPos find(int x, int z);
-    }
 }
@@ -0,0 +1,223 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.common.commands;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+
+import com.mojang.logging.LogUtils;
+import net.dries007.tfc.config.TFCConfig;
+import net.dries007.tfc.mixin.accessor.CommandSourceStackAccessor;
+import net.dries007.tfc.util.Helpers;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+/**
+ * A radial search for {@code /tfc locate}, which runs in the background rather than blocking the server thread.
+ * <p>
+ * Rings are searched outwards one at a time, and all positions within a ring are searched in parallel, so the search function must be thread safe. The first result in search order is always returned, which is the same as a sequential search would find. The result is delivered back on the server thread.
+ * Searches run on their own small pool, rather than {@link net.minecraft.Util#backgroundExecutor()}, so they cannot starve world generation and other background work.
+ * While running, a search periodically reports its progress to the command source. It stops when it is cancelled, when another search is started by the same source, when the server stops, or when it exceeds the configured time limit.
+ */
+public final class LocateSearch
+{
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final Map<Object, LocateSearch> RUNNING = new ConcurrentHashMap<>();
+    private static final ForkJoinPool EXECUTOR = new ForkJoinPool(Mth.clamp(Runtime.getRuntime().availableProcessors() / 2, 1, 4), pool -> {
+        final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("TFC-Locate-" + thread.getPoolIndex());
+        return thread;
+    }, null, false);
+    private static final long PROGRESS_INTERVAL_NANOS = 5_000_000_000L;
+
+    private static final String SEARCHING = "tfc.commands.locate.searching";
+    private static final String PROGRESS = "tfc.commands.locate.progress";
+    private static final String CANCELLED = "tfc.commands.locate.cancelled";
+    private static final String TIMED_OUT = "tfc.commands.locate.timed_out";
+    private static final String NOTHING_TO_CANCEL = "tfc.commands.locate.nothing_to_cancel";
+
+    /**
+     * Starts a search, centered at {@code (x, z)}, which visits positions in rings {@code step} apart, out to {@code radius} rings.
+     *
+     * @param onFound Called on the server thread with the found position.
+     * @param onNotFound Called on the server thread if the search completes without finding anything.
+     */
+    static void start(CommandSourceStack source, String name, int x, int z, int radius, int step, SearchFunction function, Consumer<BlockPos> onFound, Runnable onNotFound)
+    {
+        final LocateSearch search = new LocateSearch(source, name);
+        final LocateSearch previous = RUNNING.put(search.key, search);
+        if (previous != null)
+        {
+            previous.cancelled = true;
+        }
+
+        source.sendSuccess(Helpers.translatable(SEARCHING, name), false);
+        CompletableFuture.supplyAsync(() -> search.run(x, z, radius, step, function), EXECUTOR)
+            .whenComplete((result, error) -> source.getServer().execute(() -> {
+                RUNNING.remove(search.key, search);
+                if (error != null)
+                {
+                    LOGGER.error("Error while searching for {}", name, error);
+                    source.sendFailure(Helpers.literal(String.valueOf(error.getMessage())));
+                }
+                else if (search.cancelled)
+                {
+                    source.sendFailure(Helpers.translatable(CANCELLED, name));
+                }
+                else if (search.timedOut)
+                {
+                    source.sendFailure(Helpers.translatable(TIMED_OUT, name, TFCConfig.SERVER.locateSearchTimeLimit.get()));
+                }
+                else if (result != null)
+                {
+                    onFound.accept(result);
+                }
+                else
+                {
+                    onNotFound.run();
+                }
+            }));
+    }
+
+    /**
+     * Cancels the search started by the given source, if there is one.
+     */
+    static void cancel(CommandSourceStack source)
+    {
+        final LocateSearch search = RUNNING.get(key(source));
+        if (search != null)
+        {
+            search.cancelled = true; // The search will stop, and report that it was cancelled
+        }
+        else
+        {
+            source.sendFailure(Helpers.translatable(NOTHING_TO_CANCEL));
+        }
+    }
+
+    /**
+     * Cancels all running searches, when the server stops.
+     */
+    public static void cancelAll()
+    {
+        RUNNING.values().forEach(search -> search.cancelled = true);
+        RUNNING.clear();
+    }
+
+    /**
+     * Searches are identified by the entity which started them, so a player keeps their search across commands and name changes, or otherwise by the underlying source, such as the server console or a command block.
+     */
+    private static Object key(CommandSourceStack source)
+    {
+        final Entity entity = source.getEntity();
+        return entity != null ? entity.getUUID() : ((CommandSourceStackAccessor) source).accessor$getSource();
+    }
+
+    private final CommandSourceStack source;
+    private final String name;
+    private final Object key;
+
+    private volatile boolean cancelled;
+    private boolean timedOut;
+
+    private LocateSearch(CommandSourceStack source, String name)
+    {
+        this.source = source;
+        this.name = name;
+        this.key = key(source);
+    }
+
+    @Nullable
+    private BlockPos run(int x, int z, int radius, int step, SearchFunction function)
+    {
+        final long startNanos = System.nanoTime();
+        final long timeLimitNanos = TFCConfig.SERVER.locateSearchTimeLimit.get() * 1_000_000_000L;
+        long lastProgressNanos = startNanos;
+
+        for (int r = 1; r < radius; r++)
+        {
+            final long nanos = System.nanoTime();
+            if (cancelled)
+            {
+                return null;
+            }
+            if (nanos - startNanos > timeLimitNanos)
+            {
+                timedOut = true;
+                return null;
+            }
+            if (nanos - lastProgressNanos > PROGRESS_INTERVAL_NANOS)
+            {
+                lastProgressNanos = nanos;
+                final int percent = (int) (100L * r * r / ((long) radius * radius)); // By area searched
+                final Component message = Helpers.translatable(PROGRESS, name, percent);
+                source.getServer().execute(() -> source.sendSuccess(message, false));
+            }
+
+            final BlockPos pos = searchRing(x, z, r, step, function);
+            if (pos != null)
+            {
+                return pos;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Searches all positions in a single ring in parallel, on {@link #EXECUTOR}, as this is only called from within it. Positions are visited in the same order as a sequential search, starting from the -x, -z corner: for each d in [0, 2r), the -z edge, the +x edge, the -x edge and the +z edge.
+     * <pre>
+     * a a a a b  +x ->
+     * c . . . b  +z
+     * c . x . b   |
+     * c . . . b   v
+     * c d d d d
+     * </pre>
+     */
+    @Nullable
+    private BlockPos searchRing(int x, int z, int r, int step, SearchFunction function)
+    {
+        final Optional<BlockPos> pos = IntStream.range(0, 8 * r)
+            .parallel()
+            .mapToObj(i -> {
+                if (cancelled)
+                {
+                    return null;
+                }
+                final int d = i >> 2;
+                return switch (i & 3)
+                    {
+                        case 0 -> function.find(x + step * (d - r), z + step * -r);
+                        case 1 -> function.find(x + step * r, z + step * (d - r));
+                        case 2 -> function.find(x + step * -r, z + step * (d + 1 - r));
+                        default -> function.find(x + step * (d + 1 - r), z + step * r);
+                    };
+            })
+            .filter(Objects::nonNull)
+            .findFirst();
+        return pos.orElse(null);
+    }
+
+    @FunctionalInterface
+    interface SearchFunction
+    {
+        @Nullable
+        BlockPos find(int x, int z);
+    }
+}
@@ -6,6 +6,13 @@
 
 package net.dries007.tfc.common.recipes;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import net.minecraft.network.FriendlyByteBuf;
@@ -13,8 +20,12 @@ import net.minecraft.network.chat.TranslatableComponent;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.sounds.SoundEvent;
 import net.minecraft.sounds.SoundEvents;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.material.Fluid;
+import net.minecraft.world.level.material.Fluids;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.capability.IFluidHandler;
 import net.minecraftforge.registries.ForgeRegistries;
@@ -26,10 +37,28 @@ import net.dries007.tfc.common.recipes.outputs.ItemStackProvider;
 import net.dries007.tfc.config.TFCConfig;
 import net.dries007.tfc.util.Helpers;
 import net.dries007.tfc.util.JsonHelpers;
+import net.dries007.tfc.util.collections.IndirectHashCollection;
 import org.jetbrains.annotations.Nullable;
 
 public abstract class BarrelRecipe implements ISimpleRecipe<BarrelBlockEntity.BarrelInventory>
 {
+    /**
+     * Finds the first recipe, in recipe manager order, that matches the barrel.
+     * Candidates are looked up by the barrel's {@link InputKey}, so an inventory which no recipe could match costs only a single lookup.
+     */
+    @Nullable
+    protected static <R extends BarrelRecipe> R getRecipe(IndirectHashCollection<InputKey, R> cache, BarrelBlockEntity.BarrelInventory inventory)
+    {
+        for (R recipe : cache.getAll(InputKey.of(inventory)))
+        {
+            if (recipe.matches(inventory, null))
+            {
+                return recipe;
+            }
+        }
+        return null;
+    }
+
     private final ResourceLocation id;
 
     protected final ItemStackIngredient inputItem;
@@ -144,6 +173,25 @@ public abstract class BarrelRecipe implements ISimpleRecipe<BarrelBlockEntity.Ba
         return id;
     }
 
+    /**
+     * @return Every {@link InputKey} which this recipe could possibly match.
+     */
+    public Collection<InputKey> getInputKeys()
+    {
+        final Collection<Item> items = inputItem.ingredient().isEmpty() ?
+            List.of(Items.AIR) : // An empty ingredient only matches an empty slot
+            Arrays.stream(inputItem.ingredient().getItems()).map(ItemStack::getItem).collect(Collectors.toSet());
+        final Set<InputKey> keys = new HashSet<>();
+        for (Fluid fluid : inputFluid.ingredient().getMatchingFluids())
+        {
+            for (Item item : items)
+            {
+                keys.add(new InputKey(fluid, item));
+            }
+        }
+        return keys;
+    }
+
     public ItemStackIngredient getInputItem()
     {
         return inputItem;
@@ -174,6 +222,17 @@ public abstract class BarrelRecipe implements ISimpleRecipe<BarrelBlockEntity.Ba
         return Helpers.translatable("tfc.recipe.barrel." + id.getNamespace() + "." + id.getPath().replace('/', '.'));
     }
 
+    /**
+     * The fluid in the barrel, and the item in the input slot. Empty fluids and items are represented by {@link Fluids#EMPTY} and {@link Items#AIR}.
+     */
+    public record InputKey(Fluid fluid, Item item)
+    {
+        public static InputKey of(BarrelBlockEntity.BarrelInventory inventory)
+        {
+            return new InputKey(inventory.getFluidInTank(0).getFluid(), inventory.getStackInSlot(BarrelBlockEntity.SLOT_ITEM).getItem());
+        }
+    }
+
     public record Builder(ItemStackIngredient inputItem, FluidStackIngredient inputFluid, ItemStackProvider outputItem, FluidStack outputFluid, SoundEvent sound)
     {
         public static Builder fromJson(JsonObject json)
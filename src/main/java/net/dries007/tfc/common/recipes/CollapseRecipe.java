@@ -23,6 +23,7 @@ import net.minecraft.world.level.block.LevelEvent;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.Nullable;
 
+import it.unimi.dsi.fastutil.longs.LongList;
 import net.dries007.tfc.TerraFirmaCraft;
 import net.dries007.tfc.client.TFCSounds;
 import net.dries007.tfc.common.TFCTags;
@@ -80,8 +81,12 @@ public class CollapseRecipe extends SimpleBlockRecipe
                 final int radZ = (random.nextInt(5) + 4) / 2;
 
                 final List<BlockPos> fakeCollapseStarts = new ArrayList<>();
-                for (BlockPos checking : Support.findUnsupportedPositions(level, pos.offset(-radX, -radY, -radZ), pos.offset(radX, radY, radZ))) // 9x5x9 max
+                final LongList unsupported = Support.findUnsupportedPositions(level, pos.offset(-radX, -radY, -radZ), pos.offset(radX, radY, radZ)); // 9x5x9 max
+                final BlockPos.MutableBlockPos checking = new BlockPos.MutableBlockPos();
+                for (int i = 0; i < unsupported.size(); i++)
                 {
+                    checking.set(unsupported.getLong(i));
+
                     // Exclude the position being mined, as it's done before the mining is completed, which is unintuitive
                     if (!checking.equals(pos) && canStartCollapse(level, checking))
                     {
@@ -90,7 +95,7 @@ public class CollapseRecipe extends SimpleBlockRecipe
                             fakeCollapseStarts.add(checking.immutable());
                             continue;
                         }
-                        if (startCollapse(level, checking))
+                        if (startCollapse(level, checking.immutable()))
                         {
                             level.playSound(null, pos, TFCSounds.ROCK_SLIDE_LONG.get(), SoundSource.BLOCKS, 1.0f, 1.0f);
                         }
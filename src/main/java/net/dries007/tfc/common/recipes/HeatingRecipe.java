@@ -6,16 +6,11 @@
 
 package net.dries007.tfc.common.recipes;
 
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.stream.Collectors;
-
 import com.google.gson.JsonObject;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.GsonHelper;
 import net.minecraft.util.Mth;
-import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
 import net.minecraft.world.item.crafting.RecipeSerializer;
@@ -27,30 +22,23 @@ import net.dries007.tfc.common.capabilities.heat.HeatCapability;
 import net.dries007.tfc.common.recipes.inventory.ItemStackInventory;
 import net.dries007.tfc.common.recipes.outputs.ItemStackProvider;
 import net.dries007.tfc.util.JsonHelpers;
-import net.dries007.tfc.util.collections.IndirectHashCollection;
+import net.dries007.tfc.util.collections.IndirectItemCollection;
 import org.jetbrains.annotations.Nullable;
 
 public class HeatingRecipe implements ISimpleRecipe<ItemStackInventory>
 {
-    public static final IndirectHashCollection<Item, HeatingRecipe> CACHE = IndirectHashCollection.createForRecipe(HeatingRecipe::getValidItems, TFCRecipeTypes.HEATING);
+    public static final IndirectItemCollection<HeatingRecipe> CACHE = IndirectItemCollection.createForRecipe("heating_recipe", HeatingRecipe::getIngredient, TFCRecipeTypes.HEATING);
 
     @Nullable
     public static HeatingRecipe getRecipe(ItemStack stack)
     {
-        return getRecipe(new ItemStackInventory(stack));
+        return CACHE.get(stack);
     }
 
     @Nullable
     public static HeatingRecipe getRecipe(ItemStackInventory wrapper)
     {
-        for (HeatingRecipe recipe : CACHE.getAll(wrapper.getStack().getItem()))
-        {
-            if (recipe.matches(wrapper, null))
-            {
-                return recipe;
-            }
-        }
-        return null;
+        return getRecipe(wrapper.getStack());
     }
 
     private final ResourceLocation id;
@@ -155,11 +143,6 @@ public class HeatingRecipe implements ISimpleRecipe<ItemStackInventory>
         return temperatureIn >= temperature;
     }
 
-    public Collection<Item> getValidItems()
-    {
-        return Arrays.stream(this.getIngredient().getItems()).map(ItemStack::getItem).collect(Collectors.toSet());
-    }
-
     public Ingredient getIngredient()
     {
         return ingredient;
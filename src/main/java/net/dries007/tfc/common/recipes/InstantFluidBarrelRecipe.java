@@ -15,6 +15,7 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.RecipeSerializer;
 import net.minecraft.world.item.crafting.RecipeType;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.material.Fluid;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.capability.IFluidHandler;
 import net.minecraftforge.fluids.capability.IFluidHandlerItem;
@@ -29,10 +30,29 @@ import net.dries007.tfc.common.recipes.outputs.ItemStackProvider;
 import net.dries007.tfc.config.TFCConfig;
 import net.dries007.tfc.util.Helpers;
 import net.dries007.tfc.util.JsonHelpers;
+import net.dries007.tfc.util.collections.IndirectHashCollection;
 import org.jetbrains.annotations.Nullable;
 
 public class InstantFluidBarrelRecipe extends BarrelRecipe
 {
+    /**
+     * These recipes match the added fluid from either the item or fluid container slot, so they are only indexed by the fluid in the barrel.
+     */
+    public static final IndirectHashCollection<Fluid, InstantFluidBarrelRecipe> CACHE = IndirectHashCollection.createForRecipe(recipe -> recipe.getInputFluid().ingredient().getMatchingFluids(), TFCRecipeTypes.BARREL_INSTANT_FLUID);
+
+    @Nullable
+    public static InstantFluidBarrelRecipe getRecipe(BarrelBlockEntity.BarrelInventory inventory)
+    {
+        for (InstantFluidBarrelRecipe recipe : CACHE.getAll(inventory.getFluidInTank(0).getFluid()))
+        {
+            if (recipe.matches(inventory, null))
+            {
+                return recipe;
+            }
+        }
+        return null;
+    }
+
     private final FluidStackIngredient addedFluid;
 
     public InstantFluidBarrelRecipe(ResourceLocation id, Builder builder, FluidStackIngredient addedFluid)
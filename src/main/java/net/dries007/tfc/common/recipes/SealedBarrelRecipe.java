@@ -17,10 +17,19 @@ import net.dries007.tfc.common.blockentities.BarrelBlockEntity;
 import net.dries007.tfc.common.recipes.outputs.ItemStackProvider;
 import net.dries007.tfc.util.Helpers;
 import net.dries007.tfc.util.JsonHelpers;
+import net.dries007.tfc.util.collections.IndirectHashCollection;
 import org.jetbrains.annotations.Nullable;
 
 public class SealedBarrelRecipe extends BarrelRecipe
 {
+    public static final IndirectHashCollection<InputKey, SealedBarrelRecipe> CACHE = IndirectHashCollection.createForRecipe(BarrelRecipe::getInputKeys, TFCRecipeTypes.BARREL_SEALED);
+
+    @Nullable
+    public static SealedBarrelRecipe getRecipe(BarrelBlockEntity.BarrelInventory inventory)
+    {
+        return getRecipe(CACHE, inventory);
+    }
+
     private final int duration;
 
     @Nullable private final ItemStackProvider onSeal;
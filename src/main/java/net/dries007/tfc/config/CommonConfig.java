@@ -32,6 +32,11 @@ public class CommonConfig
     public final ForgeConfigSpec.IntValue defaultMonthLength;
     public final ForgeConfigSpec.IntValue defaultCalendarStartDay;
 
+    // World Generation
+    public final ForgeConfigSpec.BooleanValue enableLayerTileStore;
+    public final ForgeConfigSpec.IntValue layerTileCacheCapacity;
+    public final ForgeConfigSpec.BooleanValue enableParallelNoiseFilling;
+
     // Debug
     private final ForgeConfigSpec.BooleanValue enableNetworkDebugging;
     private boolean hasLoggedNetworkDebugInfoMessage = false;
@@ -63,6 +68,21 @@ public class CommonConfig
             " The default is (5 * daysInMonth) = 40, which starts at June 1, 1000 (with the default daysInMonth = 8)"
         ).defineInRange("defaultCalendarStartDay", (5 * 8), -1, Integer.MAX_VALUE);
 
+        innerBuilder.pop().push("worldgen");
+
+        enableLayerTileStore = builder.apply("enableLayerTileStore").comment(
+            " If enabled, the output of TFC's biome, rock, forest and plate tectonic layers is saved to disk under the world directory (in tfc/layers), and read back instead of being re-computed.",
+            " This speeds up pre-generation and searching for biomes on large maps, at the cost of disk space (up to 4 MB per 1024 x 1024 area, per layer)."
+        ).define("enableLayerTileStore", false);
+        layerTileCacheCapacity = builder.apply("layerTileCacheCapacity").comment(
+            " The maximum number of computed tiles of each of TFC's biome, rock, forest and plate tectonic layers which are kept in memory, and shared between all world generation threads.",
+            " Each tile uses 16 KB, so the default uses up to 8 MB per layer. Use the '/tfc debug layers' command to see the hit rate and memory use."
+        ).defineInRange("layerTileCacheCapacity", 512, 16, 1 << 16);
+        enableParallelNoiseFilling = builder.apply("enableParallelNoiseFilling").comment(
+            " If enabled, the terrain noise of each chunk is filled by several tasks in parallel (one per column of noise cells), on the background world generation executor.",
+            " This reduces the time taken to generate a single chunk when there are idle threads, i.e. when a single player is exploring new terrain, but adds a small overhead per chunk. The generated terrain is identical either way."
+        ).define("enableParallelNoiseFilling", false);
+
         innerBuilder.pop().push("debug");
 
         enableNetworkDebugging = builder.apply("enableNetworkDebugging").comment(
@@ -37,6 +37,9 @@ public class ServerConfig
     public final ForgeConfigSpec.BooleanValue enableCalendarSensitiveMoonPhases;
     public final ForgeConfigSpec.BooleanValue enableLightning;
     public final ForgeConfigSpec.BooleanValue enableLightningStrippingLogs;
+    public final ForgeConfigSpec.IntValue calendarCatchUpBudget;
+    public final ForgeConfigSpec.IntValue blockEntitySyncInterval;
+    public final ForgeConfigSpec.IntValue locateSearchTimeLimit;
 
     // Blocks - Farmland
     public final ForgeConfigSpec.BooleanValue enableFarmlandCreation;
@@ -251,6 +254,16 @@ public class ServerConfig
         enableCalendarSensitiveMoonPhases = builder.apply("enableCalendarSensitiveMoonPhases").comment("Enables TFC setting the moon phase based on the progress of the month. The etymology of the English word 'month' is in fact related to the word 'moon'.").define("enableCalendarSensitiveMoonPhases", true);
         enableLightning = builder.apply("enableLightning").comment("If false, vanilla lightning will not strike.").define("enableLightning", true);
         enableLightningStrippingLogs = builder.apply("enableLightningStrippingLogs").comment("If true, lightning has a chance of stripping bark off of trees.").define("enableLightningStrippingLogs", true);
+        calendarCatchUpBudget = builder.apply("calendarCatchUpBudget").comment(
+            "The maximum time, in microseconds, spent each tick catching up block entities (such as barrels, firepits and forges) after they are loaded, or after a time skip.",
+            "Once this is exceeded, remaining block entities wait until a later tick to catch up, and do nothing until then. At least one block entity is always caught up per tick.",
+            "Set to 0 to always catch up immediately. Use the '/tfc debug calendar' command to see how many block entities are waiting."
+        ).defineInRange("calendarCatchUpBudget", 5000, 0, 1_000_000);
+        blockEntitySyncInterval = builder.apply("blockEntitySyncInterval").comment(
+            "The minimum number of ticks between two syncs of the same block entity (such as a barrel or firepit) to clients. Changes within this interval are combined into a single sync.",
+            "Higher values use less network bandwidth, but clients see changes (i.e. temperatures or fluid levels) less often. Use the '/tfc debug sync' command to see how many syncs are sent, and '/tfc debug sync measure start' to also measure their size."
+        ).defineInRange("blockEntitySyncInterval", 1, 1, 200);
+        locateSearchTimeLimit = builder.apply("locateSearchTimeLimit").comment("The maximum time, in seconds, that a '/tfc locate' search may run for before it is stopped. Searches run in the background, and can be cancelled with '/tfc locate cancel'.").defineInRange("locateSearchTimeLimit", 60, 1, 3600);
 
         innerBuilder.pop().push("blocks").push("farmland");
 
@@ -22,6 +22,7 @@ public abstract class AbstractContainerMenuMixin
     {
         // This mimics the behavior of ItemStack#equals, and so a 'false' return value means 'we need to sync this anyway'
         // We add an additional check here in order for these two item stacks to be equal enough to not sync to client.
-        return !ItemStackCapabilitySync.hasSyncableCapability(current) && current.equals(previous, limitTags);
+        // The previous stack is a copy of the stack when it was last synced, so stacks with syncable capabilities only need to be synced if their synced state has changed since then.
+        return current.equals(previous, limitTags) && (!ItemStackCapabilitySync.hasSyncableCapability(current) || ItemStackCapabilitySync.hasSameSyncableCapabilities(current, previous));
     }
 }
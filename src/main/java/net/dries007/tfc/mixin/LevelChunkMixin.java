@@ -0,0 +1,36 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.mixin;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+
+import net.dries007.tfc.util.SupportIndex;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(LevelChunk.class)
+public abstract class LevelChunkMixin
+{
+    /**
+     * Keep the chunk's {@link SupportIndex} up to date. This catches every block change in a loaded chunk, not just those made by players.
+     * The return value is the previous state, or {@code null} if nothing changed.
+     */
+    @Inject(method = "setBlockState", at = @At("RETURN"))
+    private void updateSupportIndex(BlockPos pos, BlockState state, boolean isMoving, CallbackInfoReturnable<BlockState> cir)
+    {
+        final LevelChunk chunk = (LevelChunk) (Object) this;
+        final BlockState oldState = cir.getReturnValue();
+        if (oldState != null && !chunk.getLevel().isClientSide())
+        {
+            SupportIndex.onBlockChanged(chunk, pos, oldState, state);
+        }
+    }
+}
@@ -13,6 +13,9 @@ import net.minecraft.world.level.biome.Biome;
 import net.dries007.tfc.client.ClimateRenderCache;
 import net.dries007.tfc.util.EnvironmentHelpers;
 import net.dries007.tfc.util.climate.Climate;
+import net.dries007.tfc.util.tracker.WorldTracker;
+import net.dries007.tfc.util.tracker.WorldTrackerBridge;
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
@@ -21,11 +24,26 @@ import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 @Mixin(Level.class)
-public abstract class LevelMixin
+public abstract class LevelMixin implements WorldTrackerBridge
 {
+    private @Nullable WorldTracker tfc$cachedWorldTracker;
+
     @Shadow
     public abstract boolean isClientSide();
 
+    @Nullable
+    @Override
+    public WorldTracker tfc$getWorldTracker()
+    {
+        return tfc$cachedWorldTracker;
+    }
+
+    @Override
+    public void tfc$setWorldTracker(WorldTracker tracker)
+    {
+        tfc$cachedWorldTracker = tracker;
+    }
+
     /**
      * The call to {@link Biome#getPrecipitation()} will always pass, as it's only checked against rain. We just need to check both climate and actual rainfall state here.
      */
@@ -0,0 +1,232 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.network;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraftforge.network.NetworkEvent;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.dries007.tfc.util.Helpers;
+import net.dries007.tfc.world.chunkdata.ForestType;
+import net.dries007.tfc.world.chunkdata.LerpFloatLayer;
+import net.dries007.tfc.world.chunkdata.PlateTectonicsClassification;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Sent from server -> client, syncs the chunk data of all chunks a player started watching in a single tick. Equivalent to a {@link ChunkWatchPacket} for each chunk.
+ * <p>
+ * Adjacent chunks share their corner rainfall and temperature values, so these are written once per corner in a shared grid, rather than four times per chunk. Corner values are quantized to {@code 1 / 64}, as in {@link ChunkWatchPacket}, and written as the difference from the previously written corner, which is small as the values vary smoothly. Chunk positions are also written as the difference from the previous chunk, so chunks should be sorted.
+ * A chunk which is missing either layer, or whose corners do not match the corners of the chunks written before it, writes its layers in full instead.
+ */
+public class ChunkDataBatchPacket
+{
+    /**
+     * The maximum number of chunks in a single packet, to stay well below the maximum packet size.
+     */
+    public static final int MAX_CHUNKS = 4096;
+
+    private static final int CORNERS = 4;
+    private static final int[] CORNER_DX = {0, 1, 0, 1}; // NW, NE, SW, SE
+    private static final int[] CORNER_DZ = {0, 0, 1, 1};
+
+    public static ChunkDataBatchPacket decode(FriendlyByteBuf buffer)
+    {
+        final int size = buffer.readVarInt();
+        final List<ChunkWatchPacket> chunks = new ArrayList<>(size);
+        final List<Entry> entries = new ArrayList<>(size);
+        final Long2IntMap cornerIndices = new Long2IntOpenHashMap();
+        cornerIndices.defaultReturnValue(-1);
+
+        int chunkX = 0, chunkZ = 0;
+        for (int i = 0; i < size; i++)
+        {
+            chunkX += unzigzag(buffer.readVarInt());
+            chunkZ += unzigzag(buffer.readVarInt());
+
+            final boolean shared = buffer.readBoolean();
+            final LerpFloatLayer rainfallLayer, temperatureLayer;
+            final int[] corners;
+            if (shared)
+            {
+                rainfallLayer = temperatureLayer = null; // Read after all chunks
+                corners = new int[CORNERS];
+                for (int corner = 0; corner < CORNERS; corner++)
+                {
+                    final long key = ChunkPos.asLong(chunkX + CORNER_DX[corner], chunkZ + CORNER_DZ[corner]);
+                    int index = cornerIndices.get(key);
+                    if (index == -1)
+                    {
+                        index = cornerIndices.size();
+                        cornerIndices.put(key, index);
+                    }
+                    corners[corner] = index;
+                }
+            }
+            else
+            {
+                rainfallLayer = Helpers.decodeNullable(buffer, LerpFloatLayer::new);
+                temperatureLayer = Helpers.decodeNullable(buffer, LerpFloatLayer::new);
+                corners = null;
+            }
+
+            final ForestType forestType = ForestType.valueOf(buffer.readByte());
+            final float forestDensity = buffer.readFloat();
+            final float forestWeirdness = buffer.readFloat();
+            final PlateTectonicsClassification plateTectonicsInfo = PlateTectonicsClassification.valueOf(buffer.readByte());
+
+            entries.add(new Entry(new ChunkWatchPacket(chunkX, chunkZ, rainfallLayer, temperatureLayer, forestType, forestDensity, forestWeirdness, plateTectonicsInfo), corners));
+        }
+
+        // Corner values, in the order they were first referenced
+        final int cornerCount = cornerIndices.size();
+        final float[] rainfall = new float[cornerCount], temperature = new float[cornerCount];
+        int lastRainfall = 0, lastTemperature = 0;
+        for (int i = 0; i < cornerCount; i++)
+        {
+            lastRainfall += unzigzag(buffer.readVarInt());
+            lastTemperature += unzigzag(buffer.readVarInt());
+            rainfall[i] = ChunkWatchPacket.dequantize(lastRainfall);
+            temperature[i] = ChunkWatchPacket.dequantize(lastTemperature);
+        }
+
+        for (Entry entry : entries)
+        {
+            final ChunkWatchPacket chunk = entry.chunk;
+            final int[] corners = entry.corners;
+            if (corners != null)
+            {
+                chunks.add(new ChunkWatchPacket(chunk.chunkX(), chunk.chunkZ(),
+                    new LerpFloatLayer(rainfall[corners[0]], rainfall[corners[1]], rainfall[corners[2]], rainfall[corners[3]]),
+                    new LerpFloatLayer(temperature[corners[0]], temperature[corners[1]], temperature[corners[2]], temperature[corners[3]]),
+                    chunk.forestType(), chunk.forestDensity(), chunk.forestWeirdness(), chunk.plateTectonicsInfo()));
+            }
+            else
+            {
+                chunks.add(chunk);
+            }
+        }
+        return new ChunkDataBatchPacket(chunks);
+    }
+
+    private static int zigzag(int value)
+    {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value)
+    {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private final List<ChunkWatchPacket> chunks;
+
+    public ChunkDataBatchPacket(List<ChunkWatchPacket> chunks)
+    {
+        this.chunks = chunks;
+    }
+
+    public List<ChunkWatchPacket> getChunks()
+    {
+        return chunks;
+    }
+
+    public void encode(FriendlyByteBuf buffer)
+    {
+        final Long2IntMap cornerIndices = new Long2IntOpenHashMap();
+        final IntList cornerRainfall = new IntArrayList(), cornerTemperature = new IntArrayList();
+        final int[] rainfall = new int[CORNERS], temperature = new int[CORNERS];
+        cornerIndices.defaultReturnValue(-1);
+
+        buffer.writeVarInt(chunks.size());
+
+        int lastX = 0, lastZ = 0;
+        for (ChunkWatchPacket chunk : chunks)
+        {
+            buffer.writeVarInt(zigzag(chunk.chunkX() - lastX));
+            buffer.writeVarInt(zigzag(chunk.chunkZ() - lastZ));
+            lastX = chunk.chunkX();
+            lastZ = chunk.chunkZ();
+
+            // A chunk can only use the shared grid if all of its corners either match, or are not yet present in, the grid
+            boolean shared = false;
+            if (chunk.rainfallLayer() != null && chunk.temperatureLayer() != null)
+            {
+                corners(chunk.rainfallLayer(), rainfall);
+                corners(chunk.temperatureLayer(), temperature);
+                shared = true;
+                for (int corner = 0; corner < CORNERS; corner++)
+                {
+                    final int index = cornerIndices.get(ChunkPos.asLong(chunk.chunkX() + CORNER_DX[corner], chunk.chunkZ() + CORNER_DZ[corner]));
+                    if (index != -1 && (cornerRainfall.getInt(index) != rainfall[corner] || cornerTemperature.getInt(index) != temperature[corner]))
+                    {
+                        shared = false;
+                        break;
+                    }
+                }
+            }
+
+            buffer.writeBoolean(shared);
+            if (shared)
+            {
+                for (int corner = 0; corner < CORNERS; corner++)
+                {
+                    final long key = ChunkPos.asLong(chunk.chunkX() + CORNER_DX[corner], chunk.chunkZ() + CORNER_DZ[corner]);
+                    if (!cornerIndices.containsKey(key))
+                    {
+                        cornerIndices.put(key, cornerRainfall.size());
+                        cornerRainfall.add(rainfall[corner]);
+                        cornerTemperature.add(temperature[corner]);
+                    }
+                }
+            }
+            else
+            {
+                Helpers.encodeNullable(chunk.rainfallLayer(), buffer, ChunkWatchPacket::encodeLayer);
+                Helpers.encodeNullable(chunk.temperatureLayer(), buffer, ChunkWatchPacket::encodeLayer);
+            }
+
+            buffer.writeByte(chunk.forestType().ordinal());
+            buffer.writeFloat(chunk.forestDensity());
+            buffer.writeFloat(chunk.forestWeirdness());
+            buffer.writeByte(chunk.plateTectonicsInfo().ordinal());
+        }
+
+        int lastRainfall = 0, lastTemperature = 0;
+        for (int i = 0; i < cornerRainfall.size(); i++)
+        {
+            buffer.writeVarInt(zigzag(cornerRainfall.getInt(i) - lastRainfall));
+            buffer.writeVarInt(zigzag(cornerTemperature.getInt(i) - lastTemperature));
+            lastRainfall = cornerRainfall.getInt(i);
+            lastTemperature = cornerTemperature.getInt(i);
+        }
+    }
+
+    void handle(NetworkEvent.Context context)
+    {
+        context.enqueueWork(() -> chunks.forEach(ChunkWatchPacket::apply));
+    }
+
+    private static void corners(LerpFloatLayer layer, int[] into)
+    {
+        into[0] = ChunkWatchPacket.quantize(layer.getValueNW());
+        into[1] = ChunkWatchPacket.quantize(layer.getValueNE());
+        into[2] = ChunkWatchPacket.quantize(layer.getValueSW());
+        into[3] = ChunkWatchPacket.quantize(layer.getValueSE());
+    }
+
+    /**
+     * @param corners The indices of each of the chunk's corners in the shared grid, or {@code null} if the chunk's layers were written in full.
+     */
+    private record Entry(ChunkWatchPacket chunk, @Nullable int[] corners) {}
+}
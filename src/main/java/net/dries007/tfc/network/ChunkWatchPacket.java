@@ -15,53 +15,58 @@ import net.minecraft.world.level.chunk.ChunkAccess;
 import net.minecraftforge.network.NetworkEvent;
 
 import net.dries007.tfc.client.ClientHelpers;
+import net.dries007.tfc.client.TFCColors;
 import net.dries007.tfc.util.Helpers;
 import net.dries007.tfc.world.chunkdata.*;
 
 /**
  * Sent from server -> client on chunk watch, partially syncs chunk data and updates the client cache
+ * When many chunks are watched at once, they are sent together in a {@link ChunkDataBatchPacket} instead.
  */
-public class ChunkWatchPacket
+public record ChunkWatchPacket(int chunkX, int chunkZ, @Nullable LerpFloatLayer rainfallLayer, @Nullable LerpFloatLayer temperatureLayer, ForestType forestType, float forestDensity, float forestWeirdness, PlateTectonicsClassification plateTectonicsInfo)
 {
-    private final int chunkX;
-    private final int chunkZ;
-    @Nullable private final LerpFloatLayer rainfallLayer;
-    @Nullable private final LerpFloatLayer temperatureLayer;
-    private final ForestType forestType;
-    private final float forestWeirdness;
-    private final float forestDensity;
-    private final PlateTectonicsClassification plateTectonicsInfo;
+    /**
+     * Rainfall and temperature corner values are quantized to {@code 1 / 64} when synced, by both this and {@link ChunkDataBatchPacket}, so the client sees identical values regardless of which packet a chunk was sent in.
+     */
+    static final float QUANTIZATION = 64f;
 
-    public ChunkWatchPacket(int chunkX, int chunkZ, @Nullable LerpFloatLayer rainfallLayer, @Nullable LerpFloatLayer temperatureLayer, ForestType forestType, float forestDensity, float forestWeirdness, PlateTectonicsClassification plateTectonicsInfo)
+    static int quantize(float value)
     {
-        this.chunkX = chunkX;
-        this.chunkZ = chunkZ;
-        this.rainfallLayer = rainfallLayer;
-        this.temperatureLayer = temperatureLayer;
-        this.forestType = forestType;
-        this.forestDensity = forestDensity;
-        this.forestWeirdness = forestWeirdness;
-        this.plateTectonicsInfo = plateTectonicsInfo;
+        return Math.round(value * QUANTIZATION);
     }
 
-    ChunkWatchPacket(FriendlyByteBuf buffer)
+    static float dequantize(int value)
     {
-        chunkX = buffer.readVarInt();
-        chunkZ = buffer.readVarInt();
-        rainfallLayer = Helpers.decodeNullable(buffer, LerpFloatLayer::new);
-        temperatureLayer = Helpers.decodeNullable(buffer, LerpFloatLayer::new);
-        forestType = ForestType.valueOf(buffer.readByte());
-        forestDensity = buffer.readFloat();
-        forestWeirdness = buffer.readFloat();
-        plateTectonicsInfo = PlateTectonicsClassification.valueOf(buffer.readByte());
+        return value / QUANTIZATION;
     }
 
-    void encode(FriendlyByteBuf buffer)
+    static void encodeLayer(LerpFloatLayer layer, FriendlyByteBuf buffer)
+    {
+        buffer.writeFloat(dequantize(quantize(layer.getValueNW())));
+        buffer.writeFloat(dequantize(quantize(layer.getValueNE())));
+        buffer.writeFloat(dequantize(quantize(layer.getValueSW())));
+        buffer.writeFloat(dequantize(quantize(layer.getValueSE())));
+    }
+
+    public static ChunkWatchPacket decode(FriendlyByteBuf buffer)
+    {
+        final int chunkX = buffer.readVarInt();
+        final int chunkZ = buffer.readVarInt();
+        final LerpFloatLayer rainfallLayer = Helpers.decodeNullable(buffer, LerpFloatLayer::new);
+        final LerpFloatLayer temperatureLayer = Helpers.decodeNullable(buffer, LerpFloatLayer::new);
+        final ForestType forestType = ForestType.valueOf(buffer.readByte());
+        final float forestDensity = buffer.readFloat();
+        final float forestWeirdness = buffer.readFloat();
+        final PlateTectonicsClassification plateTectonicsInfo = PlateTectonicsClassification.valueOf(buffer.readByte());
+        return new ChunkWatchPacket(chunkX, chunkZ, rainfallLayer, temperatureLayer, forestType, forestDensity, forestWeirdness, plateTectonicsInfo);
+    }
+
+    public void encode(FriendlyByteBuf buffer)
     {
         buffer.writeVarInt(chunkX);
         buffer.writeVarInt(chunkZ);
-        Helpers.encodeNullable(rainfallLayer, buffer, LerpFloatLayer::encode);
-        Helpers.encodeNullable(temperatureLayer, buffer, LerpFloatLayer::encode);
+        Helpers.encodeNullable(rainfallLayer, buffer, ChunkWatchPacket::encodeLayer);
+        Helpers.encodeNullable(temperatureLayer, buffer, ChunkWatchPacket::encodeLayer);
         buffer.writeByte(forestType.ordinal());
         buffer.writeFloat(forestDensity);
         buffer.writeFloat(forestWeirdness);
@@ -70,22 +75,34 @@ public class ChunkWatchPacket
 
     void handle(NetworkEvent.Context context)
     {
-        context.enqueueWork(() -> {
-            ChunkPos pos = new ChunkPos(chunkX, chunkZ);
-            // Update client-side chunk data capability
-            Level world = ClientHelpers.getLevel();
-            if (world != null)
+        context.enqueueWork(this::apply);
+    }
+
+    /**
+     * Updates the client side chunk data, must be called on the main thread.
+     */
+    void apply()
+    {
+        ChunkPos pos = new ChunkPos(chunkX, chunkZ);
+        // Update client-side chunk data capability
+        Level world = ClientHelpers.getLevel();
+        if (world != null)
+        {
+            // First, synchronize the chunk data in the capability and cache.
+            // Then, update the single data instance with the packet data
+            ChunkAccess chunk = world.hasChunk(chunkX, chunkZ) ? world.getChunk(chunkX, chunkZ) : null;
+            ChunkData data = ChunkData.getCapability(chunk)
+                .map(dataIn -> {
+                    ChunkDataCache.CLIENT.update(pos, dataIn);
+                    return dataIn;
+                }).orElseGet(() -> ChunkDataCache.CLIENT.computeIfAbsent(pos, ChunkData::createClient));
+            data.onUpdatePacket(rainfallLayer, temperatureLayer, forestType, forestDensity, forestWeirdness, plateTectonicsInfo);
+            TFCColors.invalidateColumnColors(chunkX, chunkZ);
+            if (chunk != null)
             {
-                // First, synchronize the chunk data in the capability and cache.
-                // Then, update the single data instance with the packet data
-                ChunkAccess chunk = world.hasChunk(chunkX, chunkZ) ? world.getChunk(chunkX, chunkZ) : null;
-                ChunkData data = ChunkData.getCapability(chunk)
-                    .map(dataIn -> {
-                        ChunkDataCache.CLIENT.update(pos, dataIn);
-                        return dataIn;
-                    }).orElseGet(() -> ChunkDataCache.CLIENT.computeIfAbsent(pos, ChunkData::createClient));
-                data.onUpdatePacket(rainfallLayer, temperatureLayer, forestType, forestDensity, forestWeirdness, plateTectonicsInfo);
+                // Chunk data is sent after the chunk itself, so the chunk may have already been meshed, with tints from the default climate
+                ClientHelpers.setChunkDirty(world, chunkX, chunkZ);
             }
-        });
+        }
     }
-}
\ No newline at end of file
+}
@@ -39,7 +39,8 @@ public final class PacketHandler
     public static void init()
     {
         // Server -> Client
-        register(ChunkWatchPacket.class, ChunkWatchPacket::encode, ChunkWatchPacket::new, ChunkWatchPacket::handle);
+        register(ChunkWatchPacket.class, ChunkWatchPacket::encode, ChunkWatchPacket::decode, ChunkWatchPacket::handle);
+        register(ChunkDataBatchPacket.class, ChunkDataBatchPacket::encode, ChunkDataBatchPacket::decode, ChunkDataBatchPacket::handle);
         register(ChunkUnwatchPacket.class, ChunkUnwatchPacket::encode, ChunkUnwatchPacket::new, ChunkUnwatchPacket::handle);
         register(CalendarUpdatePacket.class, CalendarUpdatePacket::encode, CalendarUpdatePacket::new, CalendarUpdatePacket::handle);
         register(FoodDataReplacePacket.class, FoodDataReplacePacket::new, FoodDataReplacePacket::handle);
@@ -37,6 +37,11 @@ public class ItemDefinition
         return id;
     }
 
+    public Ingredient getIngredient()
+    {
+        return ingredient;
+    }
+
     public boolean matches(ItemStack stack)
     {
         return ingredient.test(stack);
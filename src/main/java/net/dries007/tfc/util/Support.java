@@ -6,18 +6,22 @@
 
 package net.dries007.tfc.util;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.BitSet;
 
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.GsonHelper;
 import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
 
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongList;
 import net.dries007.tfc.common.recipes.ingredients.BlockIngredient;
 import net.dries007.tfc.common.recipes.ingredients.BlockIngredients;
 import net.dries007.tfc.util.collections.IndirectHashCollection;
@@ -35,47 +39,118 @@ public final class Support
 
     /**
      * Finds all unsupported positions in a large area. It's more efficient than checking each block individually and calling {@link Support#isSupported(BlockGetter, BlockPos)}
+     *
+     * @return The unsupported positions, packed with {@link BlockPos#asLong(int, int, int)}, in order of increasing y, then z, then x.
      */
-    public static Set<BlockPos> findUnsupportedPositions(BlockGetter worldIn, BlockPos from, BlockPos to)
+    public static LongList findUnsupportedPositions(BlockGetter worldIn, BlockPos from, BlockPos to)
     {
-        Set<BlockPos> listSupported = new HashSet<>();
-        Set<BlockPos> listUnsupported = new HashSet<>();
-        int minX = Math.min(from.getX(), to.getX());
-        int maxX = Math.max(from.getX(), to.getX());
-        int minY = Math.min(from.getY(), to.getY());
-        int maxY = Math.max(from.getY(), to.getY());
-        int minZ = Math.min(from.getZ(), to.getZ());
-        int maxZ = Math.max(from.getZ(), to.getZ());
-        for (BlockPos searchingPoint : getMaximumSupportedAreaAround(new BlockPos(minX, minY, minZ), new BlockPos(maxX, maxY, maxZ)))
-        {
-            if (!listSupported.contains(searchingPoint))
-            {
-                listUnsupported.add(searchingPoint.immutable()); // Adding blocks that wasn't found supported
-            }
-            final BlockState supportState = worldIn.getBlockState(searchingPoint);
-            final Support support = get(supportState);
-            if (support != null)
+        final int minX = Math.min(from.getX(), to.getX());
+        final int maxX = Math.max(from.getX(), to.getX());
+        final int minY = Math.min(from.getY(), to.getY());
+        final int maxY = Math.max(from.getY(), to.getY());
+        final int minZ = Math.min(from.getZ(), to.getZ());
+        final int maxZ = Math.max(from.getZ(), to.getZ());
+
+        final int sizeX = maxX - minX + 1, sizeZ = maxZ - minZ + 1, size = sizeX * sizeZ * (maxY - minY + 1);
+
+        // Mark every position in the area supported by any support near the area, one bit per position, with runs along the x axis
+        final BitSet supported = new BitSet(size);
+        anySupportAround(worldIn, minX, minY, minZ, maxX, maxY, maxZ, (supportPos, support) -> {
+            final int x0 = Math.max(supportPos.getX() - support.supportHorizontal, minX), x1 = Math.min(supportPos.getX() + support.supportHorizontal, maxX);
+            final int y0 = Math.max(supportPos.getY() - support.supportDown, minY), y1 = Math.min(supportPos.getY() + support.supportUp, maxY);
+            final int z0 = Math.max(supportPos.getZ() - support.supportHorizontal, minZ), z1 = Math.min(supportPos.getZ() + support.supportHorizontal, maxZ);
+            if (x0 <= x1)
             {
-                for (BlockPos supported : support.getSupportedArea(searchingPoint))
+                for (int y = y0; y <= y1; y++)
                 {
-                    listSupported.add(supported.immutable()); // Adding all supported blocks by this support
-                    listUnsupported.remove(supported); // Remove if this block was added earlier
+                    for (int z = z0; z <= z1; z++)
+                    {
+                        final int index = (x0 - minX) + sizeX * ((z - minZ) + sizeZ * (y - minY));
+                        supported.set(index, index + x1 - x0 + 1);
+                    }
                 }
             }
+            return false;
+        });
+
+        // Everything in the area which wasn't marked is unsupported
+        final LongList unsupported = new LongArrayList(size - supported.cardinality());
+        for (int index = supported.nextClearBit(0); index < size; index = supported.nextClearBit(index + 1))
+        {
+            final int x = index % sizeX, z = (index / sizeX) % sizeZ, y = index / (sizeX * sizeZ);
+            unsupported.add(BlockPos.asLong(minX + x, minY + y, minZ + z));
         }
-        // Searching point wasn't from points between from <-> to but
-        // Time to remove the outsides that were added for convenience
-        listUnsupported.removeIf(content -> content.getX() < minX || content.getX() > maxX || content.getY() < minY || content.getY() > maxY || content.getZ() < minZ || content.getZ() > maxZ);
-        return listUnsupported;
+        return unsupported;
     }
 
     public static boolean isSupported(BlockGetter world, BlockPos pos)
     {
-        for (BlockPos supportPos : getMaximumSupportedAreaAround(pos, pos))
+        return anySupportAround(world, pos.getX(), pos.getY(), pos.getZ(), pos.getX(), pos.getY(), pos.getZ(), (supportPos, support) -> support.canSupport(supportPos, pos));
+    }
+
+    public static Iterable<BlockPos> getMaximumSupportedAreaAround(BlockPos minPoint, BlockPos maxPoint)
+    {
+        return BlockPos.betweenClosed(minPoint.offset(-RANGE.horizontal(), -RANGE.down(), -RANGE.horizontal()), maxPoint.offset(RANGE.horizontal(), RANGE.up(), RANGE.horizontal()));
+    }
+
+    /**
+     * Visits every support within the maximum support range of the area [min, max], until the visitor returns {@code true}.
+     * On the server, where all chunks in range are loaded, this only visits the supports in each chunk's {@link SupportIndex}. Otherwise, it checks every position in range.
+     *
+     * @return {@code true} if the visitor returned {@code true} for any support.
+     */
+    private static boolean anySupportAround(BlockGetter world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, SupportVisitor visitor)
+    {
+        final int x0 = minX - RANGE.horizontal(), y0 = minY - RANGE.down(), z0 = minZ - RANGE.horizontal();
+        final int x1 = maxX + RANGE.horizontal(), y1 = maxY + RANGE.up(), z1 = maxZ + RANGE.horizontal();
+
+        if (world instanceof Level level && !level.isClientSide())
         {
-            final BlockState supportState = world.getBlockState(supportPos);
-            final Support support = get(supportState);
-            if (support != null && support.canSupport(supportPos, pos))
+            final int minChunkX = SectionPos.blockToSectionCoord(x0), maxChunkX = SectionPos.blockToSectionCoord(x1);
+            final int minChunkZ = SectionPos.blockToSectionCoord(z0), maxChunkZ = SectionPos.blockToSectionCoord(z1);
+            final SupportIndex[] indexes = new SupportIndex[(maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1)];
+
+            int i = 0;
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++)
+            {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++)
+                {
+                    final SupportIndex index = SupportIndex.get(level, chunkX, chunkZ);
+                    if (index == null)
+                    {
+                        break; // Not loaded, so fall back to the full scan below
+                    }
+                    indexes[i++] = index;
+                }
+            }
+
+            if (i == indexes.length)
+            {
+                final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+                for (SupportIndex index : indexes)
+                {
+                    final LongIterator iterator = index.getPositions().iterator();
+                    while (iterator.hasNext())
+                    {
+                        cursor.set(iterator.nextLong());
+                        if (cursor.getX() >= x0 && cursor.getX() <= x1 && cursor.getY() >= y0 && cursor.getY() <= y1 && cursor.getZ() >= z0 && cursor.getZ() <= z1)
+                        {
+                            final Support support = get(level.getBlockState(cursor));
+                            if (support != null && visitor.visit(cursor, support))
+                            {
+                                return true;
+                            }
+                        }
+                    }
+                }
+                return false;
+            }
+        }
+
+        for (BlockPos supportPos : BlockPos.betweenClosed(x0, y0, z0, x1, y1, z1))
+        {
+            final Support support = get(world.getBlockState(supportPos));
+            if (support != null && visitor.visit(supportPos, support))
             {
                 return true;
             }
@@ -83,11 +158,6 @@ public final class Support
         return false;
     }
 
-    public static Iterable<BlockPos> getMaximumSupportedAreaAround(BlockPos minPoint, BlockPos maxPoint)
-    {
-        return BlockPos.betweenClosed(minPoint.offset(-RANGE.horizontal(), -RANGE.down(), -RANGE.horizontal()), maxPoint.offset(RANGE.horizontal(), RANGE.up(), RANGE.horizontal()));
-    }
-
     @Nullable
     public static Support get(BlockState state)
     {
@@ -113,6 +183,7 @@ public final class Support
         }
 
         RANGE = new SupportRange(up, down, horizontal);
+        SupportIndex.invalidateAll();
     }
 
     private final ResourceLocation id;
@@ -171,4 +242,14 @@ public final class Support
     }
 
     public record SupportRange(int up, int down, int horizontal) {}
+
+    @FunctionalInterface
+    interface SupportVisitor
+    {
+        /**
+         * @param supportPos The position of the support, which may be mutable.
+         * @return {@code true} to stop visiting supports.
+         */
+        boolean visit(BlockPos supportPos, Support support);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.dries007.tfc.world.chunkdata.ChunkData;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The positions of every support block (any block with a {@link Support}) within a single loaded chunk, on the logical server.
+ * <p>
+ * Indexes are stored on the chunk's {@link ChunkData}, so they are discarded when the chunk unloads. They are built lazily, the first time a chunk is queried, and afterwards kept up to date by {@link net.dries007.tfc.mixin.LevelChunkMixin}, on every block change. Since supports are data driven, all indexes are invalidated (and rebuilt when next queried) when supports are reloaded.
+ */
+public final class SupportIndex
+{
+    private static volatile int generation = 0;
+
+    /**
+     * Called after supports are reloaded, as any block may have become, or stopped being, a support.
+     */
+    public static void invalidateAll()
+    {
+        generation++;
+    }
+
+    /**
+     * @return The index for the chunk at the given chunk position, or {@code null} if that chunk is not currently loaded.
+     */
+    @Nullable
+    public static SupportIndex get(Level level, int chunkX, int chunkZ)
+    {
+        return level.getChunkSource().getChunkNow(chunkX, chunkZ) instanceof LevelChunk chunk ? get(chunk) : null;
+    }
+
+    @Nullable
+    public static SupportIndex get(LevelChunk chunk)
+    {
+        final ChunkData data = ChunkData.getCapability(chunk).orElse(ChunkData.EMPTY);
+        if (data == ChunkData.EMPTY)
+        {
+            return null;
+        }
+        SupportIndex index = data.getSupportIndex();
+        if (index == null || index.generation != generation)
+        {
+            index = new SupportIndex(chunk);
+            data.setSupportIndex(index);
+        }
+        return index;
+    }
+
+    /**
+     * Called after a block changes in a chunk on the logical server. Only indexes which have already been built are updated.
+     */
+    public static void onBlockChanged(LevelChunk chunk, BlockPos pos, BlockState oldState, BlockState newState)
+    {
+        if (Support.get(oldState) != null || Support.get(newState) != null)
+        {
+            final ChunkData data = ChunkData.getCapability(chunk).orElse(ChunkData.EMPTY);
+            final SupportIndex index = data.getSupportIndex();
+            if (index != null && index.generation == generation)
+            {
+                // Query the current state, as this may be called after nested block changes at the same position
+                final long key = pos.asLong();
+                if (Support.get(chunk.getBlockState(pos)) != null)
+                {
+                    index.positions.add(key);
+                }
+                else
+                {
+                    index.positions.remove(key);
+                }
+            }
+        }
+    }
+
+    private final LongSet positions;
+    private final int generation;
+
+    private SupportIndex(LevelChunk chunk)
+    {
+        this.positions = new LongOpenHashSet();
+        this.generation = SupportIndex.generation;
+
+        final int minX = chunk.getPos().getMinBlockX(), minZ = chunk.getPos().getMinBlockZ();
+        for (LevelChunkSection section : chunk.getSections())
+        {
+            // Most sections contain no supports at all, which can be checked quickly against the palette
+            if (section.hasOnlyAir() || !section.maybeHas(state -> Support.get(state) != null))
+            {
+                continue;
+            }
+            final int minY = section.bottomBlockY();
+            for (int y = 0; y < 16; y++)
+            {
+                for (int z = 0; z < 16; z++)
+                {
+                    for (int x = 0; x < 16; x++)
+                    {
+                        if (Support.get(section.getBlockState(x, y, z)) != null)
+                        {
+                            positions.add(BlockPos.asLong(minX + x, minY + y, minZ + z));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The positions of all support blocks in this chunk, as packed {@link BlockPos#asLong()} values.
+     */
+    public LongSet getPositions()
+    {
+        return positions;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util.calendar;
+
+import net.dries007.tfc.config.TFCConfig;
+
+/**
+ * Limits the time spent on {@link ICalendarTickable#onCalendarUpdate(long)} catch-ups in a single server tick.
+ * <p>
+ * When a large number of block entities need to catch up at once (i.e. when many chunks are loaded after a long time, or after a time skip), only as many as fit in the per-tick budget are caught up, and the rest are deferred. A deferred block entity does nothing until it is caught up, on a later tick, so it never observes an inconsistent state: since its last update tick is not modified, the eventual catch-up includes the ticks it spent waiting.
+ * At least one catch-up is performed every tick, so every block entity is eventually caught up.
+ * <p>
+ * Only accessed from the server thread.
+ */
+public final class CalendarCatchUp
+{
+    private static long spentNanos, processed, deferred, deferredTicks;
+    private static long lastTickProcessed, lastTickDeferred, lastTickDeferredTicks;
+    private static long totalProcessed, totalDeferred;
+
+    /**
+     * Called at the start of each server tick.
+     */
+    public static void onServerTick()
+    {
+        lastTickProcessed = processed;
+        lastTickDeferred = deferred;
+        lastTickDeferredTicks = deferredTicks;
+        spentNanos = processed = deferred = deferredTicks = 0;
+    }
+
+    /**
+     * @param ticks The number of ticks the block entity needs to catch up.
+     * @return {@code true} if the catch-up may be performed now, otherwise it is deferred.
+     */
+    public static boolean tryBegin(long ticks)
+    {
+        final long budgetMicros = TFCConfig.SERVER.calendarCatchUpBudget.get();
+        if (budgetMicros > 0 && processed > 0 && spentNanos >= budgetMicros * 1000)
+        {
+            deferred++;
+            deferredTicks += ticks;
+            totalDeferred++;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Called after a catch-up allowed by {@link #tryBegin(long)} is completed.
+     *
+     * @param startNanos The value of {@link System#nanoTime()} when the catch-up started.
+     */
+    public static void end(long startNanos)
+    {
+        spentNanos += System.nanoTime() - startNanos;
+        processed++;
+        totalProcessed++;
+    }
+
+    /**
+     * @return The number of block entities which were caught up during the last tick.
+     */
+    public static long lastTickProcessed()
+    {
+        return lastTickProcessed;
+    }
+
+    /**
+     * @return The number of block entities which were waiting to be caught up during the last tick, i.e. the queue depth.
+     */
+    public static long lastTickDeferred()
+    {
+        return lastTickDeferred;
+    }
+
+    /**
+     * @return The total number of ticks of catch-up which were waiting during the last tick, i.e. the backlog.
+     */
+    public static long lastTickDeferredTicks()
+    {
+        return lastTickDeferredTicks;
+    }
+
+    public static long totalProcessed()
+    {
+        return totalProcessed;
+    }
+
+    public static long totalDeferred()
+    {
+        return totalDeferred;
+    }
+}
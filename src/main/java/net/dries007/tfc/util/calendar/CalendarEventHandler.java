@@ -70,6 +70,7 @@ public class CalendarEventHandler
         if (event.phase == TickEvent.Phase.START)
         {
             Calendars.SERVER.onServerTick();
+            CalendarCatchUp.onServerTick();
         }
     }
 
@@ -6,6 +6,7 @@
 
 package net.dries007.tfc.util.calendar;
 
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.block.entity.BlockEntity;
 
 /**
@@ -20,9 +21,11 @@ public interface ICalendarTickable
     /**
      * Here we check every tick for a calendar discrepancy. This only checks for differences in player time, and calls {@link ICalendarTickable#onCalendarUpdate(long playerTickDelta)} as necessary.
      * <p>
-     * Implementations MUST call {@code checkForCalendarUpdate()} in their {@code serverTick} method.
+     * Implementations MUST call {@code checkForCalendarUpdate()} in their {@code serverTick} method, and MUST skip the rest of their tick if it returns {@code false}.
+     *
+     * @return {@code false} if a catch-up was needed, but has been deferred to a later tick by {@link CalendarCatchUp}. In this case the block entity has not been updated, and should not tick.
      */
-    default void checkForCalendarUpdate()
+    default boolean checkForCalendarUpdate()
     {
         final BlockEntity entity = ((BlockEntity) this);
         if (entity.getLevel() != null && !entity.getLevel().isClientSide())
@@ -30,13 +33,52 @@ public interface ICalendarTickable
             final long thisTick = Calendars.SERVER.getTicks();
             final long lastTick = getLastUpdateTick();
             final long tickDelta = thisTick - lastTick;
-            if (lastTick != Integer.MIN_VALUE && tickDelta != 1)
+            if (lastTick != Integer.MIN_VALUE && tickDelta > 1 && !CalendarCatchUp.tryBegin(tickDelta - 1))
             {
-                onCalendarUpdate(tickDelta - 1);
+                return false;
             }
+
+            // Update the last tick before catching up, so any access to this block entity during the catch-up (i.e. via a capability) does not start another one
             setLastUpdateTick(thisTick);
+            if (lastTick != Integer.MIN_VALUE && tickDelta != 1)
+            {
+                if (tickDelta > 1)
+                {
+                    final long startNanos = System.nanoTime();
+                    onCalendarUpdate(tickDelta - 1);
+                    CalendarCatchUp.end(startNanos);
+                }
+                else
+                {
+                    onCalendarUpdate(tickDelta - 1);
+                }
+            }
             markDirty();
         }
+        return true;
+    }
+
+    /**
+     * Immediately performs any catch-up which is pending (i.e. deferred by {@link CalendarCatchUp}), up until the previous tick. This must be called before the block entity is accessed outside of its own tick, such as when a player interacts with it, it is broken, or any of its capabilities are queried.
+     * This does nothing if called off the server thread, or during a catch-up.
+     */
+    default void forceCalendarUpdate()
+    {
+        final BlockEntity entity = ((BlockEntity) this);
+        if (entity.getLevel() instanceof ServerLevel level && level.getServer().isSameThread())
+        {
+            final long thisTick = Calendars.SERVER.getTicks();
+            final long lastTick = getLastUpdateTick();
+            final long tickDelta = thisTick - lastTick;
+            if (lastTick != Integer.MIN_VALUE && tickDelta > 1)
+            {
+                // Catch up to the previous tick, so the next call to checkForCalendarUpdate() in this tick sees a delta of one.
+                // The last tick is updated first, so any access during the catch-up does not start another one.
+                setLastUpdateTick(thisTick - 1);
+                onCalendarUpdate(tickDelta - 1);
+                markDirty();
+            }
+        }
     }
 
     /**
@@ -27,6 +27,7 @@ import net.dries007.tfc.util.calendar.Calendars;
 import net.dries007.tfc.util.calendar.ICalendar;
 import net.dries007.tfc.util.events.SelectClimateModelEvent;
 import net.dries007.tfc.util.tracker.WorldTracker;
+import net.dries007.tfc.util.tracker.WorldTrackerBridge;
 import net.dries007.tfc.util.tracker.WorldTrackerCapability;
 import net.dries007.tfc.world.chunkdata.ChunkData;
 import net.dries007.tfc.world.chunkdata.ChunkDataProvider;
@@ -96,6 +97,18 @@ public final class Climate
         return model(level).getRainfall(level, pos);
     }
 
+    /**
+     * Samples the current temperature, average temperature, and rainfall at a position, in a single query.
+     *
+     * @param into A sample to write into, which is returned.
+     */
+    public static ClimateSample sample(Level level, BlockPos pos, ClimateSample into)
+    {
+        final ICalendar calendar = Calendars.get(level);
+        model(level).sample(level, pos, calendar.getCalendarTicks(), calendar.getCalendarDaysInMonth(), into);
+        return into;
+    }
+
     public static float getFogginess(Level level, BlockPos pos)
     {
         return model(level).getFogginess(level, pos, Calendars.get(level).getTicks());
@@ -186,8 +199,18 @@ public final class Climate
 
     public static ClimateModel model(Level level)
     {
-        return level.getCapability(WorldTrackerCapability.CAPABILITY)
-            .map(WorldTracker::getClimateModel)
-            .orElse(ClimateModels.BIOME_BASED.get().create());
+        // The world tracker is cached on the level, as this is queried very frequently
+        final WorldTrackerBridge bridge = (WorldTrackerBridge) level;
+        WorldTracker tracker = bridge.tfc$getWorldTracker();
+        if (tracker == null)
+        {
+            tracker = level.getCapability(WorldTrackerCapability.CAPABILITY).resolve().orElse(null);
+            if (tracker == null)
+            {
+                return BiomeBasedClimateModel.INSTANCE;
+            }
+            bridge.tfc$setWorldTracker(tracker);
+        }
+        return tracker.getClimateModel();
     }
 }
@@ -54,6 +54,14 @@ public interface ClimateModel
      */
     float getRainfall(LevelReader level, BlockPos pos);
 
+    /**
+     * Samples the temperature, average temperature, and rainfall at a position, at once. Models which can share work between these, such as looking up chunk data, should override this.
+     */
+    default void sample(LevelReader level, BlockPos pos, long calendarTicks, int daysInMonth, ClimateSample into)
+    {
+        into.set(getTemperature(level, pos, calendarTicks, daysInMonth), getAverageTemperature(level, pos), getRainfall(level, pos));
+    }
+
     /**
      * @return A value in the range [0, 1] scaling the sky fog as a % of the render distance
      */
@@ -0,0 +1,49 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util.climate;
+
+/**
+ * The temperature, average temperature, and rainfall at a single position, as sampled by {@link Climate#sample}.
+ * Samples are mutable and intended to be reused by the caller, so querying climate does not need to allocate.
+ */
+public final class ClimateSample
+{
+    private float temperature;
+    private float averageTemperature;
+    private float rainfall;
+
+    public void set(float temperature, float averageTemperature, float rainfall)
+    {
+        this.temperature = temperature;
+        this.averageTemperature = averageTemperature;
+        this.rainfall = rainfall;
+    }
+
+    /**
+     * @see ClimateModel#getTemperature
+     */
+    public float temperature()
+    {
+        return temperature;
+    }
+
+    /**
+     * @see ClimateModel#getAverageTemperature
+     */
+    public float averageTemperature()
+    {
+        return averageTemperature;
+    }
+
+    /**
+     * @see ClimateModel#getRainfall
+     */
+    public float rainfall()
+    {
+        return rainfall;
+    }
+}
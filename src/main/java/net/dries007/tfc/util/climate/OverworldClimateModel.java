@@ -80,6 +80,8 @@ public class OverworldClimateModel implements WorldGenClimateModel
     public static final float FOGGY_RAINFALL_MINIMUM = 150f;
     public static final float FOGGY_RAINFALL_PEAK = 300f;
 
+    private static final int DAILY_TEMPERATURE_CACHE_SIZE = 32; // Must be a power of two
+
     @Override
     public ClimateModelType type()
     {
@@ -108,6 +110,13 @@ public class OverworldClimateModel implements WorldGenClimateModel
     private ClimateSettings temperatureSettings = ClimateSettings.DEFAULT;
     private long climateSeed = 0;
 
+    /**
+     * The daily temperature only changes each hour, and is expensive to compute, so it is cached for the most recently queried hours, indexed by the hour.
+     * This covers every query in a tick (random ticks, rain checks, plant growth), and callers which query several times at once (crops catching up on growth).
+     * Entries are immutable and keyed by the climate seed, so they may be read and replaced from any thread, and never need to be cleared.
+     */
+    private final DailyTemperature[] dailyTemperatures = new DailyTemperature[DAILY_TEMPERATURE_CACHE_SIZE];
+
     // For world generation climate
     private Noise2D snowPatchNoise = (x, z) -> 0;
     private Noise2D icePatchNoise = (x, z) -> 0;
@@ -130,9 +139,7 @@ public class OverworldClimateModel implements WorldGenClimateModel
         final float monthFactor = Mth.lerp(delta, currentMonth.getTemperatureModifier(), currentMonth.next().getTemperatureModifier());
 
         final float monthTemperature = calculateMonthlyTemperature(pos.getZ(), monthFactor);
-        final float dailyTemperature = calculateDailyTemperature(calendarTicks);
-
-        return adjustTemperatureByElevation(pos.getY(), data.getAverageTemp(pos), monthTemperature, dailyTemperature);
+        return adjustTemperatureByElevation(pos.getY(), data.getAverageTemp(pos), monthTemperature, getDailyTemperature(calendarTicks));
     }
 
     @Override
@@ -148,6 +155,13 @@ public class OverworldClimateModel implements WorldGenClimateModel
         return data.getRainfall(pos);
     }
 
+    @Override
+    public void sample(LevelReader level, BlockPos pos, long calendarTicks, int daysInMonth, ClimateSample into)
+    {
+        final ChunkData data = ChunkData.get(level, pos);
+        into.set(getTemperature(level, pos, data, calendarTicks, daysInMonth), data.getAverageTemp(pos), data.getRainfall(pos));
+    }
+
     @Override
     public float getFogginess(LevelReader level, BlockPos pos, long calendarTime)
     {
@@ -398,10 +412,30 @@ public class OverworldClimateModel implements WorldGenClimateModel
         return ((random.nextFloat() - random.nextFloat()) + 0.3f * hourModifier) * 3f;
     }
 
+    /**
+     * @return The daily temperature, see {@link #calculateDailyTemperature(long)}, computed at most once per hour.
+     */
+    protected float getDailyTemperature(long calendarTime)
+    {
+        final long hour = calendarTime / ICalendar.TICKS_IN_HOUR;
+        final int index = (int) (hour & (DAILY_TEMPERATURE_CACHE_SIZE - 1));
+        final long seed = climateSeed;
+
+        DailyTemperature entry = dailyTemperatures[index];
+        if (entry == null || entry.hour != hour || entry.seed != seed)
+        {
+            entry = new DailyTemperature(seed, hour, calculateDailyTemperature(calendarTime));
+            dailyTemperatures[index] = entry;
+        }
+        return entry.temperature;
+    }
+
     protected Random seededRandom(long day, long salt)
     {
         long seed = LinearCongruentialGenerator.next(climateSeed, day);
         seed = LinearCongruentialGenerator.next(seed, salt);
         return new Random(seed);
     }
+
+    private record DailyTemperature(long seed, long hour, float temperature) {}
 }
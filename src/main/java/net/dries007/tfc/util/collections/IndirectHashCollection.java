@@ -35,18 +35,26 @@ public class IndirectHashCollection<K, R>
     private static final Map<IndirectHashCollection<?, ?>, Supplier<Collection<?>>> DIRECT_CACHES = new HashMap<>();
     private static final Map<IndirectHashCollection<?, ?>, Supplier<RecipeType<?>>> RECIPE_CACHES = new HashMap<>();
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
     public static <K, R> IndirectHashCollection<K, R> create(Function<R, Iterable<? extends K>> keyExtractor, Supplier<Collection<R>> reloadableCollection)
     {
-        final IndirectHashCollection<K, R> cache = new IndirectHashCollection<>(keyExtractor);
+        return register(new IndirectHashCollection<K, R>(keyExtractor), reloadableCollection);
+    }
+
+    public static <C extends Container, K, R extends Recipe<C>> IndirectHashCollection<K, R> createForRecipe(Function<R, Iterable<? extends K>> keyExtractor, Supplier<RecipeType<R>> recipeType)
+    {
+        return registerForRecipe(new IndirectHashCollection<K, R>(keyExtractor), recipeType);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <T extends IndirectHashCollection<?, R>, R> T register(T cache, Supplier<Collection<R>> reloadableCollection)
+    {
         DIRECT_CACHES.put(cache, (Supplier) reloadableCollection);
         return cache;
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
-    public static <C extends Container, K, R extends Recipe<C>> IndirectHashCollection<K, R> createForRecipe(Function<R, Iterable<? extends K>> keyExtractor, Supplier<RecipeType<R>> recipeType)
+    static <T extends IndirectHashCollection<?, R>, C extends Container, R extends Recipe<C>> T registerForRecipe(T cache, Supplier<RecipeType<R>> recipeType)
     {
-        final IndirectHashCollection<K, R> cache = new IndirectHashCollection<>(keyExtractor);
         RECIPE_CACHES.put(cache, (Supplier) recipeType);
         return cache;
     }
@@ -68,7 +76,7 @@ public class IndirectHashCollection<K, R>
         cache.reload(Helpers.getRecipes(manager, recipe).values());
     }
 
-    private final Map<K, Collection<R>> indirectResultMap;
+    protected final Map<K, Collection<R>> indirectResultMap;
     private final Function<R, Iterable<? extends K>> keyExtractor;
 
     public IndirectHashCollection(Function<R, Iterable<? extends K>> keyExtractor)
@@ -0,0 +1,164 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util.collections;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import net.minecraft.world.Container;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeType;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An {@link IndirectHashCollection} keyed by item, which can find the first value matching a stack without any allocation, and in most cases without testing any ingredients.
+ * <p>
+ * When the collection is reloaded, the candidates for each item are precomputed. A candidate with a simple ingredient (see {@link Ingredient#isSimple()}) matches every stack of that item, regardless of NBT, so any candidates after it are never reached. If the first candidate for an item is simple, which is true for almost all items, a query is just a map lookup. Otherwise, only the candidates before the first simple one need their ingredients tested.
+ */
+public class IndirectItemCollection<R> extends IndirectHashCollection<Item, R>
+{
+    private static final List<IndirectItemCollection<?>> ALL = new ArrayList<>();
+
+    public static <R> IndirectItemCollection<R> create(String name, Function<R, Ingredient> ingredient, Supplier<Collection<R>> reloadableCollection)
+    {
+        return register(new IndirectItemCollection<>(name, ingredient), reloadableCollection);
+    }
+
+    public static <C extends Container, R extends Recipe<C>> IndirectItemCollection<R> createForRecipe(String name, Function<R, Ingredient> ingredient, Supplier<RecipeType<R>> recipeType)
+    {
+        return registerForRecipe(new IndirectItemCollection<>(name, ingredient), recipeType);
+    }
+
+    /**
+     * @return All item collections, for reporting their statistics.
+     */
+    public static List<IndirectItemCollection<?>> getAll()
+    {
+        return ALL;
+    }
+
+    private final String name;
+    private final Function<R, Ingredient> ingredient;
+    private volatile Map<Item, Candidates<R>> candidates;
+
+    // Statistics, which may be updated concurrently from both logical sides
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder tested = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private IndirectItemCollection(String name, Function<R, Ingredient> ingredient)
+    {
+        super(value -> getItems(ingredient.apply(value)));
+
+        this.name = name;
+        this.ingredient = ingredient;
+        this.candidates = new Reference2ObjectOpenHashMap<>();
+
+        ALL.add(this);
+    }
+
+    /**
+     * @return The first value whose ingredient matches {@code stack}, or {@code null} if none do. Equivalent to testing every value in {@link #getAll(Object)} in order.
+     */
+    @Nullable
+    public R get(ItemStack stack)
+    {
+        final Candidates<R> found = candidates.get(stack.getItem());
+        if (found == null)
+        {
+            misses.increment();
+            return null;
+        }
+        final List<R> values = found.tested;
+        if (values.isEmpty())
+        {
+            hits.increment();
+            return found.first;
+        }
+        tested.increment();
+        for (int i = 0; i < values.size(); i++) // Indexed, to avoid allocating an iterator
+        {
+            final R value = values.get(i);
+            if (ingredient.apply(value).test(stack))
+            {
+                return value;
+            }
+        }
+        return found.first;
+    }
+
+    @Override
+    public void reload(Collection<R> values)
+    {
+        super.reload(values);
+
+        final Map<Item, Candidates<R>> candidates = new Reference2ObjectOpenHashMap<>(indirectResultMap.size());
+        indirectResultMap.forEach((item, results) -> {
+            final List<R> tested = new ArrayList<>();
+            R first = null;
+            for (R result : results)
+            {
+                if (ingredient.apply(result).isSimple())
+                {
+                    first = result;
+                    break;
+                }
+                tested.add(result);
+            }
+            candidates.put(item, new Candidates<>(tested.isEmpty() ? List.of() : tested, first));
+        });
+        this.candidates = candidates;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * @return The number of queries resolved by item alone.
+     */
+    public long hits()
+    {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of queries which needed to test at least one ingredient.
+     */
+    public long tested()
+    {
+        return tested.sum();
+    }
+
+    /**
+     * @return The number of queries for items with no candidates at all.
+     */
+    public long misses()
+    {
+        return misses.sum();
+    }
+
+    private static Set<Item> getItems(Ingredient ingredient)
+    {
+        return Arrays.stream(ingredient.getItems()).map(ItemStack::getItem).collect(Collectors.toSet());
+    }
+
+    /**
+     * @param tested The candidates which need their ingredient tested against the stack, in order.
+     * @param first The candidate which matches if none of {@code tested} do, or {@code null}.
+     */
+    private record Candidates<R>(List<R> tested, @Nullable R first) {}
+}
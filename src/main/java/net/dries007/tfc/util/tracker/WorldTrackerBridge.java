@@ -0,0 +1,25 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util.tracker;
+
+import net.minecraft.world.level.Level;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The bridge interface for levels, allowing them to cache their {@link WorldTracker}, which is otherwise resolved through a capability lookup on every climate query.
+ * Do not call directly.
+ *
+ * @see net.dries007.tfc.util.climate.Climate#model(Level)
+ */
+public interface WorldTrackerBridge
+{
+    @Nullable
+    WorldTracker tfc$getWorldTracker();
+
+    void tfc$setWorldTracker(WorldTracker tracker);
+}
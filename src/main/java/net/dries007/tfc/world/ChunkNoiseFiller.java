@@ -10,6 +10,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 import net.minecraft.Util;
 import net.minecraft.core.BlockPos;
@@ -27,6 +30,7 @@ import net.minecraft.world.level.levelgen.Heightmap;
 import net.minecraft.world.level.material.FluidState;
 import net.minecraft.world.level.material.Fluids;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
 import net.dries007.tfc.common.fluids.RiverWaterFluid;
 import net.dries007.tfc.common.fluids.TFCFluids;
@@ -38,6 +42,7 @@ import net.dries007.tfc.world.noise.ChunkNoiseSamplingSettings;
 import net.dries007.tfc.world.noise.NoiseSampler;
 import net.dries007.tfc.world.noise.TrilinearInterpolator;
 import net.dries007.tfc.world.river.Flow;
+import org.jetbrains.annotations.Nullable;
 
 public class ChunkNoiseFiller extends ChunkHeightFiller
 {
@@ -78,6 +83,7 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
 
     // Noise interpolation
     private final ChunkNoiseSamplingSettings settings;
+    private final NoiseSampler sampler;
     private final List<TrilinearInterpolator> interpolators;
 
     // Noise Caves
@@ -89,6 +95,10 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
     private final TrilinearInterpolator noodleRidgeA;
     private final TrilinearInterpolator noodleRidgeB;
 
+    // Interpolated noise values for the current column, one array per interpolator, indexed by cellY * cellHeight + localCellY
+    private final double[] noiseCavesColumn;
+    private final double[] noodleToggleColumn, noodleThicknessColumn, noodleRidgeAColumn, noodleRidgeBColumn;
+
     // Aquifer + Noise -> BlockState
     private final TFCAquifer aquifer;
     private final ChunkBaseBlockSource baseBlockSource;
@@ -98,6 +108,9 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
     private final Biome[] localBiomes; // 16x16, block pos resolution
     private final double[] localBiomeWeights; // 16x16, block pos resolution
 
+    // When filling in parallel, writes to the chunk are recorded here, and applied by the parent filler
+    @Nullable private final RecordedWrites writes;
+
     // Current local position / context
     private int blockX, blockZ; // Absolute x/z positions
     private int localX, localZ; // Chunk-local x/z
@@ -124,6 +137,7 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
         this.flows = buildFlowMap();
 
         this.settings = settings;
+        this.sampler = sampler;
         this.interpolators = new ArrayList<>();
         this.baseBlockSource = baseBlockSource;
 
@@ -136,6 +150,12 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
         this.noodleRidgeA = addInterpolator(sampler.noodleRidgeA);
         this.noodleRidgeB = addInterpolator(sampler.noodleRidgeB);
 
+        this.noiseCavesColumn = new double[settings.cellCountY() * settings.cellHeight()];
+        this.noodleToggleColumn = new double[settings.cellCountY() * settings.cellHeight()];
+        this.noodleThicknessColumn = new double[settings.cellCountY() * settings.cellHeight()];
+        this.noodleRidgeAColumn = new double[settings.cellCountY() * settings.cellHeight()];
+        this.noodleRidgeBColumn = new double[settings.cellCountY() * settings.cellHeight()];
+
         // Aquifer
         this.aquifer = new TFCAquifer(chunk.getPos(), settings, baseBlockSource, seaLevel, sampler.positionalRandomFactory, sampler.barrierNoise);
 
@@ -144,6 +164,62 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
         this.surfaceHeight = new int[16 * 16];
         this.localBiomes = new Biome[16 * 16];
         this.localBiomeWeights = new double[16 * 16];
+
+        this.writes = null;
+    }
+
+    /**
+     * Creates a filler for part of the same chunk as {@code parent}, which can run concurrently with other parts.
+     * It has its own interpolators, aquifer, and biome noise samplers, as they are all stateful. It shares the per-column arrays (surface height and biomes) with the parent, as each column is only ever filled by a single filler.
+     * Any writes to the chunk are recorded, and applied later by the parent.
+     */
+    private ChunkNoiseFiller(ChunkNoiseFiller parent, Map<BiomeExtension, BiomeNoiseSampler> biomeNoiseSamplers)
+    {
+        super(biomeNoiseSamplers, parent.sampledBiomeWeights);
+
+        this.level = parent.level;
+        this.chunk = parent.chunk;
+        this.chunkMinX = parent.chunkMinX;
+        this.chunkMinZ = parent.chunkMinZ;
+        this.quartX = parent.quartX;
+        this.quartZ = parent.quartZ;
+        this.oceanFloor = parent.oceanFloor;
+        this.worldSurface = parent.worldSurface;
+        this.airCarvingMask = parent.airCarvingMask;
+        this.seaLevel = parent.seaLevel;
+
+        this.riverSource = parent.riverSource;
+        this.riverWater = parent.riverWater;
+        this.flows = parent.flows;
+
+        this.settings = parent.settings;
+        this.sampler = parent.sampler;
+        this.interpolators = new ArrayList<>();
+        this.baseBlockSource = parent.baseBlockSource;
+
+        this.noiseCaves = addInterpolator(sampler.noiseCaves);
+
+        this.noodleToggle = addInterpolator(sampler.noodleToggle);
+        this.noodleThickness = addInterpolator(sampler.noodleThickness);
+        this.noodleRidgeA = addInterpolator(sampler.noodleRidgeA);
+        this.noodleRidgeB = addInterpolator(sampler.noodleRidgeB);
+
+        this.noiseCavesColumn = new double[settings.cellCountY() * settings.cellHeight()];
+        this.noodleToggleColumn = new double[settings.cellCountY() * settings.cellHeight()];
+        this.noodleThicknessColumn = new double[settings.cellCountY() * settings.cellHeight()];
+        this.noodleRidgeAColumn = new double[settings.cellCountY() * settings.cellHeight()];
+        this.noodleRidgeBColumn = new double[settings.cellCountY() * settings.cellHeight()];
+
+        this.aquifer = new TFCAquifer(chunk.getPos(), settings, baseBlockSource, seaLevel, sampler.positionalRandomFactory, sampler.barrierNoise);
+        this.aquifer.setSurfaceHeights(parent.aquifer.getSurfaceHeights());
+
+        this.biomeResolver = parent.biomeResolver;
+
+        this.surfaceHeight = parent.surfaceHeight;
+        this.localBiomes = parent.localBiomes;
+        this.localBiomeWeights = parent.localBiomeWeights;
+
+        this.writes = new RecordedWrites(chunk.getMinBuildHeight());
     }
 
     public TFCAquifer aquifer()
@@ -246,10 +322,40 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
      */
     public void fillFromNoise()
     {
+        fillCellsX(0, settings.cellCountXZ());
+    }
 
-        initializeForFirstCellX();
-        final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+    /**
+     * Fills the entire chunk, with one task per cell x, run on {@code executor}.
+     * Each task samples noise independently and records its writes to the chunk. Once all tasks are complete, the writes are applied in the same order that {@link #fillFromNoise()} would have made them, so the result is identical.
+     * The returned future completes on whichever thread finished the last task.
+     *
+     * @param biomeNoiseSamplers A factory for biome noise samplers for this chunk. Each task requires its own, as they are stateful.
+     */
+    public CompletableFuture<Void> fillFromNoise(Executor executor, Supplier<Map<BiomeExtension, BiomeNoiseSampler>> biomeNoiseSamplers)
+    {
+        final List<CompletableFuture<RecordedWrites>> tasks = new ArrayList<>(settings.cellCountXZ());
         for (int cellX = 0; cellX < settings.cellCountXZ(); cellX++)
+        {
+            final int taskCellX = cellX;
+            tasks.add(CompletableFuture.supplyAsync(() -> {
+                final ChunkNoiseFiller filler = new ChunkNoiseFiller(this, biomeNoiseSamplers.get());
+                filler.fillCellsX(taskCellX, taskCellX + 1);
+                return filler.writes;
+            }, executor));
+        }
+        return CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+            .thenRun(() -> tasks.forEach(task -> applyWrites(task.join())));
+    }
+
+    /**
+     * Fills all columns within cell x in [fromCellX, toCellX)
+     */
+    private void fillCellsX(int fromCellX, int toCellX)
+    {
+        initializeForCellX(fromCellX);
+        final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+        for (int cellX = fromCellX; cellX < toCellX; cellX++)
         {
             advanceCellX(cellX);
             for (int cellZ = 0; cellZ < settings.cellCountXZ(); cellZ++)
@@ -276,7 +382,6 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
             }
             swapSlices();
         }
-
     }
 
     /**
@@ -366,12 +471,11 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
         boolean topBlockPlaced = false;
         boolean topSolidBlockPlaced = false;
 
+        sampleColumn(maxFilledCellY);
+
         LevelChunkSection section = chunk.getSection(maxFilledSectionY);
         for (int cellY = maxFilledCellY; cellY >= 0; --cellY)
         {
-            selectCellYZ(cellY, lastCellZ);
-            updateForXZ(cellDeltaX, cellDeltaZ);
-
             for (int localCellY = settings.cellHeight() - 1; localCellY >= 0; --localCellY)
             {
                 final int y = (settings.firstCellY() + cellY) * settings.cellHeight() + localCellY;
@@ -388,10 +492,6 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
                     section = chunk.getSection(sectionIndex);
                 }
 
-                final double cellDeltaY = (double) localCellY / settings.cellHeight();
-
-                updateForY(cellDeltaY);
-
                 final double noise = calculateNoiseAtHeight(y, heightNoiseValue);
                 final BlockState state = calculateBlockStateAtNoise(blockX, y, blockZ, noise);
                 final FluidState fluid = state.getFluidState();
@@ -399,7 +499,7 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
                 if (debugFillColumn && y < heightNoiseValue && noise < 0)
                 {
                     // Below surface height, that has been carved out by BiomeNoiseSampler carving (not caves)
-                    section.setBlockState(localX, localY, localZ, Blocks.RED_STAINED_GLASS.defaultBlockState(), false);
+                    setBlockState(section, y, Blocks.RED_STAINED_GLASS.defaultBlockState());
                 }
 
                 // Set block
@@ -410,7 +510,7 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
                     if (fluid.getType() == Fluids.WATER && flow != Flow.NONE && y >= Math.min(seaLevel - 4, heightNoiseValue))
                     {
                         // Place a flowing fluid block according to the river flow at this location
-                        section.setBlockState(localX, localY, localZ, debugFillColumn ? Blocks.BLUE_STAINED_GLASS.defaultBlockState() : riverWater.setValue(RiverWaterFluid.FLOW, flow).createLegacyBlock(), false);
+                        setBlockState(section, y, debugFillColumn ? Blocks.BLUE_STAINED_GLASS.defaultBlockState() : riverWater.setValue(RiverWaterFluid.FLOW, flow).createLegacyBlock());
                     }
                     else
                     {
@@ -418,27 +518,27 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
                         {
                             if (fluid.getType() == Fluids.WATER)
                             {
-                                section.setBlockState(localX, localY, localZ, Blocks.LIGHT_BLUE_STAINED_GLASS.defaultBlockState(), false);
+                                setBlockState(section, y, Blocks.LIGHT_BLUE_STAINED_GLASS.defaultBlockState());
                             }
                             else if (fluid.getType() == Fluids.LAVA)
                             {
-                                section.setBlockState(localX, localY, localZ, Blocks.ORANGE_STAINED_GLASS.defaultBlockState(), false);
+                                setBlockState(section, y, Blocks.ORANGE_STAINED_GLASS.defaultBlockState());
                             }
                         }
                         else
                         {
-                            section.setBlockState(localX, localY, localZ, state, false);
+                            setBlockState(section, y, state);
                         }
                     }
                     if (aquifer.shouldScheduleFluidUpdate() && !fluid.isEmpty())
                     {
-                        chunk.markPosForPostprocessing(cursor);
+                        markPosForPostprocessing(cursor);
                     }
 
                     // Handle lava
                     if (state.getLightEmission() != 0)
                     {
-                        chunk.addLight(cursor);
+                        addLight(cursor);
                     }
                 }
 
@@ -448,17 +548,17 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
                     if (topSolidBlockPlaced)
                     {
                         // Air under solid blocks, so mark as carved, and replace with cave air
-                        airCarvingMask.set(blockX, y, blockZ);
+                        markCarved(y);
                         if (debugFillColumn)
                         {
                             if (section.getBlockState(localX, localY, localZ).isAir())
                             {
-                                section.setBlockState(localX, localY, localZ, Blocks.LIGHT_GRAY_STAINED_GLASS.defaultBlockState(), false);
+                                setBlockState(section, y, Blocks.LIGHT_GRAY_STAINED_GLASS.defaultBlockState());
                             }
                         }
                         else
                         {
-                            section.setBlockState(localX, localY, localZ, Blocks.CAVE_AIR.defaultBlockState(), false);
+                            setBlockState(section, y, Blocks.CAVE_AIR.defaultBlockState());
                         }
                     }
                 }
@@ -468,12 +568,12 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
                     {
                         // Check carving mask
                         topBlockPlaced = true;
-                        worldSurface.update(localX, y, localZ, state);
+                        updateHeightmap(worldSurface, RecordedWrites.WORLD_SURFACE, y, state);
                     }
                     if (topSolidBlockPlaced)
                     {
                         // Fluids under solid blocks, so mark as carved
-                        airCarvingMask.set(blockX, y, blockZ);
+                        markCarved(y);
                     }
                 }
                 else // Solid rock
@@ -482,23 +582,108 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
                     if (!topBlockPlaced)
                     {
                         topBlockPlaced = true;
-                        worldSurface.update(localX, y, localZ, state);
+                        updateHeightmap(worldSurface, RecordedWrites.WORLD_SURFACE, y, state);
                     }
                     if (!topSolidBlockPlaced)
                     {
                         topSolidBlockPlaced = true;
-                        oceanFloor.update(localX, y, localZ, state);
+                        updateHeightmap(oceanFloor, RecordedWrites.OCEAN_FLOOR, y, state);
                     }
                 }
 
                 if (debugFillColumn && y == heightNoiseValue)
                 {
-                    section.setBlockState(localX, localY, localZ, Blocks.BLACK_STAINED_GLASS.defaultBlockState(), false);
+                    setBlockState(section, y, Blocks.BLACK_STAINED_GLASS.defaultBlockState());
                 }
             }
         }
     }
 
+    // Writes to the chunk, which are either made directly, or recorded when filling in parallel
+
+    private void setBlockState(LevelChunkSection section, int y, BlockState state)
+    {
+        if (writes != null)
+        {
+            writes.add(RecordedWrites.SET_BLOCK, localX, y, localZ, state);
+        }
+        else
+        {
+            section.setBlockState(localX, y & 15, localZ, state, false);
+        }
+    }
+
+    private void markPosForPostprocessing(BlockPos pos)
+    {
+        if (writes != null)
+        {
+            writes.add(RecordedWrites.POSTPROCESS, localX, pos.getY(), localZ, null);
+        }
+        else
+        {
+            chunk.markPosForPostprocessing(pos);
+        }
+    }
+
+    private void addLight(BlockPos pos)
+    {
+        if (writes != null)
+        {
+            writes.add(RecordedWrites.LIGHT, localX, pos.getY(), localZ, null);
+        }
+        else
+        {
+            chunk.addLight(pos);
+        }
+    }
+
+    private void markCarved(int y)
+    {
+        if (writes != null)
+        {
+            writes.add(RecordedWrites.CARVE, localX, y, localZ, null);
+        }
+        else
+        {
+            airCarvingMask.set(blockX, y, blockZ);
+        }
+    }
+
+    private void updateHeightmap(Heightmap heightmap, int type, int y, BlockState state)
+    {
+        if (writes != null)
+        {
+            writes.add(type, localX, y, localZ, state);
+        }
+        else
+        {
+            heightmap.update(localX, y, localZ, state);
+        }
+    }
+
+    /**
+     * Applies writes recorded by a filler for part of this chunk, in the order they were made.
+     */
+    private void applyWrites(RecordedWrites writes)
+    {
+        final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+        for (int i = 0; i < writes.ops.size(); i++)
+        {
+            final int op = writes.ops.getInt(i);
+            final int x = (op >> 3) & 15, z = (op >> 7) & 15, y = (op >>> 11) + writes.minY;
+            final BlockState state = writes.states.get(i);
+            switch (op & 7)
+            {
+                case RecordedWrites.SET_BLOCK -> chunk.getSection(chunk.getSectionIndex(y)).setBlockState(x, y & 15, z, state, false);
+                case RecordedWrites.POSTPROCESS -> chunk.markPosForPostprocessing(cursor.set(chunkMinX + x, y, chunkMinZ + z));
+                case RecordedWrites.LIGHT -> chunk.addLight(cursor.set(chunkMinX + x, y, chunkMinZ + z));
+                case RecordedWrites.CARVE -> airCarvingMask.set(chunkMinX + x, y, chunkMinZ + z);
+                case RecordedWrites.WORLD_SURFACE -> worldSurface.update(x, y, z, state);
+                case RecordedWrites.OCEAN_FLOOR -> oceanFloor.update(x, y, z, state);
+            }
+        }
+    }
+
     private Flow[] buildFlowMap()
     {
         final Flow[] flowMap = new Flow[5 * 5];
@@ -553,23 +738,27 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
     }
 
     /**
+     * Requires the noise for the current column to have been interpolated, via {@link #sampleColumn(int)}.
+     *
      * @param terrainNoise The terrain noise for the position. Positive values indicate solid terrain, in the range [-1, 1]
      * @return The block state for the position, including the aquifer, noise and noodle caves, and terrain.
      */
     public BlockState calculateBlockStateAtNoise(int x, int y, int z, double terrainNoise)
     {
+        final int index = y - settings.firstCellY() * settings.cellHeight(); // Index into the interpolated column
+
         double terrainAndCaveNoise = terrainNoise;
-        if (noodleToggle.sample() >= 0)
+        if (noodleToggleColumn[index] >= 0)
         {
-            final double thickness = Mth.clampedMap(noodleThickness.sample(), -1, 1, 0.05, 0.1);
-            final double ridgeA = Math.abs(1.5 * noodleRidgeA.sample()) - thickness;
-            final double ridgeB = Math.abs(1.5 * noodleRidgeB.sample()) - thickness;
+            final double thickness = Mth.clampedMap(noodleThicknessColumn[index], -1, 1, 0.05, 0.1);
+            final double ridgeA = Math.abs(1.5 * noodleRidgeAColumn[index]) - thickness;
+            final double ridgeB = Math.abs(1.5 * noodleRidgeBColumn[index]) - thickness;
             final double ridge = Math.max(ridgeA, ridgeB);
 
             terrainAndCaveNoise = Math.min(terrainAndCaveNoise, ridge);
         }
 
-        terrainAndCaveNoise = Math.min(terrainAndCaveNoise, noiseCaves.sample());
+        terrainAndCaveNoise = Math.min(terrainAndCaveNoise, noiseCavesColumn[index]);
 
         final BlockState aquiferState = aquifer.sampleState(x, y, z, terrainAndCaveNoise);
         return Objects.requireNonNullElseGet(aquiferState, () -> baseBlockSource.getBaseBlock(x, y, z));
@@ -596,9 +785,9 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
         return interpolator;
     }
 
-    private void initializeForFirstCellX()
+    private void initializeForCellX(final int cellX)
     {
-        interpolators.forEach(TrilinearInterpolator::initializeForFirstCellX);
+        interpolators.forEach(i -> i.initializeForCellX(cellX));
     }
 
     private void advanceCellX(final int cellX)
@@ -606,23 +795,48 @@ public class ChunkNoiseFiller extends ChunkHeightFiller
         interpolators.forEach(i -> i.advanceCellX(cellX));
     }
 
-    private void selectCellYZ(final int cellY, final int cellZ)
+    /**
+     * Interpolates all noise values for the current column, up to and including {@code maxCellY}
+     */
+    private void sampleColumn(final int maxCellY)
     {
-        interpolators.forEach(i -> i.selectCellYZ(cellY, cellZ));
+        noiseCaves.sampleColumn(lastCellZ, cellDeltaX, cellDeltaZ, maxCellY, noiseCavesColumn);
+        noodleToggle.sampleColumn(lastCellZ, cellDeltaX, cellDeltaZ, maxCellY, noodleToggleColumn);
+        noodleThickness.sampleColumn(lastCellZ, cellDeltaX, cellDeltaZ, maxCellY, noodleThicknessColumn);
+        noodleRidgeA.sampleColumn(lastCellZ, cellDeltaX, cellDeltaZ, maxCellY, noodleRidgeAColumn);
+        noodleRidgeB.sampleColumn(lastCellZ, cellDeltaX, cellDeltaZ, maxCellY, noodleRidgeBColumn);
     }
 
-    private void updateForXZ(final double x, final double z)
+    private void swapSlices()
     {
-        interpolators.forEach(i -> i.updateForXZ(x, z));
+        interpolators.forEach(TrilinearInterpolator::swapSlices);
     }
 
-    private void updateForY(final double y)
+    /**
+     * A compact, ordered, record of writes to a chunk. Each write is packed into a single int (the type, and the chunk local position), along with an optional block state.
+     */
+    static final class RecordedWrites
     {
-        interpolators.forEach(i -> i.updateForY(y));
-    }
+        static final int SET_BLOCK = 0;
+        static final int POSTPROCESS = 1;
+        static final int LIGHT = 2;
+        static final int CARVE = 3;
+        static final int WORLD_SURFACE = 4;
+        static final int OCEAN_FLOOR = 5;
+
+        final IntArrayList ops = new IntArrayList();
+        final List<BlockState> states = new ArrayList<>();
+        final int minY;
+
+        RecordedWrites(int minY)
+        {
+            this.minY = minY;
+        }
 
-    private void swapSlices()
-    {
-        interpolators.forEach(TrilinearInterpolator::swapSlices);
+        void add(int type, int localX, int y, int localZ, @Nullable BlockState state)
+        {
+            ops.add(type | (localX << 3) | (localZ << 7) | ((y - minY) << 11));
+            states.add(state);
+        }
     }
 }
@@ -6,8 +6,8 @@
 
 package net.dries007.tfc.world;
 
-import java.util.Arrays;
-import java.util.concurrent.locks.StampedLock;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 import net.minecraft.util.Mth;
 import net.minecraft.world.level.ChunkPos;
@@ -17,53 +17,134 @@ import org.jetbrains.annotations.Nullable;
 
 /**
  * A concurrent (safe to read and write between multiple threads) positional based, lossy, cache.
+ * <p>
+ * This cache is lock-free: each slot holds an immutable {@link Entry}, which is published and read atomically, so a reader can never observe a key paired with the wrong value.
+ * Slots are grouped into sets of {@link #WAYS} entries (set associative), so two hot keys which hash to the same set do not continually evict each other, as they would in a direct-mapped cache.
  */
 public class FastConcurrentCache<T>
 {
-    private final StampedLock lock = new StampedLock();
+    private static final int WAYS = 4;
+    private static final int WAY_BITS = 2;
 
-    private final long[] keys;
-    private final T[] values;
-    private final int mask;
+    private final AtomicReferenceArray<Entry<T>> entries;
+    private final byte[] victims; // Round-robin victim for each set
+    private final int setMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
 
-    @SuppressWarnings("unchecked")
     public FastConcurrentCache(int size)
     {
-        size = Mth.smallestEncompassingPowerOfTwo(size);
-
-        this.mask = size - 1;
-        this.keys = new long[size];
-        this.values = (T[]) new Object[size];
+        size = Math.max(WAYS, Mth.smallestEncompassingPowerOfTwo(size));
 
-        Arrays.fill(this.keys, Long.MIN_VALUE);
+        this.setMask = (size >> WAY_BITS) - 1;
+        this.entries = new AtomicReferenceArray<>(size);
+        this.victims = new byte[size >> WAY_BITS];
     }
 
     @Nullable
     public T getIfPresent(int x, int z)
     {
         final long key = ChunkPos.asLong(x, z);
-        final int index = (int) HashCommon.mix(key) & mask;
-        final long stamp = lock.readLock();
+        final int start = setIndex(key);
+        for (int i = start; i < start + WAYS; i++)
+        {
+            final Entry<T> entry = entries.get(i);
+            if (entry != null && entry.key == key)
+            {
+                hits.increment();
+                return entry.value;
+            }
+        }
+        misses.increment();
+        return null;
+    }
 
-        T t = null;
-        if (keys[index] == key)
+    public void set(int x, int z, T value)
+    {
+        final long key = ChunkPos.asLong(x, z);
+        final int start = setIndex(key);
+        final Entry<T> newEntry = new Entry<>(key, value);
+
+        // Prefer to replace an existing entry for this key, otherwise an empty slot
+        int empty = -1;
+        for (int i = start; i < start + WAYS; i++)
         {
-            t = values[index];
+            final Entry<T> entry = entries.get(i);
+            if (entry == null)
+            {
+                if (empty == -1)
+                {
+                    empty = i;
+                }
+            }
+            else if (entry.key == key)
+            {
+                entries.set(i, newEntry);
+                return;
+            }
         }
 
-        lock.unlockRead(stamp);
-        return t;
+        final int written;
+        if (empty != -1 && entries.compareAndSet(empty, null, newEntry))
+        {
+            written = empty;
+        }
+        else
+        {
+            // The set is full (or we lost a race for the empty slot), so evict a victim. Victims are chosen round-robin within each set, so every way is eventually replaced, rather than a hot key always evicting the same way.
+            // The counter is not synchronized, as a lost update only changes which way is chosen.
+            final int set = start >> WAY_BITS;
+            written = start + (victims[set]++ & (WAYS - 1));
+            entries.set(written, newEntry);
+            evictions.increment();
+        }
+
+        // A racing set() for the same key may have written it to a different way. Remove any duplicates, so each key is only held once
+        for (int i = start; i < start + WAYS; i++)
+        {
+            final Entry<T> entry = entries.get(i);
+            if (i != written && entry != null && entry.key == key)
+            {
+                entries.compareAndSet(i, entry, null);
+            }
+        }
     }
 
-    public void set(int x, int z, T value)
+    public void remove(int x, int z)
     {
         final long key = ChunkPos.asLong(x, z);
-        final int index = (int) HashCommon.mix(key) & mask;
-        final long stamp = lock.writeLock();
+        final int start = setIndex(key);
+        for (int i = start; i < start + WAYS; i++)
+        {
+            final Entry<T> entry = entries.get(i);
+            if (entry != null && entry.key == key)
+            {
+                entries.compareAndSet(i, entry, null);
+            }
+        }
+    }
 
-        keys[index] = key;
-        values[index] = value;
+    public long hits()
+    {
+        return hits.sum();
+    }
 
-        lock.unlockWrite(stamp);
+    public long misses()
+    {
+        return misses.sum();
     }
+
+    public long evictions()
+    {
+        return evictions.sum();
+    }
+
+    private int setIndex(long key)
+    {
+        return ((int) HashCommon.mix(key) & setMask) << WAY_BITS;
+    }
+
+    private record Entry<T>(long key, T value) {}
 }
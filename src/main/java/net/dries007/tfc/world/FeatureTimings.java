@@ -0,0 +1,98 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.minecraft.world.level.levelgen.placement.PlacedFeature;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+
+/**
+ * Records the time spent placing each {@link PlacedFeature} during decoration, in {@link TFCChunkGenerator#applyBiomeDecoration}.
+ * Features are placed concurrently on the world generation threads, so timings are accumulated without locking.
+ * <p>
+ * Features are keyed by identity, as {@link PlacedFeature} is a record, and hashing it would hash its entire configuration for every placed feature. The map is copied on write, as a new feature is only seen once, so lookups never lock.
+ */
+public final class FeatureTimings
+{
+    private static volatile Reference2ObjectMap<PlacedFeature, Timing> timings = new Reference2ObjectOpenHashMap<>();
+
+    public static void record(PlacedFeature feature, int step, long nanos)
+    {
+        Timing timing = timings.get(feature);
+        if (timing == null)
+        {
+            timing = add(feature, step);
+        }
+        timing.nanos.add(nanos);
+        timing.count.increment();
+    }
+
+    /**
+     * @return Up to {@code limit} of the features which took the longest total time to place in the given decoration step, slowest first.
+     */
+    public static List<Timing> slowest(int step, int limit)
+    {
+        return timings.values()
+            .stream()
+            .filter(timing -> timing.step == step)
+            .sorted(Comparator.comparingLong(Timing::nanos).reversed())
+            .limit(limit)
+            .toList();
+    }
+
+    public static synchronized void clear()
+    {
+        timings = new Reference2ObjectOpenHashMap<>();
+    }
+
+    private static synchronized Timing add(PlacedFeature feature, int step)
+    {
+        Timing timing = timings.get(feature);
+        if (timing == null)
+        {
+            final Reference2ObjectMap<PlacedFeature, Timing> copy = new Reference2ObjectOpenHashMap<>(timings);
+            timing = new Timing(feature, step);
+            copy.put(feature, timing);
+            timings = copy;
+        }
+        return timing;
+    }
+
+    public static final class Timing
+    {
+        private final PlacedFeature feature;
+        private final int step;
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder count = new LongAdder();
+
+        Timing(PlacedFeature feature, int step)
+        {
+            this.feature = feature;
+            this.step = step;
+        }
+
+        public PlacedFeature feature()
+        {
+            return feature;
+        }
+
+        public long nanos()
+        {
+            return nanos.sum();
+        }
+
+        public long count()
+        {
+            return count.sum();
+        }
+    }
+}
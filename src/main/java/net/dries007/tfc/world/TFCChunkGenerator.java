@@ -8,6 +8,7 @@ package net.dries007.tfc.world;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -16,6 +17,7 @@ import java.util.stream.Collectors;
 
 import com.google.common.collect.ImmutableMap;
 import net.minecraft.CrashReport;
+import net.minecraft.Util;
 import net.minecraft.ReportedException;
 import net.minecraft.core.*;
 import net.minecraft.resources.RegistryOps;
@@ -53,6 +55,7 @@ import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
 import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArraySet;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.dries007.tfc.config.TFCConfig;
 import net.dries007.tfc.mixin.accessor.ChunkAccessAccessor;
 import net.dries007.tfc.util.Helpers;
 import net.dries007.tfc.world.biome.BiomeExtension;
@@ -66,6 +69,7 @@ import net.dries007.tfc.world.noise.ChunkNoiseSamplingSettings;
 import net.dries007.tfc.world.noise.Kernel;
 import net.dries007.tfc.world.noise.NoiseSampler;
 import net.dries007.tfc.world.surface.SurfaceManager;
+import org.jetbrains.annotations.Nullable;
 
 import static net.dries007.tfc.TerraFirmaCraft.MOD_ID;
 
@@ -83,6 +87,8 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
     public static final DeferredRegister<Codec<? extends ChunkGenerator>> CHUNK_GENERATOR = DeferredRegister.create(Registry.CHUNK_GENERATOR_REGISTRY, MOD_ID);
     public static final int DECORATION_STEPS = GenerationStep.Decoration.values().length;
 
+    private static final int MAX_CACHED_BIOME_SETS = 4096;
+
     static
     {
         CHUNK_GENERATOR.register("overworld", () -> CODEC);
@@ -297,6 +303,10 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
     private final NoiseSampler noiseSampler;
     private final boolean hasStructures;
 
+    // Caches for feature decoration, which is done concurrently
+    @Nullable private volatile StructureFeaturesByStep structureFeaturesByStep;
+    private final Map<Set<Biome>, int[][]> featureIndicesByBiomes;
+
     public TFCChunkGenerator(Registry<StructureSet> structures, Registry<NormalNoise.NoiseParameters> parameters, TFCBiomeSource biomeSource, Holder<NoiseGeneratorSettings> settings, boolean flatBedrock, long seed)
     {
         super(structures, Optional.empty(), biomeSource);
@@ -316,6 +326,9 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
         this.surfaceManager = new SurfaceManager(seed);
         this.noiseSampler = new NoiseSampler(this.settings.value().noiseSettings(), seed, parameters);
         this.hasStructures = structures.size() > 0;
+
+        this.structureFeaturesByStep = null;
+        this.featureIndicesByBiomes = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -479,8 +492,7 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
         final Registry<ConfiguredStructureFeature<?, ?>> structureFeatures = level.registryAccess().registryOrThrow(Registry.CONFIGURED_STRUCTURE_FEATURE_REGISTRY);
         final Registry<PlacedFeature> placedFeatures = level.registryAccess().registryOrThrow(Registry.PLACED_FEATURE_REGISTRY);
 
-        final Map<Integer, List<ConfiguredStructureFeature<?, ?>>> structureFeaturesByStep = structureFeatures.stream()
-            .collect(Collectors.groupingBy(feature -> feature.feature.step().ordinal()));
+        final Map<Integer, List<ConfiguredStructureFeature<?, ?>>> structureFeaturesByStep = getStructureFeaturesByStep(structureFeatures);
 
         final List<BiomeSource.StepFeatureData> orderedFeatures = customBiomeSource.featuresPerStep();
         final Random random = new Random();
@@ -495,6 +507,8 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
             }
         });
 
+        final int[][] featureIndicesByStep = getFeatureIndicesByStep(level, allAdjacentBiomes, orderedFeatures);
+
         for (int decorationIndex = 0; decorationIndex < Math.max(DECORATION_STEPS, orderedFeatures.size()); ++decorationIndex)
         {
             if (structureFeatureManager.shouldGenerateFeatures())
@@ -523,33 +537,17 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
 
             if (decorationIndex < orderedFeatures.size())
             {
-                final IntSet featureIndices = new IntArraySet();
-                for (Biome biome : allAdjacentBiomes)
-                {
-                    List<HolderSet<PlacedFeature>> featuresPerBiome = TFCBiomes.getExtensionOrThrow(level, biome).getFlattenedFeatures(biome);
-                    if (decorationIndex < featuresPerBiome.size())
-                    {
-                        final HolderSet<PlacedFeature> featuresPerBiomeAtStep = featuresPerBiome.get(decorationIndex);
-                        final BiomeSource.StepFeatureData stepIndex = orderedFeatures.get(decorationIndex);
-                        for (Holder<PlacedFeature> holder : featuresPerBiomeAtStep)
-                        {
-                            featureIndices.add(stepIndex.indexMapping().applyAsInt(holder.value()));
-                        }
-                    }
-                }
-
-                final int[] sortedIndices = featureIndices.toIntArray();
                 final BiomeSource.StepFeatureData step = orderedFeatures.get(decorationIndex);
-
-                Arrays.sort(sortedIndices);
-                for (int featureIndex : sortedIndices)
+                for (int featureIndex : featureIndicesByStep[decorationIndex])
                 {
                     final PlacedFeature feature = step.features().get(featureIndex);
                     Helpers.seedLargeFeatures(random, baseSeed, featureIndex, decorationIndex);
                     final Supplier<String> featureName = () -> placedFeatures.getResourceKey(feature).map(Object::toString).orElseGet(feature::toString);
                     try
                     {
+                        final long startNanos = System.nanoTime();
                         feature.placeWithBiomeCheck(level, this, random, originPos);
+                        FeatureTimings.record(feature, decorationIndex, System.nanoTime() - startNanos);
                     }
                     catch (Exception e)
                     {
@@ -564,12 +562,74 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
         level.setCurrentlyGenerating(null);
     }
 
+    /**
+     * The structure features grouped by decoration step only changes when the registry does, so it is computed once per registry, rather than for every chunk.
+     */
+    private Map<Integer, List<ConfiguredStructureFeature<?, ?>>> getStructureFeaturesByStep(Registry<ConfiguredStructureFeature<?, ?>> structureFeatures)
+    {
+        final StructureFeaturesByStep cached = structureFeaturesByStep;
+        if (cached != null && cached.registry == structureFeatures)
+        {
+            return cached.features;
+        }
+        final Map<Integer, List<ConfiguredStructureFeature<?, ?>>> features = structureFeatures.stream()
+            .collect(Collectors.groupingBy(feature -> feature.feature.step().ordinal()));
+        structureFeaturesByStep = new StructureFeaturesByStep(structureFeatures, features);
+        return features;
+    }
+
+    /**
+     * @return For each decoration step, the sorted indices of all features which can be placed by any of the adjacent biomes. This only depends on the set of biomes, of which there are few distinct combinations, so it is cached.
+     */
+    private int[][] getFeatureIndicesByStep(WorldGenLevel level, Set<Biome> biomes, List<BiomeSource.StepFeatureData> orderedFeatures)
+    {
+        final int[][] cached = featureIndicesByBiomes.get(biomes);
+        if (cached != null)
+        {
+            return cached;
+        }
+
+        final int[][] featureIndicesByStep = new int[orderedFeatures.size()][];
+        for (int decorationIndex = 0; decorationIndex < orderedFeatures.size(); decorationIndex++)
+        {
+            final IntSet featureIndices = new IntArraySet();
+            final BiomeSource.StepFeatureData stepIndex = orderedFeatures.get(decorationIndex);
+            for (Biome biome : biomes)
+            {
+                final List<HolderSet<PlacedFeature>> featuresPerBiome = TFCBiomes.getExtensionOrThrow(level, biome).getFlattenedFeatures(biome);
+                if (decorationIndex < featuresPerBiome.size())
+                {
+                    for (Holder<PlacedFeature> holder : featuresPerBiome.get(decorationIndex))
+                    {
+                        featureIndices.add(stepIndex.indexMapping().applyAsInt(holder.value()));
+                    }
+                }
+            }
+
+            final int[] sortedIndices = featureIndices.toIntArray();
+            Arrays.sort(sortedIndices);
+            featureIndicesByStep[decorationIndex] = sortedIndices;
+        }
+
+        if (featureIndicesByBiomes.size() > MAX_CACHED_BIOME_SETS)
+        {
+            featureIndicesByBiomes.clear(); // Should never be reached in practice, but guards against unbounded growth with large numbers of biomes
+        }
+        featureIndicesByBiomes.put(Set.copyOf(biomes), featureIndicesByStep);
+        return featureIndicesByStep;
+    }
+
     @Override
     public CompletableFuture<ChunkAccess> fillFromNoise(Executor mainExecutor, Blender oldTerrainBlender, StructureFeatureManager structureFeatureManager, ChunkAccess chunk)
     {
-        // Debug
-        final boolean debugGetBaseHeight = false;
+        return fillFromNoise(mainExecutor, TFCConfig.COMMON.enableParallelNoiseFilling.get() ? Util.backgroundExecutor() : null, chunk);
+    }
 
+    /**
+     * Fills the chunk from noise, either serially, or if {@code parallelExecutor} is present, in parallel on that executor, see {@link ChunkNoiseFiller#fillFromNoise(Executor, Supplier)}. Both produce identical chunks.
+     */
+    public CompletableFuture<ChunkAccess> fillFromNoise(Executor mainExecutor, @Nullable Executor parallelExecutor, ChunkAccess chunk)
+    {
         // Initialization
         final ChunkNoiseSamplingSettings settings = createNoiseSamplingSettingsForChunk(chunk);
         final LevelAccessor actualLevel = (LevelAccessor) ((ChunkAccessAccessor) chunk).accessor$getLevelHeightAccessor();
@@ -593,13 +653,32 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
         filler.setupAquiferSurfaceHeight(this::sampleBiomeVariants);
         chunkData.setAquiferSurfaceHeight(filler.aquifer().getSurfaceHeights()); // Record this in the chunk data so caves can query it accurately
         rockData.setSurfaceHeight(filler.getSurfaceHeight()); // Need to set this in the rock data before we can fill the chunk proper
-        filler.fillFromNoise();
 
-        aquiferCache.set(chunkPos.x, chunkPos.z, filler.aquifer());
+        if (parallelExecutor != null)
+        {
+            // Fill in parallel, then return to the provided executor to finish the chunk, as vanilla does
+            return filler.fillFromNoise(parallelExecutor, this::createBiomeSamplersForChunk)
+                .whenCompleteAsync((result, error) -> sections.forEach(LevelChunkSection::release), mainExecutor)
+                .thenApply(result -> afterFillFromNoise(actualLevel, chunk, chunkData, filler, settings, random));
+        }
+
+        filler.fillFromNoise();
 
         // Unlock before surfaces are built, as they use locks directly
         sections.forEach(LevelChunkSection::release);
 
+        return CompletableFuture.completedFuture(afterFillFromNoise(actualLevel, chunk, chunkData, filler, settings, random));
+    }
+
+    private ChunkAccess afterFillFromNoise(LevelAccessor actualLevel, ChunkAccess chunk, ChunkData chunkData, ChunkNoiseFiller filler, ChunkNoiseSamplingSettings settings, RandomSource random)
+    {
+        // Debug
+        final boolean debugGetBaseHeight = false;
+
+        final ChunkPos chunkPos = chunk.getPos();
+
+        aquiferCache.set(chunkPos.x, chunkPos.z, filler.aquifer());
+
         if (debugGetBaseHeight)
         {
             final int blockX = chunkPos.getMinBlockX(), blockZ = chunkPos.getMinBlockZ();
@@ -615,7 +694,7 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
 
         surfaceManager.buildSurface(actualLevel, chunk, getRockLayerSettings(), chunkData, filler.getLocalBiomes(), filler.getLocalBiomeWeights(), filler.getSlopeMap(), random, getSeaLevel(), settings.minY());
 
-        return CompletableFuture.completedFuture(chunk);
+        return chunk;
     }
 
     @Override
@@ -760,4 +839,6 @@ public class TFCChunkGenerator extends ChunkGenerator implements ChunkGeneratorE
         }
         return aquifer;
     }
-}
\ No newline at end of file
+
+    private record StructureFeaturesByStep(Registry<ConfiguredStructureFeature<?, ?>> registry, Map<Integer, List<ConfiguredStructureFeature<?, ?>>> features) {}
+}
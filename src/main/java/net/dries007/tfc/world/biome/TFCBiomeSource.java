@@ -13,6 +13,7 @@ import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import com.google.common.base.Suppliers;
+import net.minecraft.Util;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Holder;
 import net.minecraft.core.QuartPos;
@@ -32,8 +33,8 @@ import net.dries007.tfc.world.chunkdata.ChunkDataProvider;
 import net.dries007.tfc.world.chunkdata.TFCChunkDataGenerator;
 import net.dries007.tfc.world.layer.TFCLayers;
 import net.dries007.tfc.world.layer.framework.ConcurrentArea;
+import net.dries007.tfc.world.layer.framework.LayerTileStore;
 import net.dries007.tfc.world.river.Flow;
-import net.dries007.tfc.world.river.MidpointFractal;
 import net.dries007.tfc.world.river.Watershed;
 import net.dries007.tfc.world.settings.ClimateSettings;
 import net.dries007.tfc.world.settings.RockLayerSettings;
@@ -78,9 +79,12 @@ public class TFCBiomeSource extends BiomeSource implements BiomeSourceExtension,
     private final Supplier<List<StepFeatureData>> customFeaturesPerStep;
 
     private final ConcurrentArea<BiomeExtension> biomeLayer;
+    private final TFCChunkDataGenerator chunkDataGenerator;
     private final ChunkDataProvider chunkDataProvider;
     private final Watershed.Context watersheds;
 
+    @Nullable private LayerTileStore layerTileStore;
+
     public TFCBiomeSource(long seed, int spawnDistance, int spawnCenterX, int spawnCenterZ, RockLayerSettings rockLayerSettings, ClimateSettings temperatureSettings, ClimateSettings rainfallSettings, Registry<Biome> biomeRegistry)
     {
         this(seed, spawnDistance, spawnCenterX, spawnCenterZ, rockLayerSettings, temperatureSettings, rainfallSettings, biomeRegistry, TFCBiomes.getAllKeys().stream().map(biomeRegistry::getHolderOrThrow).collect(Collectors.toList()));
@@ -99,29 +103,44 @@ public class TFCBiomeSource extends BiomeSource implements BiomeSourceExtension,
         this.rainfallSettings = rainfallSettings;
         this.biomeRegistry = biomeRegistry;
         this.customFeaturesPerStep = Suppliers.memoize(() -> FeatureCycleDetector.buildFeaturesPerStep(allBiomes));
-        this.chunkDataProvider = new ChunkDataProvider(new TFCChunkDataGenerator(seed, rockLayerSettings, temperatureSettings, rainfallSettings), rockLayerSettings);
-        this.watersheds = new Watershed.Context(TFCLayers.createEarlyPlateLayers(seed), seed, 0.5f, 0.8f, 14, 0.2f);
+        this.chunkDataGenerator = new TFCChunkDataGenerator(seed, rockLayerSettings, temperatureSettings, rainfallSettings);
+        this.chunkDataProvider = new ChunkDataProvider(chunkDataGenerator, rockLayerSettings);
+        this.watersheds = new Watershed.Context(TFCLayers.createEarlyPlateLayers(seed), seed, 0.5f, 0.8f, 14, 0.2f, Util.backgroundExecutor());
         this.biomeLayer = new ConcurrentArea<>(TFCLayers.createOverworldBiomeLayerWithRivers(seed, watersheds, IArtist.nope(), IArtist.nope()), TFCLayers::getFromLayerId);
     }
 
-    @Override
-    public Flow getRiverFlow(int quartX, int quartZ)
+    /**
+     * Reads and saves the output of the biome and chunk data layers in the given store, rather than re-evaluating them each time the world is loaded.
+     * The store must be unique to this seed.
+     */
+    public void attachLayerTileStore(LayerTileStore store)
     {
-        final float scale = 1f / (1 << 7);
-        final float x0 = quartX * scale, z0 = quartZ * scale;
-        for (MidpointFractal fractal : getWatersheds().getFractalsByPartition(quartX, quartZ))
+        closeLayerTileStore();
+        layerTileStore = store;
+        biomeLayer.setTileStore(store.layer("biomes"));
+        chunkDataGenerator.attachLayerTileStore(store);
+    }
+
+    public void closeLayerTileStore()
+    {
+        if (layerTileStore != null)
         {
-            // maybeIntersect will skip the more expensive calculation if it fails
-            if (fractal.maybeIntersect(x0, z0, Watershed.RIVER_WIDTH))
-            {
-                final Flow flow = fractal.intersectWithFlow(x0, z0, Watershed.RIVER_WIDTH);
-                if (flow != Flow.NONE)
-                {
-                    return flow;
-                }
-            }
+            biomeLayer.setTileStore(null);
+            chunkDataGenerator.attachLayerTileStore(null);
+            layerTileStore.close();
+            layerTileStore = null;
         }
-        return Flow.NONE;
+    }
+
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    @Override
+    public Flow getRiverFlow(int quartX, int quartZ)
+    {
+        return getWatersheds().getPartition(quartX, quartZ).getFlow(quartX, quartZ);
     }
 
     @Override
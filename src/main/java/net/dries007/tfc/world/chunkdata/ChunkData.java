@@ -10,6 +10,7 @@ import java.util.Objects;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.world.level.ChunkPos;
@@ -21,6 +22,7 @@ import net.minecraftforge.common.capabilities.ICapabilitySerializable;
 import net.minecraftforge.common.util.LazyOptional;
 
 import net.dries007.tfc.network.ChunkWatchPacket;
+import net.dries007.tfc.util.SupportIndex;
 import net.dries007.tfc.world.settings.RockLayerSettings;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -32,26 +34,40 @@ public class ChunkData implements ICapabilitySerializable<CompoundTag>
     private static final float UNKNOWN_RAINFALL = 250;
     private static final float UNKNOWN_TEMPERATURE = 10;
 
+    /**
+     * Called to get chunk data when a world context is available.
+     * This avoids allocating a {@link ChunkPos} unless the chunk data is not cached.
+     */
     public static ChunkData get(LevelReader level, BlockPos pos)
     {
-        return get(level, new ChunkPos(pos));
+        final ChunkData data = ChunkDataCache.get(level).get(ChunkPos.asLong(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ())));
+        if (data == null)
+        {
+            return getFromChunk(level, new ChunkPos(pos));
+        }
+        return data;
     }
 
     /**
      * Called to get chunk data when a world context is available.
      */
-    @SuppressWarnings("deprecation")
     public static ChunkData get(LevelReader level, ChunkPos pos)
     {
         // Query cache first, picking the correct cache for the current logical side
         ChunkData data = ChunkDataCache.get(level).get(pos);
         if (data == null)
         {
-            return getCapability(level.hasChunk(pos.x, pos.z) ? level.getChunk(pos.getWorldPosition()) : null).orElse(ChunkData.EMPTY);
+            return getFromChunk(level, pos);
         }
         return data;
     }
 
+    @SuppressWarnings("deprecation")
+    private static ChunkData getFromChunk(LevelReader level, ChunkPos pos)
+    {
+        return getCapability(level.hasChunk(pos.x, pos.z) ? level.getChunk(pos.getWorldPosition()) : null).orElse(ChunkData.EMPTY);
+    }
+
     /**
      * Helper method, since lazy optionals and instanceof checks together are ugly
      */
@@ -84,6 +100,8 @@ public class ChunkData implements ICapabilitySerializable<CompoundTag>
     private float forestDensity;
     private PlateTectonicsClassification plateTectonicsInfo;
 
+    @Nullable private SupportIndex supportIndex; // Not serialized, rebuilt on demand while the chunk is loaded on the server
+
     public ChunkData(ChunkPos pos, RockLayerSettings rockLayerSettings)
     {
         this.pos = pos;
@@ -198,6 +216,17 @@ public class ChunkData implements ICapabilitySerializable<CompoundTag>
         this.plateTectonicsInfo = plateTectonicsInfo;
     }
 
+    @Nullable
+    public SupportIndex getSupportIndex()
+    {
+        return supportIndex;
+    }
+
+    public void setSupportIndex(SupportIndex supportIndex)
+    {
+        this.supportIndex = supportIndex;
+    }
+
     public Status getStatus()
     {
         return status;
@@ -368,6 +397,12 @@ public class ChunkData implements ICapabilitySerializable<CompoundTag>
             throw new UnsupportedOperationException("Tried to modify immutable chunk data");
         }
 
+        @Override
+        public void setSupportIndex(SupportIndex supportIndex)
+        {
+            throw new UnsupportedOperationException("Tried to modify immutable chunk data");
+        }
+
         @Override
         public void setStatus(Status status)
         {
@@ -6,17 +6,29 @@
 
 package net.dries007.tfc.world.chunkdata;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
 import java.util.function.Function;
+import java.util.function.LongPredicate;
 
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.LevelReader;
 import net.minecraftforge.network.PacketDistributor;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.dries007.tfc.network.ChunkDataBatchPacket;
+import net.dries007.tfc.network.ChunkWatchPacket;
 import net.dries007.tfc.network.PacketHandler;
 import net.dries007.tfc.util.Helpers;
 import org.jetbrains.annotations.Nullable;
@@ -46,6 +58,11 @@ public final class ChunkDataCache
      */
     public static final WatchQueue WATCH_QUEUE = new WatchQueue();
 
+    /**
+     * This is a set of chunk data which is waiting to be synced to each player, at the end of the current tick.
+     */
+    public static final SyncQueue SYNC_QUEUE = new SyncQueue();
+
     /**
      * Gets the normal (not world gen) cache of chunk data for the current logical side
      */
@@ -54,35 +71,218 @@ public final class ChunkDataCache
         return Helpers.isClientSide(world) ? CLIENT : SERVER;
     }
 
-    private final Map<ChunkPos, ChunkData> cache;
+    private final Long2ObjectOpenHashMap<ChunkData> cache;
+    private final StampedLock lock;
+    private final ThreadLocal<Memo> memo;
+    private final AtomicInteger generation;
     private final String name;
 
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
     private ChunkDataCache(String name)
     {
         this.name = name;
-        this.cache = new HashMap<>();
+        this.cache = new Long2ObjectOpenHashMap<>(1024);
+        this.lock = new StampedLock();
+        this.memo = ThreadLocal.withInitial(Memo::new);
+        this.generation = new AtomicInteger();
     }
 
     @Nullable
     public ChunkData get(ChunkPos pos)
     {
-        return cache.get(pos);
+        return get(pos.toLong());
+    }
+
+    /**
+     * Queries the cache by a packed chunk position, see {@link ChunkPos#asLong(int, int)}.
+     * This is safe to call from any thread, including world generation and feature threads.
+     * Consecutive queries from the same thread tend to land in the same few chunks, so they are first checked against a small per-thread memo, which avoids the lock entirely.
+     */
+    @Nullable
+    public ChunkData get(long pos)
+    {
+        // Read the generation before the map, so any modification after this point invalidates what we memoize
+        final Memo memo = this.memo.get();
+        final int generation = this.generation.get();
+
+        ChunkData data = memo.get(pos, generation);
+        if (data != null)
+        {
+            hits.increment();
+            return data;
+        }
+
+        final long stamp = lock.readLock();
+        try
+        {
+            data = cache.get(pos);
+        }
+        finally
+        {
+            lock.unlockRead(stamp);
+        }
+
+        if (data != null)
+        {
+            memo.put(pos, data, generation);
+            hits.increment();
+        }
+        else
+        {
+            misses.increment();
+        }
+        return data;
     }
 
     @Nullable
     public ChunkData remove(ChunkPos pos)
     {
-        return cache.remove(pos);
+        final long stamp = lock.writeLock();
+        try
+        {
+            generation.incrementAndGet();
+            return cache.remove(pos.toLong());
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
     }
 
     public void update(ChunkPos pos, ChunkData data)
     {
-        cache.put(pos, data);
+        final long stamp = lock.writeLock();
+        try
+        {
+            // Only replacing an existing entry can invalidate a memoized value, as misses are never memoized
+            final ChunkData previous = cache.put(pos.toLong(), data);
+            if (previous != null && previous != data)
+            {
+                generation.incrementAndGet();
+            }
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
     }
 
     public ChunkData computeIfAbsent(ChunkPos pos, Function<ChunkPos, ChunkData> mappingFunction)
     {
-        return cache.computeIfAbsent(pos, mappingFunction);
+        final long key = pos.toLong();
+        final long stamp = lock.writeLock();
+        try
+        {
+            ChunkData data = cache.get(key);
+            if (data == null)
+            {
+                // No need to bump the generation, as this does not replace an existing entry
+                data = mappingFunction.apply(pos);
+                cache.put(key, data);
+            }
+            return data;
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes all entries whose packed chunk position does not match {@code predicate}.
+     * Used to clean up entries that were leaked, i.e. for which no unload event was ever received.
+     * <p>
+     * The predicate is tested under the read lock, so concurrent queries are not blocked while testing every entry. The write lock is then only held to remove the entries found, and an entry which was replaced in between is kept.
+     *
+     * @return The number of entries removed.
+     */
+    public int retainIf(LongPredicate predicate)
+    {
+        final Long2ObjectMap<ChunkData> toRemove = new Long2ObjectOpenHashMap<>();
+        final long readStamp = lock.readLock();
+        try
+        {
+            for (Long2ObjectMap.Entry<ChunkData> entry : cache.long2ObjectEntrySet())
+            {
+                if (!predicate.test(entry.getLongKey()))
+                {
+                    toRemove.put(entry.getLongKey(), entry.getValue());
+                }
+            }
+        }
+        finally
+        {
+            lock.unlockRead(readStamp);
+        }
+
+        if (toRemove.isEmpty())
+        {
+            return 0;
+        }
+
+        final long writeStamp = lock.writeLock();
+        try
+        {
+            generation.incrementAndGet();
+            int removed = 0;
+            for (Long2ObjectMap.Entry<ChunkData> entry : toRemove.long2ObjectEntrySet())
+            {
+                if (cache.remove(entry.getLongKey(), entry.getValue()))
+                {
+                    removed++;
+                }
+            }
+            return removed;
+        }
+        finally
+        {
+            lock.unlockWrite(writeStamp);
+        }
+    }
+
+    /**
+     * Removes all entries, on server stop or client disconnect.
+     */
+    public void clear()
+    {
+        final long stamp = lock.writeLock();
+        try
+        {
+            generation.incrementAndGet();
+            cache.clear();
+            cache.trim(); // Release the backing arrays, which may have grown large
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    public int size()
+    {
+        final long stamp = lock.readLock();
+        try
+        {
+            return cache.size();
+        }
+        finally
+        {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public long hits()
+    {
+        return hits.sum();
+    }
+
+    public long misses()
+    {
+        return misses.sum();
     }
 
     @Override
@@ -91,6 +291,49 @@ public final class ChunkDataCache
         return "ChunkDataCache[" + name + ']';
     }
 
+    /**
+     * A tiny, per-thread, memo of the last few chunks queried. Entries are only valid for the cache generation they were recorded in.
+     */
+    private static final class Memo
+    {
+        private static final int SIZE = 4;
+
+        private final long[] keys = new long[SIZE];
+        private final ChunkData[] values = new ChunkData[SIZE];
+        private int generation = -1;
+        private int next;
+
+        @Nullable
+        ChunkData get(long pos, int currentGeneration)
+        {
+            if (generation != currentGeneration)
+            {
+                return null;
+            }
+            for (int i = 0; i < SIZE; i++)
+            {
+                if (keys[i] == pos && values[i] != null)
+                {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        void put(long pos, ChunkData data, int currentGeneration)
+        {
+            if (generation != currentGeneration)
+            {
+                Arrays.fill(values, null);
+                generation = currentGeneration;
+                next = 0;
+            }
+            keys[next] = pos;
+            values[next] = data;
+            next = (next + 1) & (SIZE - 1);
+        }
+    }
+
     public static class WatchQueue
     {
         private final Map<ChunkPos, Set<ServerPlayer>> queue;
@@ -118,6 +361,11 @@ public final class ChunkDataCache
             }
         }
 
+        public void clear()
+        {
+            queue.clear();
+        }
+
         public void dequeueLoadedChunk(ChunkPos pos, ChunkData data)
         {
             if (queue.containsKey(pos))
@@ -125,9 +373,83 @@ public final class ChunkDataCache
                 final Set<ServerPlayer> players = queue.remove(pos);
                 for (ServerPlayer player : players)
                 {
-                    PacketHandler.send(PacketDistributor.PLAYER.with(() -> player), data.getUpdatePacket());
+                    SYNC_QUEUE.enqueue(player, data);
                 }
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Chunks are typically watched in large groups, i.e. when a player logs in or teleports. So rather than sending a packet for each chunk, chunk data is collected per player, and sent in batches at the end of each tick, see {@link ChunkDataBatchPacket}.
+     */
+    public static class SyncQueue
+    {
+        private static final Comparator<ChunkWatchPacket> ORDER = Comparator.comparingInt(ChunkWatchPacket::chunkZ).thenComparingInt(ChunkWatchPacket::chunkX);
+
+        private final Map<ServerPlayer, Long2ObjectMap<ChunkData>> queue;
+
+        private SyncQueue()
+        {
+            queue = new HashMap<>();
+        }
+
+        public void enqueue(ServerPlayer player, ChunkData data)
+        {
+            queue.computeIfAbsent(player, key -> new Long2ObjectOpenHashMap<>()).put(data.getPos().toLong(), data);
+        }
+
+        public void dequeueChunk(ChunkPos pos, ServerPlayer player)
+        {
+            final Long2ObjectMap<ChunkData> chunks = queue.get(player);
+            if (chunks != null)
+            {
+                chunks.remove(pos.toLong());
+            }
+        }
+
+        /**
+         * Called at the end of each server tick, to send all queued chunk data.
+         */
+        public void flush()
+        {
+            if (queue.isEmpty())
+            {
+                return;
+            }
+            queue.forEach((player, chunks) -> {
+                if (!player.hasDisconnected() && !chunks.isEmpty())
+                {
+                    final List<ChunkWatchPacket> packets = new ArrayList<>(chunks.size());
+                    for (ChunkData data : chunks.values())
+                    {
+                        packets.add(data.getUpdatePacket());
+                    }
+                    send(player, packets);
+                }
+            });
+            queue.clear();
+        }
+
+        public void clear()
+        {
+            queue.clear();
+        }
+
+        private void send(ServerPlayer player, List<ChunkWatchPacket> packets)
+        {
+            final PacketDistributor.PacketTarget target = PacketDistributor.PLAYER.with(() -> player);
+            if (packets.size() == 1)
+            {
+                PacketHandler.send(target, packets.get(0));
+                return;
+            }
+
+            // Sorted, so that adjacent chunks are written together
+            packets.sort(ORDER);
+            for (int start = 0; start < packets.size(); start += ChunkDataBatchPacket.MAX_CHUNKS)
+            {
+                PacketHandler.send(target, new ChunkDataBatchPacket(packets.subList(start, Math.min(start + ChunkDataBatchPacket.MAX_CHUNKS, packets.size()))));
+            }
+        }
+    }
+}
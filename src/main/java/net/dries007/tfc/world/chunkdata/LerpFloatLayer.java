@@ -54,6 +54,26 @@ public class LerpFloatLayer
         return Helpers.lerp4(valueNE, valueNW, valueSE, valueSW, tNS, tEW);
     }
 
+    public float getValueNW()
+    {
+        return valueNW;
+    }
+
+    public float getValueNE()
+    {
+        return valueNE;
+    }
+
+    public float getValueSW()
+    {
+        return valueSW;
+    }
+
+    public float getValueSE()
+    {
+        return valueSE;
+    }
+
     public CompoundTag write()
     {
         final CompoundTag nbt = new CompoundTag();
@@ -18,12 +18,14 @@ import net.dries007.tfc.util.climate.ClimateModel;
 import net.dries007.tfc.util.climate.OverworldClimateModel;
 import net.dries007.tfc.world.layer.TFCLayers;
 import net.dries007.tfc.world.layer.framework.ConcurrentArea;
+import net.dries007.tfc.world.layer.framework.LayerTileStore;
 import net.dries007.tfc.world.noise.Noise2D;
 import net.dries007.tfc.world.noise.OpenSimplex2D;
 import net.dries007.tfc.world.settings.ClimateSettings;
 import net.dries007.tfc.world.settings.RockLayer;
 import net.dries007.tfc.world.settings.RockLayerSettings;
 import net.dries007.tfc.world.settings.RockSettings;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * This is TFC's default chunk data generator.
@@ -47,8 +49,12 @@ public class TFCChunkDataGenerator implements ChunkDataGenerator
 
     private final ConcurrentArea<PlateTectonicsClassification> plateTectonicsInfo;
 
+    private final String rockLayerKey;
+
     public TFCChunkDataGenerator(long worldSeed, RockLayerSettings rockLayerSettings, ClimateSettings temperatureSettings, ClimateSettings rainfallSettings)
     {
+        this.rockLayerKey = rockLayerSettings.getScale() + "_" + rockLayerSettings.getRocksForLayer(RockLayer.BOTTOM).size() + "_" + rockLayerSettings.getRocksForLayer(RockLayer.MIDDLE).size() + "_" + rockLayerSettings.getRocksForLayer(RockLayer.TOP).size();
+
         final Random random = new Random(worldSeed);
         random.setSeed(worldSeed ^ random.nextLong());
 
@@ -82,6 +88,19 @@ public class TFCChunkDataGenerator implements ChunkDataGenerator
         plateTectonicsInfo = new ConcurrentArea<>(TFCLayers.createOverworldPlateTectonicInfoLayer(worldSeed), PlateTectonicsClassification::valueOf);
     }
 
+    /**
+     * Reads and saves the output of the rock, forest and plate tectonics layers in the given store, or computes them directly if {@code null}.
+     * Rock layers are keyed by the rock layer settings which affect their output.
+     */
+    public void attachLayerTileStore(@Nullable LayerTileStore store)
+    {
+        bottomRockLayer.setTileStore(store == null ? null : store.layer("rock_bottom_" + rockLayerKey));
+        middleRockLayer.setTileStore(store == null ? null : store.layer("rock_middle_" + rockLayerKey));
+        topRockLayer.setTileStore(store == null ? null : store.layer("rock_top_" + rockLayerKey));
+        forestTypeLayer.setTileStore(store == null ? null : store.layer("forest"));
+        plateTectonicsInfo.setTileStore(store == null ? null : store.layer("plate_tectonics"));
+    }
+
     @Override
     public void generate(ChunkData data)
     {
@@ -109,16 +128,15 @@ public class TFCChunkDataGenerator implements ChunkDataGenerator
         final RockSettings[] topLayer = new RockSettings[256];
         final int[] rockLayerHeight = new int[256];
 
-        for (int x = 0; x < 16; x++)
+        bottomRockLayer.fill(bottomLayer, chunkX, chunkZ, 16, 16);
+        middleRockLayer.fill(middleLayer, chunkX, chunkZ, 16, 16);
+        topRockLayer.fill(topLayer, chunkX, chunkZ, 16, 16);
+
+        final float[] layerHeight = new float[256];
+        layerHeightNoise.fill(layerHeight, chunkX, chunkZ, 16, 16);
+        for (int i = 0; i < 256; i++)
         {
-            for (int z = 0; z < 16; z++)
-            {
-                bottomLayer[x + 16 * z] = bottomRockLayer.get(chunkX + x, chunkZ + z);
-                middleLayer[x + 16 * z] = middleRockLayer.get(chunkX + x, chunkZ + z);
-                topLayer[x + 16 * z] = topRockLayer.get(chunkX + x, chunkZ + z);
-
-                rockLayerHeight[x + 16 * z] = (int) layerHeightNoise.noise(chunkX + x, chunkZ + z);
-            }
+            rockLayerHeight[i] = (int) layerHeight[i];
         }
 
         data.setRainfall(new LerpFloatLayer(rainNW, rainNE, rainSW, rainSE));
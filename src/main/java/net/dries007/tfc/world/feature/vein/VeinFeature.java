@@ -8,12 +8,16 @@ package net.dries007.tfc.world.feature.vein;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Holder;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.WorldGenLevel;
 import net.minecraft.world.level.biome.Biome;
 import net.minecraft.world.level.block.Blocks;
@@ -29,10 +33,36 @@ import net.minecraft.world.level.levelgen.structure.BoundingBox;
 import com.mojang.serialization.Codec;
 import net.dries007.tfc.common.fluids.FluidHelpers;
 import net.dries007.tfc.util.EnvironmentHelpers;
+import net.dries007.tfc.world.FastConcurrentCache;
 import org.jetbrains.annotations.Nullable;
 
 public abstract class VeinFeature<C extends VeinConfig, V extends Vein> extends Feature<C>
 {
+    /**
+     * Veins are computed for every chunk within the config's chunk radius, each time a chunk is decorated, so neighbouring chunks would otherwise recompute the same veins many times over. They are cached per config and level, and shared with {@code /tfc locate vein}.
+     * This relies on the biome at any position being a pure function of the chunk generator, so it does not matter which biome query was used to compute the veins.
+     */
+    private static final Map<CacheKey, FastConcurrentCache<List<? extends Vein>>> CACHES = new ConcurrentHashMap<>();
+    private static final int CACHE_SIZE = 1024;
+
+    /**
+     * Called when the server stops, to release cached veins.
+     */
+    public static void clearCaches()
+    {
+        CACHES.clear();
+    }
+
+    public static long cacheHits()
+    {
+        return CACHES.values().stream().mapToLong(FastConcurrentCache::hits).sum();
+    }
+
+    public static long cacheMisses()
+    {
+        return CACHES.values().stream().mapToLong(FastConcurrentCache::misses).sum();
+    }
+
     public VeinFeature(Codec<C> codec)
     {
         super(codec);
@@ -63,12 +93,12 @@ public abstract class VeinFeature<C extends VeinConfig, V extends Vein> extends
     public final List<V> getNearbyVeins(WorldGenLevel level, WorldGenerationContext context, ChunkPos pos, int radius, C config, Function<BlockPos, Holder<Biome>> biomeQuery)
     {
         final List<V> veins = new ArrayList<>();
-        final Random random = new Random();
+        final FastConcurrentCache<List<V>> cache = getCache(level, config);
         for (int x = pos.x - radius; x <= pos.x + radius; x++)
         {
             for (int z = pos.z - radius; z <= pos.z + radius; z++)
             {
-                getVeinsAtChunk(level, context, x, z, veins, config, biomeQuery);
+                veins.addAll(getVeinsAtChunk(level, context, x, z, config, biomeQuery, cache));
             }
         }
         return veins;
@@ -76,15 +106,34 @@ public abstract class VeinFeature<C extends VeinConfig, V extends Vein> extends
 
     public final void getVeinsAtChunk(WorldGenLevel level, WorldGenerationContext context, int chunkPosX, int chunkPosZ, List<V> veins, C config, Function<BlockPos, Holder<Biome>> biomeQuery)
     {
-        final RandomSource forkedRandom = config.random(level.getSeed(), chunkPosX, chunkPosZ);
-        if (config.random(level.getSeed(), chunkPosX, chunkPosZ).nextInt(config.getRarity()) == 0)
+        veins.addAll(getVeinsAtChunk(level, context, chunkPosX, chunkPosZ, config, biomeQuery, getCache(level, config)));
+    }
+
+    private List<V> getVeinsAtChunk(WorldGenLevel level, WorldGenerationContext context, int chunkPosX, int chunkPosZ, C config, Function<BlockPos, Holder<Biome>> biomeQuery, FastConcurrentCache<List<V>> cache)
+    {
+        List<V> veins = cache.getIfPresent(chunkPosX, chunkPosZ);
+        if (veins == null)
         {
-            final V vein = createVein(context, chunkPosX << 4, chunkPosZ << 4, forkedRandom, config);
-            if (config.canSpawnInBiome(biomeQuery.apply(vein.getPos())))
+            veins = List.of();
+            final RandomSource forkedRandom = config.random(level.getSeed(), chunkPosX, chunkPosZ);
+            if (config.random(level.getSeed(), chunkPosX, chunkPosZ).nextInt(config.getRarity()) == 0)
             {
-                veins.add(vein);
+                final V vein = createVein(context, chunkPosX << 4, chunkPosZ << 4, forkedRandom, config);
+                if (config.canSpawnInBiome(biomeQuery.apply(vein.getPos())))
+                {
+                    veins = List.of(vein);
+                }
             }
+            cache.set(chunkPosX, chunkPosZ, veins);
         }
+        return veins;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private FastConcurrentCache<List<V>> getCache(WorldGenLevel level, C config)
+    {
+        // Veins for a given config are always of this feature's vein type
+        return (FastConcurrentCache) CACHES.computeIfAbsent(new CacheKey(config, level.getLevel().dimension(), level.getSeed()), key -> new FastConcurrentCache<>(CACHE_SIZE));
     }
 
     protected void place(WorldGenLevel level, ChunkGenerator generator, Random random, int blockX, int blockZ, V vein, C config)
@@ -186,4 +235,6 @@ public abstract class VeinFeature<C extends VeinConfig, V extends Vein> extends
      * Gets the total bounding box around where the vein can spawn, using relative position to the center of the vein
      */
     protected abstract BoundingBox getBoundingBox(C config, V vein);
+
+    private record CacheKey(VeinConfig config, ResourceKey<Level> dimension, long seed) {}
 }
@@ -9,7 +9,6 @@ package net.dries007.tfc.world.layer;
 import net.dries007.tfc.world.layer.framework.Area;
 import net.dries007.tfc.world.layer.framework.AreaContext;
 import net.dries007.tfc.world.layer.framework.TransformLayer;
-import net.dries007.tfc.world.river.MidpointFractal;
 import net.dries007.tfc.world.river.Watershed;
 
 public class MergeRiverLayer implements TransformLayer
@@ -24,20 +23,29 @@ public class MergeRiverLayer implements TransformLayer
     @Override
     public int apply(AreaContext context, Area area, int x, int z)
     {
-        final int value = area.get(x, z);
-        if (TFCLayers.hasRiver(value))
+        return apply(area.get(x, z), x, z);
+    }
+
+    @Override
+    public void fill(AreaContext context, Area area, int[] out, int x, int z, int width, int height)
+    {
+        final int[] values = area.region(x, z, width, height);
+        for (int dz = 0; dz < height; dz++)
         {
-            final float scale = 1f / (1 << 7);
-            final float x0 = x * scale, z0 = z * scale;
-            for (MidpointFractal fractal : watersheds.getFractalsByPartition(x, z))
+            for (int dx = 0; dx < width; dx++)
             {
-                // maybeIntersect will skip the more expensive calculation if it fails
-                if (fractal.maybeIntersect(x0, z0, Watershed.RIVER_WIDTH) && fractal.intersect(x0, z0, Watershed.RIVER_WIDTH))
-                {
-                    return TFCLayers.riverFor(value);
-                }
+                final int index = dx + width * dz;
+                out[index] = apply(values[index], x + dx, z + dz);
             }
         }
+    }
+
+    private int apply(int value, int x, int z)
+    {
+        if (TFCLayers.hasRiver(value) && watersheds.getPartition(x, z).intersect(x, z))
+        {
+            return TFCLayers.riverFor(value);
+        }
         return value;
     }
 }
\ No newline at end of file
@@ -25,6 +25,12 @@ import net.dries007.tfc.world.river.Watershed;
 
 public class TFCLayers
 {
+    /**
+     * The version of the layer algorithms, which is saved with any persisted layer output (see {@link net.dries007.tfc.world.layer.framework.LayerTileStore}), which is discarded if it does not match.
+     * This <strong>must</strong> be incremented whenever a change is made that affects the output of any layer, including any change to the layers, their parameters, or the ids assigned below.
+     */
+    public static final int LAYER_VERSION = 1;
+
     /**
      * These IDs are used during plate tectonic layer generation
      * They're declared here as compile time constants so they can be used optimally in switch statements later
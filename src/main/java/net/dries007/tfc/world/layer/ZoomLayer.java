@@ -73,5 +73,46 @@ public enum ZoomLayer implements TransformLayer
         return choose(context, northWest, area.get(parentX, parentZ + 1), area.get(parentX + 1, parentZ), area.get(parentX + 1, parentZ + 1));
     }
 
+    /**
+     * Queries the previous area once, over the (half size, plus one) region of parent positions.
+     */
+    @Override
+    public void fill(AreaContext context, Area area, int[] out, int x, int z, int width, int height)
+    {
+        final int parentX0 = x >> 1, parentZ0 = z >> 1;
+        final int stride = ((x + width - 1) >> 1) - parentX0 + 2;
+        final int[] values = area.region(parentX0, parentZ0, stride, ((z + height - 1) >> 1) - parentZ0 + 2);
+        for (int dz = 0; dz < height; dz++)
+        {
+            for (int dx = 0; dx < width; dx++)
+            {
+                final int parentX = (x + dx) >> 1, parentZ = (z + dz) >> 1;
+                final int offsetX = (x + dx) & 1, offsetZ = (z + dz) & 1;
+                final int index = (parentX - parentX0) + stride * (parentZ - parentZ0);
+                final int northWest = values[index];
+
+                final int value;
+                context.setSeed(parentX, parentZ);
+                if (offsetX == 0 && offsetZ == 0)
+                {
+                    value = northWest;
+                }
+                else if (offsetX == 0)
+                {
+                    value = context.choose(northWest, values[index + stride]);
+                }
+                else if (offsetZ == 0)
+                {
+                    value = context.choose(northWest, values[index + 1]);
+                }
+                else
+                {
+                    value = choose(context, northWest, values[index + stride], values[index + 1], values[index + stride + 1]);
+                }
+                out[dx + width * dz] = value;
+            }
+        }
+    }
+
     public abstract int choose(AreaContext context, int first, int second, int third, int fourth);
 }
@@ -17,5 +17,24 @@ public interface AdjacentTransformLayer extends TransformLayer
         return apply(context, area.get(x, z - 1), area.get(x + 1, z), area.get(x, z + 1), area.get(x - 1, z), area.get(x, z));
     }
 
+    /**
+     * Queries the previous area once, padded by one in each direction.
+     */
+    @Override
+    default void fill(AreaContext context, Area area, int[] out, int x, int z, int width, int height)
+    {
+        final int stride = width + 2;
+        final int[] values = area.region(x - 1, z - 1, stride, height + 2);
+        for (int dz = 0; dz < height; dz++)
+        {
+            for (int dx = 0; dx < width; dx++)
+            {
+                final int center = (dx + 1) + stride * (dz + 1);
+                context.setSeed(x + dx, z + dz);
+                out[dx + width * dz] = apply(context, values[center - stride], values[center + 1], values[center + stride], values[center - 1], values[center]);
+            }
+        }
+    }
+
     int apply(AreaContext context, int north, int east, int south, int west, int center);
 }
@@ -27,6 +27,8 @@ public class Area
     private final int[] values;
     private final int mask;
 
+    private int[] region;
+
     public Area(AreaSource source, int maxCacheSize)
     {
         maxCacheSize = Mth.smallestEncompassingPowerOfTwo(maxCacheSize);
@@ -55,4 +57,27 @@ public class Area
             return value;
         }
     }
+
+    /**
+     * Computes the values for the rectangle [x, x + width) x [z, z + height), indexed by {@code dx + width * dz}.
+     * This bypasses the point cache, and each layer instead computes the region of the previous layer it needs once.
+     */
+    public void fill(int[] out, int x, int z, int width, int height)
+    {
+        source.fill(out, x, z, width, height);
+    }
+
+    /**
+     * Like {@link #fill(int[], int, int, int, int)}, but into a buffer owned by this area. The returned array may be larger than the region, and is only valid until the next call to this method.
+     */
+    public int[] region(int x, int z, int width, int height)
+    {
+        final int size = width * height;
+        if (region == null || region.length < size)
+        {
+            region = new int[size];
+        }
+        source.fill(region, x, z, width, height);
+        return region;
+    }
 }
@@ -13,4 +13,19 @@ package net.dries007.tfc.world.layer.framework;
 public interface AreaSource
 {
     int apply(int x, int z);
+
+    /**
+     * Computes the values for the rectangle [x, x + width) x [z, z + height), into {@code out}, indexed by {@code dx + width * dz}.
+     * This must produce identical values to {@link #apply(int, int)}. Implementations can override this to compute their inputs as a single region, rather than point by point.
+     */
+    default void fill(int[] out, int x, int z, int width, int height)
+    {
+        for (int dz = 0; dz < height; dz++)
+        {
+            for (int dx = 0; dx < width; dx++)
+            {
+                out[dx + width * dz] = apply(x + dx, z + dz);
+            }
+        }
+    }
 }
@@ -17,5 +17,21 @@ public interface CenterMergeLayer extends MergeLayer
         return apply(context, first.get(x, z), second.get(x, z));
     }
 
+    @Override
+    default void fill(AreaContext context, Area first, Area second, int[] out, int x, int z, int width, int height)
+    {
+        final int[] firstValues = first.region(x, z, width, height);
+        final int[] secondValues = second.region(x, z, width, height);
+        for (int dz = 0; dz < height; dz++)
+        {
+            for (int dx = 0; dx < width; dx++)
+            {
+                final int index = dx + width * dz;
+                context.setSeed(x + dx, z + dz);
+                out[index] = apply(context, firstValues[index], secondValues[index]);
+            }
+        }
+    }
+
     int apply(AreaContext context, int first, int second);
 }
@@ -17,5 +17,20 @@ public interface CenterTransformLayer extends TransformLayer
         return apply(context, area.get(x, z));
     }
 
+    @Override
+    default void fill(AreaContext context, Area area, int[] out, int x, int z, int width, int height)
+    {
+        final int[] values = area.region(x, z, width, height);
+        for (int dz = 0; dz < height; dz++)
+        {
+            for (int dx = 0; dx < width; dx++)
+            {
+                final int index = dx + width * dz;
+                context.setSeed(x + dx, z + dz);
+                out[index] = apply(context, values[index]);
+            }
+        }
+    }
+
     int apply(AreaContext context, int value);
 }
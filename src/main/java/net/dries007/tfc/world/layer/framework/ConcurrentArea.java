@@ -8,23 +8,100 @@ package net.dries007.tfc.world.layer.framework;
 
 import java.util.function.IntFunction;
 
+import org.jetbrains.annotations.Nullable;
+
 /**
  * A concurrent wrapper around {@link Area} via the underlying {@link AreaFactory}.
  * Also supports simple mapping of the output to another type.
+ * <p>
+ * Output is computed a whole tile at a time, and kept in a {@link LayerTileCache} which is shared between all threads. Each thread still requires its own {@link Area} in order to compute tiles, as areas are not thread safe.
+ * Optionally, tiles can be read from (and saved to) a {@link LayerTileStore}.
  */
 public class ConcurrentArea<T>
 {
     private final ThreadLocal<Area> area;
+    private final ThreadLocal<LastTile> lastTile;
+    private final LayerTileCache tiles;
     private final IntFunction<T> mappingFunction;
 
+    @Nullable private volatile LayerTileStore.Layer tileStore;
+
     public ConcurrentArea(AreaFactory factory, IntFunction<T> mappingFunction)
     {
         this.area = ThreadLocal.withInitial(factory);
+        this.lastTile = ThreadLocal.withInitial(LastTile::new);
+        this.tiles = new LayerTileCache();
         this.mappingFunction = mappingFunction;
     }
 
+    public void setTileStore(@Nullable LayerTileStore.Layer tileStore)
+    {
+        this.tileStore = tileStore;
+    }
+
     public T get(int x, int z)
     {
-        return mappingFunction.apply(area.get().get(x, z));
+        return mappingFunction.apply(getValue(x, z));
+    }
+
+    /**
+     * Fills {@code out} with the mapped values of the rectangle [x, x + width) x [z, z + height), indexed by {@code dx + width * dz}.
+     */
+    public void fill(T[] out, int x, int z, int width, int height)
+    {
+        for (int dz = 0; dz < height; dz++)
+        {
+            for (int dx = 0; dx < width; dx++)
+            {
+                out[dx + width * dz] = mappingFunction.apply(getValue(x + dx, z + dz));
+            }
+        }
+    }
+
+    private int getValue(int x, int z)
+    {
+        final int tileX = x >> LayerTileStore.TILE_BITS, tileZ = z >> LayerTileStore.TILE_BITS;
+        final int mask = LayerTileStore.TILE_SIZE - 1;
+        final int index = (x & mask) | ((z & mask) << LayerTileStore.TILE_BITS);
+
+        // Consecutive queries are very likely to be in the same tile, so we avoid the shared cache in that case
+        final LastTile last = lastTile.get();
+        if (last.values != null && last.x == tileX && last.z == tileZ)
+        {
+            return last.values[index];
+        }
+
+        int[] values = tiles.get(tileX, tileZ);
+        if (values == null)
+        {
+            values = computeTile(tileX, tileZ);
+            tiles.put(tileX, tileZ, values);
+        }
+
+        last.x = tileX;
+        last.z = tileZ;
+        last.values = values;
+        return values[index];
+    }
+
+    private int[] computeTile(int tileX, int tileZ)
+    {
+        final int[] values = new int[LayerTileStore.TILE_AREA];
+        final LayerTileStore.Layer tileStore = this.tileStore;
+        if (tileStore == null || !tileStore.read(tileX, tileZ, values))
+        {
+            area.get().fill(values, tileX << LayerTileStore.TILE_BITS, tileZ << LayerTileStore.TILE_BITS, LayerTileStore.TILE_SIZE, LayerTileStore.TILE_SIZE);
+            if (tileStore != null)
+            {
+                tileStore.write(tileX, tileZ, values);
+            }
+        }
+        return values;
+    }
+
+    static final class LastTile
+    {
+        int @Nullable [] values;
+        int x, z;
     }
 }
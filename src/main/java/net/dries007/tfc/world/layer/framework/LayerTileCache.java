@@ -0,0 +1,138 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.layer.framework;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.minecraft.world.level.ChunkPos;
+
+import com.google.common.collect.MapMaker;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A thread safe, bounded, cache of computed layer tiles, which is shared between all threads querying a single layer.
+ * Tiles are {@link LayerTileStore#TILE_SIZE} square arrays of layer output, which are never modified once inserted in the cache.
+ * <p>
+ * The cache is split into a number of stripes, each of which is a LRU map guarded by its own lock. The total number of tiles held by each cache is bounded by {@link #setCapacity(int)}.
+ */
+public class LayerTileCache
+{
+    private static final int STRIPE_BITS = 4;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+
+    private static final Set<LayerTileCache> ALL_CACHES = Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private static volatile int capacityPerStripe = 512 / STRIPES;
+
+    /**
+     * Sets the maximum number of tiles held by each cache, i.e. per layer.
+     */
+    public static void setCapacity(int tiles)
+    {
+        capacityPerStripe = Math.max(1, tiles / STRIPES);
+    }
+
+    public static long hits()
+    {
+        return HITS.sum();
+    }
+
+    public static long misses()
+    {
+        return MISSES.sum();
+    }
+
+    /**
+     * @return The total number of tiles held across all live caches.
+     */
+    public static long tiles()
+    {
+        long tiles = 0;
+        for (LayerTileCache cache : ALL_CACHES)
+        {
+            for (Stripe stripe : cache.stripes)
+            {
+                tiles += stripe.size();
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * @return The approximate memory used by the tiles held across all live caches, in bytes.
+     */
+    public static long bytes()
+    {
+        return tiles() * LayerTileStore.TILE_AREA * Integer.BYTES;
+    }
+
+    private final Stripe[] stripes;
+
+    public LayerTileCache()
+    {
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++)
+        {
+            stripes[i] = new Stripe();
+        }
+        ALL_CACHES.add(this);
+    }
+
+    @Nullable
+    public int[] get(int tileX, int tileZ)
+    {
+        final long key = ChunkPos.asLong(tileX, tileZ);
+        final int[] tile = stripe(key).get(key);
+        (tile == null ? MISSES : HITS).increment();
+        return tile;
+    }
+
+    /**
+     * Inserts a tile. The tile must not be modified afterwards, as it is shared between threads.
+     */
+    public void put(int tileX, int tileZ, int[] tile)
+    {
+        final long key = ChunkPos.asLong(tileX, tileZ);
+        stripe(key).put(key, tile);
+    }
+
+    private Stripe stripe(long key)
+    {
+        return stripes[(int) (HashCommon.mix(key) >>> (Long.SIZE - STRIPE_BITS))];
+    }
+
+    static final class Stripe
+    {
+        private final Long2ObjectLinkedOpenHashMap<int[]> tiles = new Long2ObjectLinkedOpenHashMap<>();
+
+        @Nullable
+        synchronized int[] get(long key)
+        {
+            return tiles.getAndMoveToLast(key);
+        }
+
+        synchronized void put(long key, int[] tile)
+        {
+            tiles.putAndMoveToLast(key, tile);
+            while (tiles.size() > capacityPerStripe)
+            {
+                tiles.removeFirst();
+            }
+        }
+
+        synchronized int size()
+        {
+            return tiles.size();
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.layer.framework;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+import net.minecraft.world.level.ChunkPos;
+
+import com.mojang.logging.LogUtils;
+import org.jetbrains.annotations.Nullable;
+import net.dries007.tfc.world.layer.TFCLayers;
+import org.slf4j.Logger;
+
+/**
+ * A persistent store of layer output, saved under the world directory. Layers are pure functions of the seed (and settings), but their output changes whenever the layer algorithms change, so each region records {@link TFCLayers#LAYER_VERSION}, and is discarded when loaded by a different version.
+ * <p>
+ * Output is stored in square tiles of {@link #TILE_SIZE} values. Tiles are grouped into region files of {@link #REGION_SIZE} x {@link #REGION_SIZE} tiles, which are memory mapped. Each region file contains a header, a presence flag for each tile, and then the raw tile data.
+ * Any failure to read or write a region is logged, and that region is then ignored, meaning the values will just be computed as if this store was not present.
+ */
+public class LayerTileStore
+{
+    public static final int TILE_BITS = 6;
+    public static final int TILE_SIZE = 1 << TILE_BITS;
+    public static final int TILE_AREA = TILE_SIZE * TILE_SIZE;
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final int REGION_BITS = 4;
+    private static final int REGION_SIZE = 1 << REGION_BITS;
+    private static final int REGION_AREA = REGION_SIZE * REGION_SIZE;
+
+    private static final int MAGIC = 0x5446434C; // 'TFCL'
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16; // Magic, version, tile size, layer version
+    private static final int DATA_OFFSET = HEADER_BYTES + REGION_AREA; // One byte per tile presence flag
+    private static final long FILE_BYTES = DATA_OFFSET + (long) REGION_AREA * TILE_AREA * Integer.BYTES;
+
+    private final Path root;
+    private final Map<String, Region> regions;
+
+    private volatile boolean closed;
+
+    /**
+     * @param root The directory for this store. It should be unique to the world seed, as the seed is not otherwise part of the key.
+     */
+    public LayerTileStore(Path root)
+    {
+        this.root = root;
+        this.regions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @param name A name for the layer, which must uniquely identify the layer and any settings that affect its output.
+     */
+    public Layer layer(String name)
+    {
+        return new Layer(name);
+    }
+
+    public void close()
+    {
+        closed = true;
+        for (Region region : regions.values())
+        {
+            region.close();
+        }
+        regions.clear();
+    }
+
+    @Nullable
+    private Region region(String layer, int tileX, int tileZ)
+    {
+        if (closed)
+        {
+            return null;
+        }
+        final int regionX = tileX >> REGION_BITS, regionZ = tileZ >> REGION_BITS;
+        final Region region = regions.computeIfAbsent(layer + '/' + ChunkPos.asLong(regionX, regionZ), key -> Region.open(root.resolve(layer).resolve("r." + regionX + "." + regionZ + ".bin")));
+        return region.valid ? region : null;
+    }
+
+    public class Layer
+    {
+        private final String name;
+
+        Layer(String name)
+        {
+            this.name = name;
+        }
+
+        /**
+         * Reads the tile at the given tile coordinates into {@code out}.
+         *
+         * @return {@code true} if the tile was present.
+         */
+        public boolean read(int tileX, int tileZ, int[] out)
+        {
+            final Region region = region(name, tileX, tileZ);
+            return region != null && region.read(tileIndex(tileX, tileZ), out);
+        }
+
+        public void write(int tileX, int tileZ, int[] values)
+        {
+            final Region region = region(name, tileX, tileZ);
+            if (region != null)
+            {
+                region.write(tileIndex(tileX, tileZ), values);
+            }
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Layer[" + name + ']';
+        }
+
+        private int tileIndex(int tileX, int tileZ)
+        {
+            return (tileX & (REGION_SIZE - 1)) | ((tileZ & (REGION_SIZE - 1)) << REGION_BITS);
+        }
+    }
+
+    static class Region
+    {
+        static Region open(Path path)
+        {
+            try
+            {
+                Files.createDirectories(path.getParent());
+                final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                final boolean created = channel.size() == 0;
+                final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_BYTES);
+                final boolean unknownFormat = buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(8) != TILE_SIZE;
+                if (created || unknownFormat || buffer.getInt(12) != TFCLayers.LAYER_VERSION)
+                {
+                    if (!created)
+                    {
+                        if (unknownFormat)
+                        {
+                            LOGGER.warn("Layer tile region {} has an unknown format, it will be overwritten", path);
+                        }
+                        else
+                        {
+                            LOGGER.info("Layer tile region {} was generated by layer version {}, not {}, it will be discarded", path, buffer.getInt(12), TFCLayers.LAYER_VERSION);
+                        }
+                    }
+                    for (int i = 0; i < REGION_AREA; i++)
+                    {
+                        buffer.put(HEADER_BYTES + i, (byte) 0);
+                    }
+                    buffer.putInt(0, MAGIC);
+                    buffer.putInt(4, VERSION);
+                    buffer.putInt(8, TILE_SIZE);
+                    buffer.putInt(12, TFCLayers.LAYER_VERSION);
+                }
+                return new Region(channel, buffer);
+            }
+            catch (IOException | RuntimeException e)
+            {
+                LOGGER.warn("Unable to open layer tile region {}, layers will be computed instead: {}", path, e.toString());
+                return new Region(null, null);
+            }
+        }
+
+        private final StampedLock lock = new StampedLock();
+        @Nullable private final FileChannel channel;
+        @Nullable private final MappedByteBuffer buffer;
+        @Nullable private final IntBuffer ints;
+        private final boolean valid;
+
+        Region(@Nullable FileChannel channel, @Nullable MappedByteBuffer buffer)
+        {
+            this.channel = channel;
+            this.buffer = buffer;
+            this.ints = buffer == null ? null : buffer.slice(DATA_OFFSET, buffer.capacity() - DATA_OFFSET).asIntBuffer();
+            this.valid = buffer != null;
+        }
+
+        boolean read(int tile, int[] out)
+        {
+            if (buffer == null || ints == null)
+            {
+                return false;
+            }
+            final long stamp = lock.readLock();
+            try
+            {
+                if (buffer.get(HEADER_BYTES + tile) == 0)
+                {
+                    return false;
+                }
+                ints.get(tile * TILE_AREA, out, 0, TILE_AREA);
+                return true;
+            }
+            finally
+            {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void write(int tile, int[] values)
+        {
+            if (buffer == null || ints == null)
+            {
+                return;
+            }
+            final long stamp = lock.writeLock();
+            try
+            {
+                ints.put(tile * TILE_AREA, values, 0, TILE_AREA);
+                buffer.put(HEADER_BYTES + tile, (byte) 1);
+            }
+            finally
+            {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void close()
+        {
+            if (channel != null && buffer != null)
+            {
+                final long stamp = lock.writeLock();
+                try
+                {
+                    buffer.force();
+                    channel.close();
+                }
+                catch (IOException | RuntimeException e)
+                {
+                    LOGGER.warn("Unable to close layer tile region: {}", e.toString());
+                }
+                finally
+                {
+                    lock.unlockWrite(stamp);
+                }
+            }
+        }
+    }
+}
@@ -17,12 +17,38 @@ public interface TransformLayer
         return () -> {
             final AreaContext context = new AreaContext(seed);
             final Area prevArea = prev.get();
-            return new Area((x, z) -> {
-                context.setSeed(x, z);
-                return apply(context, prevArea, x, z);
+            return new Area(new AreaSource() {
+                @Override
+                public int apply(int x, int z)
+                {
+                    context.setSeed(x, z);
+                    return TransformLayer.this.apply(context, prevArea, x, z);
+                }
+
+                @Override
+                public void fill(int[] out, int x, int z, int width, int height)
+                {
+                    TransformLayer.this.fill(context, prevArea, out, x, z, width, height);
+                }
             }, 1024);
         };
     }
 
     int apply(AreaContext context, Area area, int x, int z);
+
+    /**
+     * Computes a region of this layer, see {@link AreaSource#fill(int[], int, int, int, int)}.
+     * Layers with a known footprint on the previous layer should override this to query the previous area as a single region.
+     */
+    default void fill(AreaContext context, Area area, int[] out, int x, int z, int width, int height)
+    {
+        for (int dz = 0; dz < height; dz++)
+        {
+            for (int dx = 0; dx < width; dx++)
+            {
+                context.setSeed(x + dx, z + dz);
+                out[dx + width * dz] = apply(context, area, x + dx, z + dz);
+            }
+        }
+    }
 }
@@ -0,0 +1,37 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.noise;
+
+/**
+ * Per-thread scratch arrays, used by the batch {@code fill()} implementations of noise combinators, so they do not allocate new arrays on every call.
+ * Each combinator must own its own instance, as the {@code fill()} of a nested combinator runs while the arrays of the outer one are still in use.
+ */
+final class FillScratch
+{
+    private final ThreadLocal<float[][]> arrays;
+
+    FillScratch(int count)
+    {
+        this.arrays = ThreadLocal.withInitial(() -> new float[count][0]);
+    }
+
+    /**
+     * @return The scratch arrays for the current thread, each of which has a length of at least {@code n}.
+     */
+    float[][] get(int n)
+    {
+        final float[][] arrays = this.arrays.get();
+        for (int i = 0; i < arrays.length; i++)
+        {
+            if (arrays[i].length < n)
+            {
+                arrays[i] = new float[n];
+            }
+        }
+        return arrays;
+    }
+}
@@ -6,16 +6,50 @@
 
 package net.dries007.tfc.world.noise;
 
+import java.util.Arrays;
+
 import net.minecraft.util.Mth;
 
 /**
  * Wrapper for a 2D noise layer
+ * <p>
+ * Noise can be sampled either one point at a time, via {@link #noise(float, float)}, or in batches via {@link #fill(float[], float[], float[], int)}.
+ * Combinators implement both, with the batch version operating on whole arrays at once, rather than invoking a chain of nested functions for each point. Both methods must return identical values for the same point.
  */
 @FunctionalInterface
 public interface Noise2D
 {
     float noise(float x, float z);
 
+    /**
+     * Samples the noise at {@code n} points, {@code (xs[i], zs[i])}, into {@code out[i]}. The input arrays are not modified.
+     */
+    default void fill(float[] out, float[] xs, float[] zs, int n)
+    {
+        for (int i = 0; i < n; i++)
+        {
+            out[i] = noise(xs[i], zs[i]);
+        }
+    }
+
+    /**
+     * Samples the noise over a {@code width} x {@code height} grid of integer positions, starting at {@code (x0, z0)}, into {@code out}, which is indexed by {@code dx + width * dz}.
+     */
+    default void fill(float[] out, int x0, int z0, int width, int height)
+    {
+        final int n = width * height;
+        final float[] xs = new float[n], zs = new float[n];
+        for (int dz = 0; dz < height; dz++)
+        {
+            for (int dx = 0; dx < width; dx++)
+            {
+                xs[dx + width * dz] = x0 + dx;
+                zs[dx + width * dz] = z0 + dz;
+            }
+        }
+        fill(out, xs, zs, n);
+    }
+
     /**
      * @param octaves The number of octaves
      */
@@ -28,13 +62,42 @@ public interface Noise2D
             frequency[i] = 1 << i;
             amplitude[i] = (float) Math.pow(0.5f, octaves - i);
         }
-        return (x, y) -> {
-            float value = 0;
-            for (int i = 0; i < octaves; i++)
+        return new Noise2D()
+        {
+            private final FillScratch scratch = new FillScratch(3);
+
+            @Override
+            public float noise(float x, float z)
             {
-                value += Noise2D.this.noise(x / frequency[i], y / frequency[i]) * amplitude[i];
+                float value = 0;
+                for (int i = 0; i < octaves; i++)
+                {
+                    value += Noise2D.this.noise(x / frequency[i], z / frequency[i]) * amplitude[i];
+                }
+                return value;
+            }
+
+            @Override
+            public void fill(float[] out, float[] xs, float[] zs, int n)
+            {
+                final float[][] arrays = scratch.get(n);
+                final float[] octaveXs = arrays[0], octaveZs = arrays[1], octave = arrays[2];
+                Arrays.fill(out, 0, n, 0);
+                for (int i = 0; i < octaves; i++)
+                {
+                    final float frequencyI = frequency[i], amplitudeI = amplitude[i];
+                    for (int j = 0; j < n; j++)
+                    {
+                        octaveXs[j] = xs[j] / frequencyI;
+                        octaveZs[j] = zs[j] / frequencyI;
+                    }
+                    Noise2D.this.fill(octave, octaveXs, octaveZs, n);
+                    for (int j = 0; j < n; j++)
+                    {
+                        out[j] += octave[j] * amplitudeI;
+                    }
+                }
             }
-            return value;
         };
     }
 
@@ -45,10 +108,29 @@ public interface Noise2D
      */
     default Noise2D ridged()
     {
-        return (x, y) -> {
-            float value = Noise2D.this.noise(x, y);
-            value = value < 0 ? -value : value;
-            return 1f - 2f * value;
+        return new Noise2D()
+        {
+            @Override
+            public float noise(float x, float z)
+            {
+                return ridged(Noise2D.this.noise(x, z));
+            }
+
+            @Override
+            public void fill(float[] out, float[] xs, float[] zs, int n)
+            {
+                Noise2D.this.fill(out, xs, zs, n);
+                for (int i = 0; i < n; i++)
+                {
+                    out[i] = ridged(out[i]);
+                }
+            }
+
+            private float ridged(float value)
+            {
+                value = value < 0 ? -value : value;
+                return 1f - 2f * value;
+            }
         };
     }
 
@@ -59,7 +141,24 @@ public interface Noise2D
      */
     default Noise2D abs()
     {
-        return (x, y) -> Math.abs(Noise2D.this.noise(x, y));
+        return new Noise2D()
+        {
+            @Override
+            public float noise(float x, float z)
+            {
+                return Math.abs(Noise2D.this.noise(x, z));
+            }
+
+            @Override
+            public void fill(float[] out, float[] xs, float[] zs, int n)
+            {
+                Noise2D.this.fill(out, xs, zs, n);
+                for (int i = 0; i < n; i++)
+                {
+                    out[i] = Math.abs(out[i]);
+                }
+            }
+        };
     }
 
     /**
@@ -71,10 +170,30 @@ public interface Noise2D
      */
     default Noise2D terraces(int levels)
     {
-        return (x, y) -> {
-            float value = 0.5f * Noise2D.this.noise(x, y) + 0.5f;
-            float rounded = (int) (value * levels); // In range [0, levels)
-            return (rounded * 2f) / levels - 1f;
+        return new Noise2D()
+        {
+            @Override
+            public float noise(float x, float z)
+            {
+                return terrace(Noise2D.this.noise(x, z));
+            }
+
+            @Override
+            public void fill(float[] out, float[] xs, float[] zs, int n)
+            {
+                Noise2D.this.fill(out, xs, zs, n);
+                for (int i = 0; i < n; i++)
+                {
+                    out[i] = terrace(out[i]);
+                }
+            }
+
+            private float terrace(float noise)
+            {
+                float value = 0.5f * noise + 0.5f;
+                float rounded = (int) (value * levels); // In range [0, levels)
+                return (rounded * 2f) / levels - 1f;
+            }
         };
     }
 
@@ -86,7 +205,29 @@ public interface Noise2D
      */
     default Noise2D spread(float scaleFactor)
     {
-        return (x, y) -> Noise2D.this.noise(x * scaleFactor, y * scaleFactor);
+        return new Noise2D()
+        {
+            private final FillScratch scratch = new FillScratch(2);
+
+            @Override
+            public float noise(float x, float z)
+            {
+                return Noise2D.this.noise(x * scaleFactor, z * scaleFactor);
+            }
+
+            @Override
+            public void fill(float[] out, float[] xs, float[] zs, int n)
+            {
+                final float[][] arrays = scratch.get(n);
+                final float[] spreadXs = arrays[0], spreadZs = arrays[1];
+                for (int i = 0; i < n; i++)
+                {
+                    spreadXs[i] = xs[i] * scaleFactor;
+                    spreadZs[i] = zs[i] * scaleFactor;
+                }
+                Noise2D.this.fill(out, spreadXs, spreadZs, n);
+            }
+        };
     }
 
     default Noise2D scaled(float min, float max)
@@ -112,7 +253,24 @@ public interface Noise2D
 
     default Noise2D affine(float scale, float shift)
     {
-        return (x, y) -> Noise2D.this.noise(x, y) * scale + shift;
+        return new Noise2D()
+        {
+            @Override
+            public float noise(float x, float z)
+            {
+                return Noise2D.this.noise(x, z) * scale + shift;
+            }
+
+            @Override
+            public void fill(float[] out, float[] xs, float[] zs, int n)
+            {
+                Noise2D.this.fill(out, xs, zs, n);
+                for (int i = 0; i < n; i++)
+                {
+                    out[i] = out[i] * scale + shift;
+                }
+            }
+        };
     }
 
     default Noise2D warped(OpenSimplex2D warp)
@@ -121,11 +279,34 @@ public interface Noise2D
         warp.fnl.SetFractalType(FastNoiseLite.FractalType.DomainWarpIndependent);
         warp.fnl.SetDomainWarpAmp(warp.getAmplitude() * 2);
         final FastNoiseLite.Vector2 cursor = new FastNoiseLite.Vector2(0, 0);
-        return (x, z) -> {
-            cursor.x = x;
-            cursor.y = z;
-            warp.fnl.DomainWarp(cursor);
-            return Noise2D.this.noise(cursor.x, cursor.y);
+        return new Noise2D()
+        {
+            private final FillScratch scratch = new FillScratch(2);
+
+            @Override
+            public float noise(float x, float z)
+            {
+                cursor.x = x;
+                cursor.y = z;
+                warp.fnl.DomainWarp(cursor);
+                return Noise2D.this.noise(cursor.x, cursor.y);
+            }
+
+            @Override
+            public void fill(float[] out, float[] xs, float[] zs, int n)
+            {
+                final float[][] arrays = scratch.get(n);
+                final float[] warpedXs = arrays[0], warpedZs = arrays[1];
+                for (int i = 0; i < n; i++)
+                {
+                    cursor.x = xs[i];
+                    cursor.y = zs[i];
+                    warp.fnl.DomainWarp(cursor);
+                    warpedXs[i] = cursor.x;
+                    warpedZs[i] = cursor.y;
+                }
+                Noise2D.this.fill(out, warpedXs, warpedZs, n);
+            }
         };
     }
 
@@ -138,7 +319,24 @@ public interface Noise2D
      */
     default Noise2D clamped(float min, float max)
     {
-        return (x, y) -> Mth.clamp(Noise2D.this.noise(x, y), min, max);
+        return new Noise2D()
+        {
+            @Override
+            public float noise(float x, float z)
+            {
+                return Mth.clamp(Noise2D.this.noise(x, z), min, max);
+            }
+
+            @Override
+            public void fill(float[] out, float[] xs, float[] zs, int n)
+            {
+                Noise2D.this.fill(out, xs, zs, n);
+                for (int i = 0; i < n; i++)
+                {
+                    out[i] = Mth.clamp(out[i], min, max);
+                }
+            }
+        };
     }
 
     /**
@@ -146,7 +344,28 @@ public interface Noise2D
      */
     default Noise2D add(Noise2D other)
     {
-        return (x, y) -> Noise2D.this.noise(x, y) + other.noise(x, y);
+        return new Noise2D()
+        {
+            private final FillScratch scratch = new FillScratch(1);
+
+            @Override
+            public float noise(float x, float z)
+            {
+                return Noise2D.this.noise(x, z) + other.noise(x, z);
+            }
+
+            @Override
+            public void fill(float[] out, float[] xs, float[] zs, int n)
+            {
+                final float[] otherOut = scratch.get(n)[0];
+                Noise2D.this.fill(out, xs, zs, n);
+                other.fill(otherOut, xs, zs, n);
+                for (int i = 0; i < n; i++)
+                {
+                    out[i] += otherOut[i];
+                }
+            }
+        };
     }
 
     /**
@@ -154,15 +373,50 @@ public interface Noise2D
      */
     default Noise2D lazyProduct(Noise2D other)
     {
-        return (x, y) -> {
-            final float value = Noise2D.this.noise(x, y);
-            return value == 0 ? 0 : value * other.noise(x, y);
+        return new Noise2D()
+        {
+            @Override
+            public float noise(float x, float z)
+            {
+                final float value = Noise2D.this.noise(x, z);
+                return value == 0 ? 0 : value * other.noise(x, z);
+            }
+
+            @Override
+            public void fill(float[] out, float[] xs, float[] zs, int n)
+            {
+                Noise2D.this.fill(out, xs, zs, n);
+                for (int i = 0; i < n; i++)
+                {
+                    if (out[i] != 0)
+                    {
+                        out[i] *= other.noise(xs[i], zs[i]);
+                    }
+                }
+            }
         };
     }
 
     default Noise2D map(FloatOperator mappingFunction)
     {
-        return (x, y) -> mappingFunction.applyAsFloat(Noise2D.this.noise(x, y));
+        return new Noise2D()
+        {
+            @Override
+            public float noise(float x, float z)
+            {
+                return mappingFunction.applyAsFloat(Noise2D.this.noise(x, z));
+            }
+
+            @Override
+            public void fill(float[] out, float[] xs, float[] zs, int n)
+            {
+                Noise2D.this.fill(out, xs, zs, n);
+                for (int i = 0; i < n; i++)
+                {
+                    out[i] = mappingFunction.applyAsFloat(out[i]);
+                }
+            }
+        };
     }
 
     @FunctionalInterface
@@ -170,4 +424,4 @@ public interface Noise2D
     {
         float applyAsFloat(float f);
     }
-}
\ No newline at end of file
+}
@@ -6,14 +6,29 @@
 
 package net.dries007.tfc.world.noise;
 
+import java.util.Arrays;
+
 /**
  * Wrapper for a 3D Noise Layer
+ *
+ * @see Noise2D
  */
 @FunctionalInterface
 public interface Noise3D
 {
     float noise(float x, float y, float z);
 
+    /**
+     * Samples the noise at {@code n} points, {@code (xs[i], ys[i], zs[i])}, into {@code out[i]}. The input arrays are not modified.
+     */
+    default void fill(float[] out, float[] xs, float[] ys, float[] zs, int n)
+    {
+        for (int i = 0; i < n; i++)
+        {
+            out[i] = noise(xs[i], ys[i], zs[i]);
+        }
+    }
+
     /**
      * @param octaves The number of octaves
      */
@@ -26,13 +41,43 @@ public interface Noise3D
             frequency[i] = 1 << i;
             amplitude[i] = (float) Math.pow(0.5f, octaves - i);
         }
-        return (x, y, z) -> {
-            float value = 0;
-            for (int i = 0; i < octaves; i++)
+        return new Noise3D()
+        {
+            private final FillScratch scratch = new FillScratch(4);
+
+            @Override
+            public float noise(float x, float y, float z)
             {
-                value += Noise3D.this.noise(x / frequency[i], y / frequency[i], z / frequency[i]) * amplitude[i];
+                float value = 0;
+                for (int i = 0; i < octaves; i++)
+                {
+                    value += Noise3D.this.noise(x / frequency[i], y / frequency[i], z / frequency[i]) * amplitude[i];
+                }
+                return value;
+            }
+
+            @Override
+            public void fill(float[] out, float[] xs, float[] ys, float[] zs, int n)
+            {
+                final float[][] arrays = scratch.get(n);
+                final float[] octaveXs = arrays[0], octaveYs = arrays[1], octaveZs = arrays[2], octave = arrays[3];
+                Arrays.fill(out, 0, n, 0);
+                for (int i = 0; i < octaves; i++)
+                {
+                    final float frequencyI = frequency[i], amplitudeI = amplitude[i];
+                    for (int j = 0; j < n; j++)
+                    {
+                        octaveXs[j] = xs[j] / frequencyI;
+                        octaveYs[j] = ys[j] / frequencyI;
+                        octaveZs[j] = zs[j] / frequencyI;
+                    }
+                    Noise3D.this.fill(octave, octaveXs, octaveYs, octaveZs, n);
+                    for (int j = 0; j < n; j++)
+                    {
+                        out[j] += octave[j] * amplitudeI;
+                    }
+                }
             }
-            return value;
         };
     }
 
@@ -44,7 +89,30 @@ public interface Noise3D
      */
     default Noise3D spread(float scaleFactor)
     {
-        return (x, y, z) -> Noise3D.this.noise(x * scaleFactor, y * scaleFactor, z * scaleFactor);
+        return new Noise3D()
+        {
+            private final FillScratch scratch = new FillScratch(3);
+
+            @Override
+            public float noise(float x, float y, float z)
+            {
+                return Noise3D.this.noise(x * scaleFactor, y * scaleFactor, z * scaleFactor);
+            }
+
+            @Override
+            public void fill(float[] out, float[] xs, float[] ys, float[] zs, int n)
+            {
+                final float[][] arrays = scratch.get(n);
+                final float[] spreadXs = arrays[0], spreadYs = arrays[1], spreadZs = arrays[2];
+                for (int i = 0; i < n; i++)
+                {
+                    spreadXs[i] = xs[i] * scaleFactor;
+                    spreadYs[i] = ys[i] * scaleFactor;
+                    spreadZs[i] = zs[i] * scaleFactor;
+                }
+                Noise3D.this.fill(out, spreadXs, spreadYs, spreadZs, n);
+            }
+        };
     }
 
     default Noise3D scaled(float min, float max)
@@ -63,9 +131,28 @@ public interface Noise3D
      */
     default Noise3D scaled(float oldMin, float oldMax, float min, float max)
     {
-        return (x, y, z) -> {
-            float value = Noise3D.this.noise(x, y, z);
-            return (value - oldMin) / (oldMax - oldMin) * (max - min) + min;
+        return new Noise3D()
+        {
+            @Override
+            public float noise(float x, float y, float z)
+            {
+                return scale(Noise3D.this.noise(x, y, z));
+            }
+
+            @Override
+            public void fill(float[] out, float[] xs, float[] ys, float[] zs, int n)
+            {
+                Noise3D.this.fill(out, xs, ys, zs, n);
+                for (int i = 0; i < n; i++)
+                {
+                    out[i] = scale(out[i]);
+                }
+            }
+
+            private float scale(float value)
+            {
+                return (value - oldMin) / (oldMax - oldMin) * (max - min) + min;
+            }
         };
     }
 
@@ -75,12 +162,37 @@ public interface Noise3D
         warp.fnl.SetFractalType(FastNoiseLite.FractalType.DomainWarpIndependent);
         warp.fnl.SetDomainWarpAmp(warp.getAmplitude() * 2);
         final FastNoiseLite.Vector3 cursor = new FastNoiseLite.Vector3(0, 0, 0);
-        return (x, y, z) -> {
-            cursor.x = x;
-            cursor.y = y;
-            cursor.z = z;
-            warp.fnl.DomainWarp(cursor);
-            return Noise3D.this.noise(cursor.x, cursor.y, cursor.z);
+        return new Noise3D()
+        {
+            private final FillScratch scratch = new FillScratch(3);
+
+            @Override
+            public float noise(float x, float y, float z)
+            {
+                cursor.x = x;
+                cursor.y = y;
+                cursor.z = z;
+                warp.fnl.DomainWarp(cursor);
+                return Noise3D.this.noise(cursor.x, cursor.y, cursor.z);
+            }
+
+            @Override
+            public void fill(float[] out, float[] xs, float[] ys, float[] zs, int n)
+            {
+                final float[][] arrays = scratch.get(n);
+                final float[] warpedXs = arrays[0], warpedYs = arrays[1], warpedZs = arrays[2];
+                for (int i = 0; i < n; i++)
+                {
+                    cursor.x = xs[i];
+                    cursor.y = ys[i];
+                    cursor.z = zs[i];
+                    warp.fnl.DomainWarp(cursor);
+                    warpedXs[i] = cursor.x;
+                    warpedYs[i] = cursor.y;
+                    warpedZs[i] = cursor.z;
+                }
+                Noise3D.this.fill(out, warpedXs, warpedYs, warpedZs, n);
+            }
         };
     }
-}
\ No newline at end of file
+}
@@ -13,9 +13,8 @@ import net.minecraft.util.Mth;
  * Source coordinates are full resolution but only sampled at values that are divisible by the cell width / cell height.
  * The iteration order here is changed to go:
  * 1) Sample / swap slices (cell x)
- * 2) Select slice y/z (cell y, cell z)
- * 3) Select x/z (local x, local z)
- * 4) Select y (local y)
+ * 2) Select cell z, and x/z (local x, local z)
+ * 3) Sample the entire column in y (cell y, local y)
  *
  * @see net.minecraft.world.level.levelgen.NoiseChunk.NoiseInterpolator
  */
@@ -23,25 +22,39 @@ public final class TrilinearInterpolator
 {
     private final ChunkNoiseSamplingSettings settings;
     private final Source source;
+    private final int sizeY; // Number of cell corners in y, the stride of a slice in z
 
-    private double[][] slice0;
-    private double[][] slice1;
-    private double noise000, noise001, noise100, noise101, noise010, noise011, noise110, noise111;
-    private double valueX0Z, valueX1Z;
-    private double valueXYZ;
+    // Slices are stored flat, as [z][y], so that a column of cell corners in y is contiguous
+    private double[] slice0;
+    private double[] slice1;
+
+    private final double[] columnXZ; // Values at each cell corner in y, interpolated in x and z
+    private final double[] deltaY; // Delta within a cell, for each local cell y
 
     public TrilinearInterpolator(ChunkNoiseSamplingSettings settings, Source source)
     {
         this.settings = settings;
         this.source = source;
+        this.sizeY = settings.cellCountY() + 1;
+
+        this.slice0 = new double[(settings.cellCountXZ() + 1) * sizeY];
+        this.slice1 = new double[(settings.cellCountXZ() + 1) * sizeY];
 
-        this.slice0 = allocateSlice(settings.cellCountY(), settings.cellCountXZ());
-        this.slice1 = allocateSlice(settings.cellCountY(), settings.cellCountXZ());
+        this.columnXZ = new double[sizeY];
+        this.deltaY = new double[settings.cellHeight()];
+        for (int localCellY = 0; localCellY < settings.cellHeight(); localCellY++)
+        {
+            deltaY[localCellY] = (double) localCellY / settings.cellHeight();
+        }
     }
 
-    public void initializeForFirstCellX()
+    /**
+     * Initializes the interpolator to begin iterating at an arbitrary cell x, so a chunk can be split into independent ranges of cell x.
+     * This is equivalent to having initialized at the first cell x, and then advanced (and swapped) through all previous cells.
+     */
+    public void initializeForCellX(int cellX)
     {
-        fillSlice(slice0, settings.firstCellX());
+        fillSlice(slice0, settings.firstCellX() + cellX);
     }
 
     public void advanceCellX(int cellX)
@@ -49,73 +62,59 @@ public final class TrilinearInterpolator
         fillSlice(slice1, settings.firstCellX() + cellX + 1);
     }
 
-    public void selectCellYZ(int cellY, int cellZ)
-    {
-        noise000 = slice0[cellZ][cellY];
-        noise001 = slice0[cellZ + 1][cellY];
-        noise100 = slice1[cellZ][cellY];
-        noise101 = slice1[cellZ + 1][cellY];
-        noise010 = slice0[cellZ][cellY + 1];
-        noise011 = slice0[cellZ + 1][cellY + 1];
-        noise110 = slice1[cellZ][cellY + 1];
-        noise111 = slice1[cellZ + 1][cellY + 1];
-    }
-
-    public void updateForXZ(double x, double z)
+    /**
+     * Interpolates an entire column at once, for all cells y in [0, maxCellY], first in x and z at each cell corner, then in y. This is done in simple loops over primitive arrays, which the JIT is able to unroll and vectorize.
+     *
+     * @param out The output column, indexed by {@code cellY * cellHeight + localCellY}. Must have a length of at least {@code (maxCellY + 1) * cellHeight}.
+     */
+    public void sampleColumn(int cellZ, double x, double z, int maxCellY, double[] out)
     {
-        final double valueX00 = Mth.lerp(x, noise000, noise100);
-        final double valueX10 = Mth.lerp(x, noise010, noise110);
-        final double valueX01 = Mth.lerp(x, noise001, noise101);
-        final double valueX11 = Mth.lerp(x, noise011, noise111);
-
-        valueX0Z = Mth.lerp(z, valueX00, valueX01);
-        valueX1Z = Mth.lerp(z, valueX10, valueX11);
-    }
+        final double[] slice0 = this.slice0, slice1 = this.slice1, columnXZ = this.columnXZ, deltaY = this.deltaY;
+        final int z0 = cellZ * sizeY, z1 = z0 + sizeY;
+        final int cellHeight = deltaY.length;
 
-    public void updateForY(double y)
-    {
-        valueXYZ = Mth.lerp(y, valueX0Z, valueX1Z);
-    }
+        // Interpolate each corner in x and z
+        for (int cornerY = 0; cornerY <= maxCellY + 1; cornerY++)
+        {
+            final double valueX0 = Mth.lerp(x, slice0[z0 + cornerY], slice1[z0 + cornerY]);
+            final double valueX1 = Mth.lerp(x, slice0[z1 + cornerY], slice1[z1 + cornerY]);
+            columnXZ[cornerY] = Mth.lerp(z, valueX0, valueX1);
+        }
 
-    public double sample()
-    {
-        return this.valueXYZ;
+        // Then interpolate each cell in y
+        for (int cellY = 0; cellY <= maxCellY; cellY++)
+        {
+            final double valueX0Z = columnXZ[cellY], valueX1Z = columnXZ[cellY + 1];
+            final int offset = cellY * cellHeight;
+            for (int localCellY = 0; localCellY < cellHeight; localCellY++)
+            {
+                out[offset + localCellY] = Mth.lerp(deltaY[localCellY], valueX0Z, valueX1Z);
+            }
+        }
     }
 
     public void swapSlices()
     {
-        final double[][] temp = slice0;
+        final double[] temp = slice0;
         slice0 = slice1;
         slice1 = temp;
     }
 
-    private void fillSlice(double[][] slice, int cellX)
+    private void fillSlice(double[] slice, int cellX)
     {
         final int cellWidth = settings.cellWidth();
         final int cellHeight = settings.cellHeight();
         for (int dz = 0; dz < settings.cellCountXZ() + 1; ++dz)
         {
             final int cellZ = settings.firstCellZ() + dz;
-            for (int dy = 0; dy < settings.cellCountY() + 1; ++dy)
+            for (int dy = 0; dy < sizeY; ++dy)
             {
                 final int cellY = dy + settings.firstCellY();
-                slice[dz][dy] = source.sample(cellX * cellWidth, cellY * cellHeight, cellZ * cellWidth);
+                slice[dz * sizeY + dy] = source.sample(cellX * cellWidth, cellY * cellHeight, cellZ * cellWidth);
             }
         }
     }
 
-    private double[][] allocateSlice(int cellCountY, int cellCountXZ)
-    {
-        final int sizeXZ = cellCountXZ + 1;
-        final int sizeY = cellCountY + 1;
-        final double[][] slice = new double[sizeXZ][sizeY];
-        for (int k = 0; k < sizeXZ; ++k)
-        {
-            slice[k] = new double[sizeY];
-        }
-        return slice;
-    }
-
     @FunctionalInterface
     public interface Source
     {
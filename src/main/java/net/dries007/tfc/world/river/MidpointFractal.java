@@ -122,13 +122,20 @@ public class MidpointFractal
         final int i = intersectIndex(x, y, distance * distance);
         if (i != -1)
         {
-            float sourceX = segments[i], sourceY = segments[i + 1], drainX = segments[i + 2], drainY = segments[i + 3];
-            float angle = (float) Mth.atan2(-(drainY - sourceY), drainX - sourceX);
-            return Flow.fromAngle(angle);
+            return flow(segments[i], segments[i + 1], segments[i + 2], segments[i + 3]);
         }
         return Flow.NONE;
     }
 
+    /**
+     * @return The flow along a single segment, from the source to the drain.
+     */
+    static Flow flow(float sourceX, float sourceY, float drainX, float drainY)
+    {
+        float angle = (float) Mth.atan2(-(drainY - sourceY), drainX - sourceX);
+        return Flow.fromAngle(angle);
+    }
+
     private int intersectIndex(float x, float y, float distSq)
     {
         for (int i = 0; i < segments.length - 2; i += 2)
@@ -0,0 +1,143 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.river;
+
+import java.util.List;
+
+import net.minecraft.util.Mth;
+
+/**
+ * All river fractals which pass near a single partition (a square region of quart positions), along with a spatial index of their segments.
+ * <p>
+ * The partition is divided into a uniform grid of cells. Each cell stores every segment which comes within {@link Watershed#RIVER_WIDTH} of any point in that cell, in primitive arrays, in the same order as the fractals (and their segments) are iterated.
+ * A query then only needs to test the segments in a single cell, and produces identical results to testing every fractal in order.
+ */
+public final class RiverPartition
+{
+    private static final int GRID_BITS = 3;
+    private static final int GRID_SIZE = 1 << GRID_BITS;
+    private static final int CELL_BITS = Watershed.Context.PARTITION_BITS - GRID_BITS;
+    private static final int PARTITION_MASK = (1 << Watershed.Context.PARTITION_BITS) - 1;
+
+    private static final float QUART_TO_WATERSHED_SCALE = 1f / (1 << Watershed.Context.ZOOM_BITS);
+    private static final float MARGIN = 2 * Watershed.RIVER_WIDTH; // Conservative, so float error in the bounds can never exclude a segment
+
+    private final List<MidpointFractal> fractals;
+
+    private final int[] cellStart; // Entries for cell i are in [cellStart[i], cellStart[i + 1])
+    private final float[] entrySegments; // (sourceX, sourceY, drainX, drainY) for each entry
+    private final MidpointFractal[] entryFractals; // The fractal owning each entry
+
+    public RiverPartition(int partitionX, int partitionZ, List<MidpointFractal> fractals)
+    {
+        this.fractals = fractals;
+
+        final int minQuartX = partitionX << Watershed.Context.PARTITION_BITS, minQuartZ = partitionZ << Watershed.Context.PARTITION_BITS;
+
+        // Two passes over all segments: first count the entries in each cell, then fill them in
+        final int[] counts = new int[GRID_SIZE * GRID_SIZE + 1];
+        forEachSegment(minQuartX, minQuartZ, (cell, fractal, segments, i) -> counts[cell + 1]++);
+        for (int cell = 0; cell < GRID_SIZE * GRID_SIZE; cell++)
+        {
+            counts[cell + 1] += counts[cell];
+        }
+
+        this.cellStart = counts.clone();
+        this.entrySegments = new float[4 * counts[GRID_SIZE * GRID_SIZE]];
+        this.entryFractals = new MidpointFractal[counts[GRID_SIZE * GRID_SIZE]];
+
+        forEachSegment(minQuartX, minQuartZ, (cell, fractal, segments, i) -> {
+            final int entry = counts[cell]++;
+            System.arraycopy(segments, i, entrySegments, 4 * entry, 4);
+            entryFractals[entry] = fractal;
+        });
+    }
+
+    public List<MidpointFractal> getFractals()
+    {
+        return fractals;
+    }
+
+    /**
+     * Equivalent to finding the first fractal which {@link MidpointFractal#maybeIntersect(float, float, float)} and {@link MidpointFractal#intersectWithFlow(float, float, float)} the point, at {@link Watershed#RIVER_WIDTH}.
+     *
+     * @return The flow of the river at the given quart position, which must be within this partition, or {@link Flow#NONE}
+     */
+    public Flow getFlow(int quartX, int quartZ)
+    {
+        final int entry = intersectEntry(quartX, quartZ);
+        return entry == -1 ? Flow.NONE : MidpointFractal.flow(entrySegments[4 * entry], entrySegments[4 * entry + 1], entrySegments[4 * entry + 2], entrySegments[4 * entry + 3]);
+    }
+
+    /**
+     * Equivalent to checking if any fractal {@link MidpointFractal#maybeIntersect(float, float, float)} and {@link MidpointFractal#intersect(float, float, float)} the point, at {@link Watershed#RIVER_WIDTH}.
+     *
+     * @return {@code true} if a river passes through the given quart position, which must be within this partition.
+     */
+    public boolean intersect(int quartX, int quartZ)
+    {
+        return intersectEntry(quartX, quartZ) != -1;
+    }
+
+    private int intersectEntry(int quartX, int quartZ)
+    {
+        final float x = quartX * QUART_TO_WATERSHED_SCALE, z = quartZ * QUART_TO_WATERSHED_SCALE;
+        final float distSq = Watershed.RIVER_WIDTH * Watershed.RIVER_WIDTH;
+        final int cell = ((quartX & PARTITION_MASK) >> CELL_BITS) + GRID_SIZE * ((quartZ & PARTITION_MASK) >> CELL_BITS);
+        final float[] segments = entrySegments;
+        for (int entry = cellStart[cell], end = cellStart[cell + 1]; entry < end; entry++)
+        {
+            final int i = 4 * entry;
+            if (RiverHelpers.distancePointToLineSq(segments[i], segments[i + 1], segments[i + 2], segments[i + 3], x, z) < distSq && entryFractals[entry].maybeIntersect(x, z, Watershed.RIVER_WIDTH))
+            {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Iterates all segments of all fractals, in order, once for each cell that the segment's (expanded) bounding box overlaps.
+     */
+    private void forEachSegment(int minQuartX, int minQuartZ, SegmentConsumer consumer)
+    {
+        for (MidpointFractal fractal : fractals)
+        {
+            final float[] segments = fractal.segments;
+            for (int i = 0; i < segments.length - 2; i += 2)
+            {
+                final float x0 = segments[i], z0 = segments[i + 1], x1 = segments[i + 2], z1 = segments[i + 3];
+
+                // Bounding box, in cells, clamped to this partition
+                final int minCellX = toCell(Math.min(x0, x1) - MARGIN, minQuartX), maxCellX = toCell(Math.max(x0, x1) + MARGIN, minQuartX);
+                final int minCellZ = toCell(Math.min(z0, z1) - MARGIN, minQuartZ), maxCellZ = toCell(Math.max(z0, z1) + MARGIN, minQuartZ);
+
+                for (int cellZ = Math.max(minCellZ, 0); cellZ <= Math.min(maxCellZ, GRID_SIZE - 1); cellZ++)
+                {
+                    for (int cellX = Math.max(minCellX, 0); cellX <= Math.min(maxCellX, GRID_SIZE - 1); cellX++)
+                    {
+                        consumer.accept(cellX + GRID_SIZE * cellZ, fractal, segments, i);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The cell containing the given watershed coordinate, which may be outside the partition, i.e. outside [0, GRID_SIZE)
+     */
+    private int toCell(float value, int minQuart)
+    {
+        return (Mth.floor(value / QUART_TO_WATERSHED_SCALE) - minQuart) >> CELL_BITS;
+    }
+
+    @FunctionalInterface
+    interface SegmentConsumer
+    {
+        void accept(int cell, MidpointFractal fractal, float[] segments, int index);
+    }
+}
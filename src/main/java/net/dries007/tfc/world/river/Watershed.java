@@ -9,7 +9,12 @@ package net.dries007.tfc.world.river;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import net.minecraft.util.Mth;
 import net.minecraft.world.level.levelgen.RandomSource;
@@ -24,6 +29,7 @@ import net.dries007.tfc.world.FastConcurrentCache;
 import net.dries007.tfc.world.layer.Plate;
 import net.dries007.tfc.world.layer.framework.TypedArea;
 import net.dries007.tfc.world.layer.framework.TypedAreaFactory;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.VisibleForTesting;
 
 public abstract class Watershed
@@ -194,8 +200,8 @@ public abstract class Watershed
         /**
          * Parameters that are tweaked for best performance.
          */
-        private static final int PARTITION_BITS = 5;
-        private static final int ZOOM_BITS = 7;
+        static final int PARTITION_BITS = 5;
+        static final int ZOOM_BITS = 7;
 
         private static final int WATERSHED_CACHE_BITS = 8;
         private static final int PARTITION_CACHE_BITS = 10;
@@ -209,7 +215,10 @@ public abstract class Watershed
 
         private final ThreadLocal<TypedArea<Plate>> plates;
         private final FastConcurrentCache<Watershed> watershedCache;
-        private final FastConcurrentCache<List<MidpointFractal>> partitionCache;
+        private final FastConcurrentCache<RiverPartition> partitionCache;
+
+        @Nullable private final Executor prefetchExecutor;
+        private final Map<Long, Prefetch> prefetching;
 
         private final long seed;
         private final float sourceChance;
@@ -218,10 +227,20 @@ public abstract class Watershed
         private final float feather;
 
         public Context(TypedAreaFactory<Plate> plates, long seed, float sourceChance, float length, int depth, float feather)
+        {
+            this(plates, seed, sourceChance, length, depth, feather, null);
+        }
+
+        /**
+         * @param prefetchExecutor If present, watersheds adjacent to those being queried are built on this executor ahead of time, so they are (usually) ready by the time generation reaches them.
+         */
+        public Context(TypedAreaFactory<Plate> plates, long seed, float sourceChance, float length, int depth, float feather, @Nullable Executor prefetchExecutor)
         {
             this.plates = ThreadLocal.withInitial(plates);
             this.watershedCache = new FastConcurrentCache<>(1 << WATERSHED_CACHE_BITS);
             this.partitionCache = new FastConcurrentCache<>(1 << PARTITION_CACHE_BITS);
+            this.prefetchExecutor = prefetchExecutor;
+            this.prefetching = new ConcurrentHashMap<>();
             this.seed = seed;
             this.sourceChance = sourceChance;
             this.length = length;
@@ -236,9 +255,17 @@ public abstract class Watershed
          * In order to compute the partition, we query the four adjacent watersheds, which may overlap the partition area.
          */
         public List<MidpointFractal> getFractalsByPartition(int x, int z)
+        {
+            return getPartition(x, z).getFractals();
+        }
+
+        /**
+         * @see #getFractalsByPartition(int, int)
+         */
+        public RiverPartition getPartition(int x, int z)
         {
             final int px = x >> PARTITION_BITS, pz = z >> PARTITION_BITS;
-            List<MidpointFractal> partition = partitionCache.getIfPresent(px, pz);
+            RiverPartition partition = partitionCache.getIfPresent(px, pz);
             if (partition == null)
             {
                 // Locate the four closest adjacent watersheds.
@@ -251,6 +278,8 @@ public abstract class Watershed
                 nearbySheds.add(create(x0 + 0.5f, z0 + 0.5f));
                 nearbySheds.add(create(x0 - 0.5f, z0 + 0.5f));
 
+                prefetchAround(RiverHelpers.floor(x0), RiverHelpers.floor(z0));
+
                 // Then, we iterate all sheds, all rivers, and all fractals, and partition out only those fractals which come within a minimum distance of the partition area.
                 // We define that minimum distance as a circular radius from the center of the partition region, with a radius s.t. the entire region is encompassed (effectively, an inscribed square in the circle).
                 final float partitionCenterX = px + 0.5f, partitionCenterZ = pz + 0.5f;
@@ -259,7 +288,7 @@ public abstract class Watershed
                 final float x1 = partitionToWatershedScale * partitionCenterX, z1 = partitionToWatershedScale * partitionCenterZ;
                 final float radius = partitionToWatershedScale * (PARTITION_RADIUS + 2 * RIVER_WIDTH);
 
-                partition = new ArrayList<>(32);
+                final List<MidpointFractal> fractals = new ArrayList<>(32);
                 for (Watershed shed : nearbySheds)
                 {
                     for (RiverFractal river : shed.getRivers())
@@ -268,13 +297,14 @@ public abstract class Watershed
                         {
                             if (fractal.maybeIntersect(x1, z1, radius))
                             {
-                                partition.add(fractal);
+                                fractals.add(fractal);
                             }
                         }
                     }
                 }
 
-                // Enter the resulting partition in the cache
+                // Index, and enter the resulting partition in the cache
+                partition = new RiverPartition(px, pz, fractals);
                 partitionCache.set(px, pz, partition);
             }
             return partition;
@@ -290,10 +320,88 @@ public abstract class Watershed
             Watershed shed = watershedCache.getIfPresent(x, z);
             if (shed == null)
             {
-                shed = Watershed.create(plates.get(), x, z, seed, sourceChance, length, depth, feather);
-                watershedCache.set(x, z, shed);
+                // If this watershed is already scheduled to be prefetched, either build it here (if the prefetch has not started yet), or wait for it, rather than building it twice
+                final Prefetch prefetch = prefetchExecutor != null ? prefetching.get(RiverHelpers.pack(x, z)) : null;
+                shed = prefetch != null ? prefetch.join() : build(x, z);
             }
             return shed;
         }
+
+        private Watershed build(int x, int z)
+        {
+            final Watershed shed = Watershed.create(plates.get(), x, z, seed, sourceChance, length, depth, feather);
+            watershedCache.set(x, z, shed);
+            return shed;
+        }
+
+        /**
+         * Schedules any watersheds in the 3x3 area around the watershed at (x, z), which are not already cached, to be built on the prefetch executor.
+         */
+        private void prefetchAround(int x, int z)
+        {
+            if (prefetchExecutor == null)
+            {
+                return;
+            }
+            for (int dx = -1; dx <= 1; dx++)
+            {
+                for (int dz = -1; dz <= 1; dz++)
+                {
+                    final int x1 = x + dx, z1 = z + dz;
+                    if (watershedCache.getIfPresent(x1, z1) == null)
+                    {
+                        final Prefetch prefetch = new Prefetch(x1, z1);
+                        if (prefetching.putIfAbsent(prefetch.key, prefetch) == null)
+                        {
+                            prefetchExecutor.execute(prefetch);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * A watershed which is scheduled to be built on the prefetch executor. It is built exactly once, by whichever of the prefetch task or a synchronous query claims it first.
+         */
+        private final class Prefetch implements Runnable
+        {
+            private final int x, z;
+            private final long key;
+            private final AtomicBoolean claimed = new AtomicBoolean();
+            private final CompletableFuture<Watershed> future = new CompletableFuture<>();
+
+            Prefetch(int x, int z)
+            {
+                this.x = x;
+                this.z = z;
+                this.key = RiverHelpers.pack(x, z);
+            }
+
+            @Override
+            public void run()
+            {
+                if (claimed.compareAndSet(false, true))
+                {
+                    try
+                    {
+                        future.complete(build(x, z));
+                    }
+                    catch (RuntimeException | Error e)
+                    {
+                        future.completeExceptionally(e);
+                    }
+                    finally
+                    {
+                        prefetching.remove(key, this);
+                    }
+                }
+            }
+
+            Watershed join()
+            {
+                run();
+                return future.join();
+            }
+        }
     }
 }
@@ -0,0 +1,140 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.test.blocks;
+
+import java.util.Random;
+import java.util.function.LongToDoubleFunction;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.util.Mth;
+
+import net.dries007.tfc.TestHelper;
+import net.dries007.tfc.common.blockentities.FarmlandBlockEntity.NutrientType;
+import net.dries007.tfc.common.blockentities.IFarmland;
+import net.dries007.tfc.common.blocks.crop.CropHelpers;
+import net.dries007.tfc.util.Helpers;
+import net.dries007.tfc.util.climate.ClimateRange;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import static net.dries007.tfc.common.blocks.crop.CropHelpers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CropGrowthTests extends TestHelper
+{
+    @Test
+    public void testSimulatedGrowthMatchesStepwiseGrowth()
+    {
+        final ClimateRange range = climateRange(20, 80, 10, 4, 22, 5);
+        final Random seeds = new Random(seed());
+        int survived = 0, died = 0;
+        for (int i = 0; i < 500; i++)
+        {
+            final long seed = seeds.nextLong();
+            final Random random = new Random(seed);
+            final CropHelpers.GrowthConditions conditions = new CropHelpers.GrowthConditions(range, random.nextInt(101), random.nextFloat() < 0.5f ? 1 : 0.5f, NutrientType.VALUES[random.nextInt(3)], 0.5f + random.nextFloat(), 0.5f + random.nextFloat());
+
+            // A smoothly varying temperature, which may leave the crop's range (and wiggle range) part way through
+            final float baseTemperature = random.nextFloat() * 30 - 2, amplitude = random.nextFloat() * 12, phase = random.nextFloat() * Mth.TWO_PI;
+            final LongToDoubleFunction temperature = tick -> baseTemperature + amplitude * Math.sin(phase + tick * (Mth.TWO_PI / (96 * UPDATE_INTERVAL)));
+
+            // Up to a real-world week of catch-up, usually with the last step being partial
+            final long firstTick = random.nextInt(1_000_000), thisTick = firstTick + 1 + random.nextInt((int) (300 * UPDATE_INTERVAL));
+
+            final float[] nutrients = {random.nextFloat(), random.nextFloat(), random.nextFloat()};
+            final boolean hasFarmland = random.nextFloat() < 0.8f;
+            final Farmland expectedFarmland = hasFarmland ? new Farmland(nutrients.clone()) : null, actualFarmland = hasFarmland ? new Farmland(nutrients.clone()) : null;
+
+            final CropHelpers.GrowthState expected = new CropHelpers.GrowthState(random.nextFloat() * 0.5f, 0, random.nextFloat() * 0.2f);
+            final CropHelpers.GrowthState actual = new CropHelpers.GrowthState(expected.growth, expected.yield, expected.expiry);
+
+            final long[] ticks = CropHelpers.growthTicks(firstTick, thisTick);
+            final float[] temperatures = new float[ticks.length];
+            for (int j = 0; j < ticks.length; j++)
+            {
+                temperatures[j] = (float) temperature.applyAsDouble(ticks[j]);
+            }
+
+            final boolean expectedSurvived = growthTick(expected, expectedFarmland, conditions, new Random(seed), firstTick, thisTick, temperature);
+            final boolean actualSurvived = CropHelpers.simulateGrowth(actual, actualFarmland, conditions, new Random(seed), ticks, temperatures);
+
+            assertEquals(expectedSurvived, actualSurvived, "Seed: " + seed);
+            assertEquals(expected.growth, actual.growth, "Seed: " + seed);
+            assertEquals(expected.yield, actual.yield, "Seed: " + seed);
+            assertEquals(expected.expiry, actual.expiry, "Seed: " + seed);
+            if (expectedSurvived)
+            {
+                survived++;
+            }
+            else
+            {
+                died++;
+            }
+            if (hasFarmland)
+            {
+                for (NutrientType type : NutrientType.VALUES)
+                {
+                    assertEquals(expectedFarmland.getNutrient(type), actualFarmland.getNutrient(type), "Seed: " + seed);
+                }
+            }
+        }
+
+        // Both outcomes need to be covered for the comparison to be meaningful
+        assertTrue(survived > 0, "No crops survived");
+        assertTrue(died > 0, "No crops died");
+    }
+
+    private ClimateRange climateRange(int minHydration, int maxHydration, int hydrationWiggleRange, float minTemperature, float maxTemperature, float temperatureWiggleRange)
+    {
+        final FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+        buffer.writeVarInt(minHydration);
+        buffer.writeVarInt(maxHydration);
+        buffer.writeVarInt(hydrationWiggleRange);
+        buffer.writeFloat(minTemperature);
+        buffer.writeFloat(maxTemperature);
+        buffer.writeFloat(temperatureWiggleRange);
+        return ClimateRange.MANAGER.rawFromNetwork(Helpers.identifier("test"), buffer).get();
+    }
+
+    /**
+     * The original catch-up loop, which applied one {@link CropHelpers#growthTickStep} of up to {@link CropHelpers#UPDATE_INTERVAL} at a time, querying the temperature at both ends of every step.
+     */
+    private boolean growthTick(CropHelpers.GrowthState crop, @Nullable IFarmland farmland, CropHelpers.GrowthConditions conditions, Random random, long firstTick, long thisTick, LongToDoubleFunction temperature)
+    {
+        long tick = firstTick + CropHelpers.UPDATE_INTERVAL, lastTick = firstTick;
+        for (; tick < thisTick; tick += CropHelpers.UPDATE_INTERVAL)
+        {
+            if (!growthTickStep(crop, farmland, conditions, random, lastTick, tick, temperature))
+            {
+                return false;
+            }
+            lastTick = tick;
+        }
+        return lastTick >= thisTick || growthTickStep(crop, farmland, conditions, random, lastTick, thisTick, temperature);
+    }
+
+    private boolean growthTickStep(CropHelpers.GrowthState crop, @Nullable IFarmland farmland, CropHelpers.GrowthConditions conditions, Random random, long fromTick, long toTick, LongToDoubleFunction temperature)
+    {
+        return CropHelpers.growthTickStep(crop, farmland, conditions, random, fromTick, toTick, (float) temperature.applyAsDouble(fromTick), (float) temperature.applyAsDouble(toTick));
+    }
+
+    record Farmland(float[] nutrients) implements IFarmland
+    {
+        @Override
+        public float getNutrient(NutrientType type)
+        {
+            return nutrients[type.ordinal()];
+        }
+
+        @Override
+        public void setNutrient(NutrientType type, float value)
+        {
+            nutrients[type.ordinal()] = Mth.clamp(value, 0, 1);
+        }
+    }
+}
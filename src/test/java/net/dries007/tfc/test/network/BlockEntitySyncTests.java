@@ -0,0 +1,102 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.test.network;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+
+import net.dries007.tfc.TestHelper;
+import net.dries007.tfc.common.blockentities.TFCBlockEntity;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BlockEntitySyncTests extends TestHelper
+{
+    @Test
+    public void testDeltaContainsChangedAndRemovedKeys()
+    {
+        final CompoundTag delta = TFCBlockEntity.createSyncDelta(createBase(), createUpdated());
+
+        assertNotNull(delta);
+        assertEquals(2, delta.size());
+
+        final CompoundTag changed = delta.getCompound("tfc:sync_delta");
+        assertEquals(2, changed.size());
+        assertEquals(7, changed.getInt("temperature"));
+        assertEquals("new", changed.getString("added"));
+
+        final ListTag removed = delta.getList("tfc:sync_removed", Tag.TAG_STRING);
+        assertEquals(1, removed.size());
+        assertEquals("removed", removed.getString(0));
+    }
+
+    @Test
+    public void testApplyDeltaToBase()
+    {
+        final CompoundTag delta = TFCBlockEntity.createSyncDelta(createBase(), createUpdated());
+
+        assertNotNull(delta);
+        assertEquals(createUpdated(), TFCBlockEntity.applySyncDelta(createBase(), delta));
+    }
+
+    @Test
+    public void testApplyHandWrittenDeltaToBase()
+    {
+        final CompoundTag changed = new CompoundTag();
+        changed.putInt("temperature", 7);
+        changed.putString("added", "new");
+
+        final ListTag removed = new ListTag();
+        removed.add(StringTag.valueOf("removed"));
+        removed.add(StringTag.valueOf("missing")); // Not present in the base, which must be ignored
+
+        final CompoundTag delta = new CompoundTag();
+        delta.put("tfc:sync_delta", changed);
+        delta.put("tfc:sync_removed", removed);
+
+        assertEquals(createUpdated(), TFCBlockEntity.applySyncDelta(createBase(), delta));
+    }
+
+    @Test
+    public void testApplyDeltaWithoutBase()
+    {
+        final CompoundTag delta = TFCBlockEntity.createSyncDelta(createBase(), createUpdated());
+
+        assertNotNull(delta);
+        assertNull(TFCBlockEntity.applySyncDelta(null, delta));
+    }
+
+    @Test
+    public void testNoDeltaWhenUnchanged()
+    {
+        assertNull(TFCBlockEntity.createSyncDelta(createBase(), createBase()));
+    }
+
+    private CompoundTag createBase()
+    {
+        final CompoundTag inventory = new CompoundTag();
+        inventory.putInt("size", 9);
+
+        final CompoundTag tag = new CompoundTag();
+        tag.putInt("temperature", 3);
+        tag.put("inventory", inventory);
+        tag.putBoolean("removed", true);
+        return tag;
+    }
+
+    private CompoundTag createUpdated()
+    {
+        final CompoundTag tag = createBase();
+        tag.putInt("temperature", 7);
+        tag.putString("added", "new");
+        tag.remove("removed");
+        return tag;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.test.network;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+
+import net.dries007.tfc.TestHelper;
+import net.dries007.tfc.network.ChunkDataBatchPacket;
+import net.dries007.tfc.network.ChunkWatchPacket;
+import net.dries007.tfc.world.chunkdata.ForestType;
+import net.dries007.tfc.world.chunkdata.LerpFloatLayer;
+import net.dries007.tfc.world.chunkdata.PlateTectonicsClassification;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkDataBatchPacketTests extends TestHelper
+{
+    private static final int RADIUS = 16; // View distance 16, as a player would watch on login
+    private static final float EPSILON = 1 / 64f; // Corners are quantized
+
+    @Test
+    public void testBatchIsSmallerThanIndividualPackets()
+    {
+        final List<ChunkWatchPacket> chunks = createChunks();
+
+        int individualBytes = 0;
+        for (ChunkWatchPacket chunk : chunks)
+        {
+            final FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+            chunk.encode(buffer);
+            individualBytes += buffer.readableBytes();
+        }
+
+        final FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+        new ChunkDataBatchPacket(chunks).encode(buffer);
+        final int batchBytes = buffer.readableBytes();
+
+        // One packet, rather than one per chunk, and less than half the total size
+        assertEquals((2 * RADIUS + 1) * (2 * RADIUS + 1), chunks.size());
+        assertTrue(chunks.size() <= ChunkDataBatchPacket.MAX_CHUNKS);
+        assertTrue(2 * batchBytes < individualBytes, "Expected " + batchBytes + " * 2 < " + individualBytes + " bytes");
+    }
+
+    @Test
+    public void testEncodeDecode()
+    {
+        final List<ChunkWatchPacket> chunks = createChunks();
+
+        // A chunk with missing layers, and one whose corners do not match its neighbors, must also be preserved
+        final ChunkWatchPacket first = chunks.get(0), second = chunks.get(1);
+        chunks.set(0, new ChunkWatchPacket(first.chunkX(), first.chunkZ(), null, null, ForestType.NONE, 0, 0, PlateTectonicsClassification.OCEANIC));
+        chunks.set(1, new ChunkWatchPacket(second.chunkX(), second.chunkZ(), new LerpFloatLayer(1, 2, 3, 4), new LerpFloatLayer(-1, -2, -3, -4), ForestType.NONE, 0, 0, PlateTectonicsClassification.OCEANIC));
+
+        final FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+        new ChunkDataBatchPacket(chunks).encode(buffer);
+        final List<ChunkWatchPacket> decoded = ChunkDataBatchPacket.decode(buffer).getChunks();
+
+        assertEquals(0, buffer.readableBytes());
+        assertEquals(chunks.size(), decoded.size());
+        for (int i = 0; i < chunks.size(); i++)
+        {
+            final ChunkWatchPacket expected = chunks.get(i), actual = decoded.get(i);
+
+            assertEquals(expected.chunkX(), actual.chunkX());
+            assertEquals(expected.chunkZ(), actual.chunkZ());
+            assertLayerEquals(expected.rainfallLayer(), actual.rainfallLayer());
+            assertLayerEquals(expected.temperatureLayer(), actual.temperatureLayer());
+            assertEquals(expected.forestType(), actual.forestType());
+            assertEquals(expected.forestDensity(), actual.forestDensity());
+            assertEquals(expected.forestWeirdness(), actual.forestWeirdness());
+            assertEquals(expected.plateTectonicsInfo(), actual.plateTectonicsInfo());
+        }
+    }
+
+    @Test
+    public void testBatchAndIndividualPacketsAreIdentical()
+    {
+        final List<ChunkWatchPacket> chunks = createChunks();
+
+        // Including a chunk which is written in full, rather than in the shared grid
+        final ChunkWatchPacket first = chunks.get(0);
+        chunks.set(0, new ChunkWatchPacket(first.chunkX(), first.chunkZ(), new LerpFloatLayer(1.001f, 2.002f, 3.003f, 4.004f), new LerpFloatLayer(-1.001f, -2.002f, -3.003f, -4.004f), ForestType.NONE, 0, 0, PlateTectonicsClassification.OCEANIC));
+
+        final FriendlyByteBuf batchBuffer = new FriendlyByteBuf(Unpooled.buffer());
+        new ChunkDataBatchPacket(chunks).encode(batchBuffer);
+        final List<ChunkWatchPacket> batch = ChunkDataBatchPacket.decode(batchBuffer).getChunks();
+
+        for (int i = 0; i < chunks.size(); i++)
+        {
+            final FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+            chunks.get(i).encode(buffer);
+            final ChunkWatchPacket individual = ChunkWatchPacket.decode(buffer);
+
+            assertLayerEquals(individual.rainfallLayer(), batch.get(i).rainfallLayer(), 0);
+            assertLayerEquals(individual.temperatureLayer(), batch.get(i).temperatureLayer(), 0);
+        }
+    }
+
+    private void assertLayerEquals(LerpFloatLayer expected, LerpFloatLayer actual)
+    {
+        assertLayerEquals(expected, actual, EPSILON);
+    }
+
+    private void assertLayerEquals(LerpFloatLayer expected, LerpFloatLayer actual, float epsilon)
+    {
+        if (expected == null)
+        {
+            assertNull(actual);
+            return;
+        }
+        assertNotNull(actual);
+        assertEquals(expected.getValueNW(), actual.getValueNW(), epsilon);
+        assertEquals(expected.getValueNE(), actual.getValueNE(), epsilon);
+        assertEquals(expected.getValueSW(), actual.getValueSW(), epsilon);
+        assertEquals(expected.getValueSE(), actual.getValueSE(), epsilon);
+    }
+
+    /**
+     * Creates chunks in a square, in the same order they are sent, with corners sampled from smoothly varying climate, as they would be generated.
+     */
+    private List<ChunkWatchPacket> createChunks()
+    {
+        final List<ChunkWatchPacket> chunks = new ArrayList<>();
+        for (int z = -RADIUS; z <= RADIUS; z++)
+        {
+            for (int x = -RADIUS; x <= RADIUS; x++)
+            {
+                final LerpFloatLayer rainfall = new LerpFloatLayer(rainfall(x, z), rainfall(x + 1, z), rainfall(x, z + 1), rainfall(x + 1, z + 1));
+                final LerpFloatLayer temperature = new LerpFloatLayer(temperature(x, z), temperature(x + 1, z), temperature(x, z + 1), temperature(x + 1, z + 1));
+                final ForestType forestType = ForestType.values()[Math.floorMod(x * 7 + z * 3, ForestType.values().length)];
+                chunks.add(new ChunkWatchPacket(x, z, rainfall, temperature, forestType, 0.4f + 0.01f * x, 0.2f + 0.01f * z, PlateTectonicsClassification.CONTINENTAL_LOW));
+            }
+        }
+        return chunks;
+    }
+
+    private float rainfall(int cornerX, int cornerZ)
+    {
+        return 250f + 200f * (float) Math.sin(cornerX * 0.05f + 1.3f) * (float) Math.cos(cornerZ * 0.04f);
+    }
+
+    private float temperature(int cornerX, int cornerZ)
+    {
+        return 10f + 15f * (float) Math.cos(cornerZ * 0.03f) - 0.1f * cornerX;
+    }
+}
@@ -7,27 +7,38 @@
 package net.dries007.tfc.test.recipes;
 
 import java.util.Collection;
+import java.util.function.Function;
 import io.netty.buffer.Unpooled;
 import net.minecraft.gametest.framework.GameTestGenerator;
 import net.minecraft.gametest.framework.GameTestHelper;
 import net.minecraft.gametest.framework.TestFunction;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.CraftingRecipe;
+import net.minecraft.world.item.crafting.Ingredient;
 import net.minecraft.world.item.crafting.Recipe;
 import net.minecraft.world.item.crafting.RecipeSerializer;
 import net.minecraft.world.item.crafting.RecipeType;
 import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.registries.ForgeRegistries;
 import org.junit.jupiter.api.Assertions;
 
 import net.dries007.tfc.MyTest;
 import net.dries007.tfc.TestAssertions;
 import net.dries007.tfc.common.capabilities.food.FoodCapability;
 import net.dries007.tfc.common.capabilities.food.IFood;
+import net.dries007.tfc.common.capabilities.heat.HeatCapability;
+import net.dries007.tfc.common.recipes.BarrelRecipe;
+import net.dries007.tfc.common.recipes.HeatingRecipe;
+import net.dries007.tfc.common.recipes.InstantFluidBarrelRecipe;
 import net.dries007.tfc.mock.MockCraftingContainer;
+import net.dries007.tfc.util.Fuel;
 import net.dries007.tfc.util.Helpers;
+import net.dries007.tfc.util.ItemDefinition;
 import net.dries007.tfc.util.calendar.CalendarTransaction;
 import net.dries007.tfc.util.calendar.Calendars;
+import net.dries007.tfc.util.collections.IndirectItemCollection;
 
 import static net.dries007.tfc.TestAssertions.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -90,6 +101,37 @@ public class RecipeTests
         }
     }
 
+    @MyTest(unitTest = true)
+    public void testAllBarrelRecipesAreIndexed(GameTestHelper helper)
+    {
+        for (Recipe<?> recipe : helper.getLevel().getRecipeManager().getRecipes())
+        {
+            if (recipe instanceof BarrelRecipe barrelRecipe && !(recipe instanceof InstantFluidBarrelRecipe))
+            {
+                assertFalse(barrelRecipe.getInputKeys().isEmpty(), "Barrel recipe: " + recipe.getId() + " has no input keys, and will never be found");
+            }
+        }
+    }
+
+    @MyTest(unitTest = true)
+    public void testItemLookupsMatchLinearSearch(GameTestHelper helper)
+    {
+        assertItemLookupMatchesLinearSearch(HeatingRecipe.CACHE, HeatingRecipe::getIngredient);
+        assertItemLookupMatchesLinearSearch(HeatCapability.CACHE, ItemDefinition::getIngredient);
+        assertItemLookupMatchesLinearSearch(FoodCapability.CACHE, ItemDefinition::getIngredient);
+        assertItemLookupMatchesLinearSearch(Fuel.CACHE, ItemDefinition::getIngredient);
+    }
+
+    private <R> void assertItemLookupMatchesLinearSearch(IndirectItemCollection<R> cache, Function<R, Ingredient> ingredient)
+    {
+        for (Item item : ForgeRegistries.ITEMS)
+        {
+            final ItemStack stack = new ItemStack(item);
+            final R expected = cache.getAll(item).stream().filter(value -> ingredient.apply(value).test(stack)).findFirst().orElse(null);
+            assertEquals(expected, cache.get(stack), "Item lookup: " + cache.getName() + " for " + stack);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private ItemStack getOutputOfRecipe(Recipe<?> recipe)
     {
@@ -0,0 +1,154 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.test.recipes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTestGenerator;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.gametest.framework.TestFunction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.gametest.GameTestHolder;
+
+import it.unimi.dsi.fastutil.longs.LongList;
+import net.dries007.tfc.MyTest;
+import net.dries007.tfc.TestAssertions;
+import net.dries007.tfc.common.blocks.TFCBlocks;
+import net.dries007.tfc.common.blocks.wood.Wood;
+import net.dries007.tfc.util.Support;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@GameTestHolder
+public class UnsupportedPositionsTests
+{
+    @GameTestGenerator
+    public Collection<TestFunction> generator()
+    {
+        return TestAssertions.testGenerator();
+    }
+
+    @MyTest(unitTest = true)
+    public void testUnsupportedPositionsMatchSetBasedSearch(GameTestHelper helper)
+    {
+        final ServerLevel level = helper.getLevel();
+        final Random random = new Random(2387461239L);
+        final BlockState state = TFCBlocks.WOODS.get(Wood.OAK).get(Wood.BlockType.HORIZONTAL_SUPPORT).get().defaultBlockState();
+        final Support support = Support.get(state);
+
+        assertNotNull(support);
+
+        // A 9x5x9 area, the largest a collapse checks, high above the test
+        final BlockPos origin = helper.absolutePos(BlockPos.ZERO);
+        final BlockPos min = new BlockPos(origin.getX(), Math.min(origin.getY() + 100, level.getMaxBuildHeight() - 20), origin.getZ()), max = min.offset(8, 4, 8);
+        final int h = support.getSupportHorizontal(), up = support.getSupportUp(), down = support.getSupportDown();
+
+        final List<BlockPos> placed = new ArrayList<>();
+        try
+        {
+            // Supports on each edge of the area, just outside it, at the very edge of their range, and just out of range
+            placed.add(min);
+            placed.add(max);
+            placed.add(min.offset(-1, 2, 4));
+            placed.add(max.offset(1, -2, -4));
+            placed.add(min.offset(-h, 0, 0));
+            placed.add(max.offset(0, 0, h));
+            placed.add(min.offset(4, -up, 4));
+            placed.add(max.offset(-4, down, -4));
+            placed.add(min.offset(-h - 1, 1, 2));
+            placed.add(max.offset(-2, down + 1, -1));
+
+            for (BlockPos pos : placed)
+            {
+                level.setBlock(pos, state, Block.UPDATE_CLIENTS);
+                assertMatchesSetBasedSearch(level, min, max);
+            }
+
+            // Random supports in and around the area, also querying with corners given in any order, and areas which are a single row, or a single position
+            for (int i = 0; i < 12; i++)
+            {
+                final BlockPos pos = min.offset(random.nextInt(9 + 2 * h) - h, random.nextInt(5 + up + down) - up, random.nextInt(9 + 2 * h) - h);
+                placed.add(pos);
+                level.setBlock(pos, state, Block.UPDATE_CLIENTS);
+                assertMatchesSetBasedSearch(level, min, max);
+                assertMatchesSetBasedSearch(level, max, min);
+                assertMatchesSetBasedSearch(level, min.offset(0, 2, 3), min.offset(8, 2, 3));
+                assertMatchesSetBasedSearch(level, pos, pos);
+            }
+        }
+        finally
+        {
+            placed.forEach(pos -> level.setBlock(pos, Blocks.AIR.defaultBlockState(), Block.UPDATE_CLIENTS));
+        }
+    }
+
+    private void assertMatchesSetBasedSearch(BlockGetter level, BlockPos from, BlockPos to)
+    {
+        final Set<BlockPos> expected = findUnsupportedPositions(level, from, to);
+        final LongList actual = Support.findUnsupportedPositions(level, from, to);
+
+        // Positions must be unique, and in order of increasing y, then z, then x, as they are consumed by collapses
+        final Set<BlockPos> unpacked = new HashSet<>();
+        BlockPos previous = null;
+        for (int i = 0; i < actual.size(); i++)
+        {
+            final BlockPos pos = BlockPos.of(actual.getLong(i));
+            if (previous != null)
+            {
+                final boolean ordered = pos.getY() != previous.getY() ? pos.getY() > previous.getY() : pos.getZ() != previous.getZ() ? pos.getZ() > previous.getZ() : pos.getX() > previous.getX();
+                assertTrue(ordered, "Expected " + pos + " after " + previous);
+            }
+            unpacked.add(pos);
+            previous = pos;
+        }
+
+        assertEquals(expected, unpacked, "Between " + from + " and " + to);
+    }
+
+    /**
+     * The original search, which collects every position supported by any support near the area into a set, and removes each one from the set of unsupported positions.
+     */
+    private Set<BlockPos> findUnsupportedPositions(BlockGetter level, BlockPos from, BlockPos to)
+    {
+        final Set<BlockPos> listSupported = new HashSet<>();
+        final Set<BlockPos> listUnsupported = new HashSet<>();
+        final int minX = Math.min(from.getX(), to.getX());
+        final int maxX = Math.max(from.getX(), to.getX());
+        final int minY = Math.min(from.getY(), to.getY());
+        final int maxY = Math.max(from.getY(), to.getY());
+        final int minZ = Math.min(from.getZ(), to.getZ());
+        final int maxZ = Math.max(from.getZ(), to.getZ());
+        for (BlockPos searchingPoint : Support.getMaximumSupportedAreaAround(new BlockPos(minX, minY, minZ), new BlockPos(maxX, maxY, maxZ)))
+        {
+            if (!listSupported.contains(searchingPoint))
+            {
+                listUnsupported.add(searchingPoint.immutable());
+            }
+            final Support support = Support.get(level.getBlockState(searchingPoint));
+            if (support != null)
+            {
+                for (BlockPos supported : support.getSupportedArea(searchingPoint))
+                {
+                    listSupported.add(supported.immutable());
+                    listUnsupported.remove(supported);
+                }
+            }
+        }
+        listUnsupported.removeIf(pos -> pos.getX() < minX || pos.getX() > maxX || pos.getY() < minY || pos.getY() > maxY || pos.getZ() < minZ || pos.getZ() > maxZ);
+        return listUnsupported;
+    }
+}
@@ -7,9 +7,12 @@
 package net.dries007.tfc.test.util;
 
 import java.util.Collection;
+
+import io.netty.buffer.Unpooled;
 import net.minecraft.gametest.framework.GameTestGenerator;
 import net.minecraft.gametest.framework.GameTestHelper;
 import net.minecraft.gametest.framework.TestFunction;
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.inventory.CraftingContainer;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
@@ -19,9 +22,13 @@ import net.minecraftforge.gametest.GameTestHolder;
 
 import net.dries007.tfc.MyTest;
 import net.dries007.tfc.TestAssertions;
+import net.dries007.tfc.common.capabilities.ItemStackCapabilitySync;
 import net.dries007.tfc.common.capabilities.VesselLike;
 import net.dries007.tfc.common.capabilities.food.FoodCapability;
+import net.dries007.tfc.common.capabilities.food.FoodTraits;
 import net.dries007.tfc.common.capabilities.food.IFood;
+import net.dries007.tfc.common.capabilities.heat.HeatCapability;
+import net.dries007.tfc.common.capabilities.heat.IHeat;
 import net.dries007.tfc.common.items.Food;
 import net.dries007.tfc.common.items.TFCItems;
 import net.dries007.tfc.mock.MockCraftingContainer;
@@ -114,4 +121,47 @@ public class FoodBehaviorTests
 
         assertEquals(initialExpiryDate, afterExtractExpiryDate);
     }
+
+    @MyTest(unitTest = true)
+    public void testSyncingFoodAndHeatIsSmallerThanNbtAndPreservesCapabilities(GameTestHelper helper)
+    {
+        final ItemStack stack = new ItemStack(TFCItems.FOOD.get(Food.BEEF).get());
+        final IFood food = Helpers.getCapability(stack, FoodCapability.CAPABILITY);
+        final IHeat heat = Helpers.getCapability(stack, HeatCapability.CAPABILITY);
+
+        assertNotNull(food);
+        assertNotNull(heat);
+
+        FoodCapability.applyTrait(food, FoodTraits.SALTED);
+        heat.setTemperature(500f);
+
+        final FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+        buffer.writeItem(stack);
+
+        final ItemStack syncedStack = buffer.readItem();
+        final IFood syncedFood = Helpers.getCapability(syncedStack, FoodCapability.CAPABILITY);
+        final IHeat syncedHeat = Helpers.getCapability(syncedStack, HeatCapability.CAPABILITY);
+
+        assertEquals(0, buffer.readableBytes());
+        assertNotNull(syncedFood);
+        assertNotNull(syncedHeat);
+        assertEquals(food.getCreationDate(), syncedFood.getCreationDate());
+        assertEquals(food.getTraits(), syncedFood.getTraits());
+        assertEquals(heat.getTemperature(), syncedHeat.getTemperature());
+        assertTrue(ItemStackCapabilitySync.hasSameSyncableCapabilities(stack, syncedStack));
+
+        heat.setTemperature(400f);
+
+        assertFalse(ItemStackCapabilitySync.hasSameSyncableCapabilities(stack, syncedStack));
+
+        final FriendlyByteBuf compact = new FriendlyByteBuf(Unpooled.buffer());
+        final FriendlyByteBuf nbt = new FriendlyByteBuf(Unpooled.buffer());
+
+        ItemStackCapabilitySync.writeToNetwork(stack, compact);
+        nbt.writeBoolean(true);
+        nbt.writeNbt(food.serializeNBT());
+        nbt.writeNbt(heat.serializeNBT());
+
+        assertTrue(compact.readableBytes() < nbt.readableBytes(), "Expected " + compact.readableBytes() + " < " + nbt.readableBytes() + " bytes");
+    }
 }
@@ -0,0 +1,171 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.test.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import com.google.gson.JsonParser;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.gametest.framework.GameTestGenerator;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.gametest.framework.TestFunction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.material.FluidState;
+import net.minecraftforge.gametest.GameTestHolder;
+
+import net.dries007.tfc.MyTest;
+import net.dries007.tfc.TestAssertions;
+import net.dries007.tfc.common.blocks.TFCBlocks;
+import net.dries007.tfc.common.blocks.wood.Wood;
+import net.dries007.tfc.util.Helpers;
+import net.dries007.tfc.util.Support;
+import net.dries007.tfc.util.SupportIndex;
+import org.jetbrains.annotations.Nullable;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@GameTestHolder
+public class SupportIndexTests
+{
+    @GameTestGenerator
+    public Collection<TestFunction> generator()
+    {
+        return TestAssertions.testGenerator();
+    }
+
+    @MyTest(unitTest = true)
+    public void testIndexMatchesFullScan(GameTestHelper helper)
+    {
+        final ServerLevel level = helper.getLevel();
+        final BlockGetter fullScan = fullScan(level);
+        final Random random = new Random(7816234591L);
+        final BlockState support = TFCBlocks.WOODS.get(Wood.OAK).get(Wood.BlockType.HORIZONTAL_SUPPORT).get().defaultBlockState();
+
+        assertNotNull(Support.get(support));
+
+        // An area high above the test, from the center of one chunk to the center of the next, in both x and z, so supports and their ranges cross chunk boundaries
+        final BlockPos origin = helper.absolutePos(BlockPos.ZERO);
+        final int boundaryX = SectionPos.sectionToBlockCoord(SectionPos.blockToSectionCoord(origin.getX()) + 1);
+        final int boundaryZ = SectionPos.sectionToBlockCoord(SectionPos.blockToSectionCoord(origin.getZ()) + 1);
+        final int minY = Math.min(origin.getY() + 100, level.getMaxBuildHeight() - 20);
+        final BlockPos min = new BlockPos(boundaryX - 8, minY, boundaryZ - 8), max = min.offset(15, 7, 15);
+
+        // Load every chunk in range of the area, so the index is used rather than the fallback
+        for (int chunkX = SectionPos.blockToSectionCoord(min.getX()) - 1; chunkX <= SectionPos.blockToSectionCoord(max.getX()) + 1; chunkX++)
+        {
+            for (int chunkZ = SectionPos.blockToSectionCoord(min.getZ()) - 1; chunkZ <= SectionPos.blockToSectionCoord(max.getZ()) + 1; chunkZ++)
+            {
+                level.getChunk(chunkX, chunkZ);
+            }
+        }
+
+        final List<BlockPos> placed = new ArrayList<>();
+        try
+        {
+            // Build the indexes, before any supports are placed, so they must be kept up to date by block changes
+            assertMatchesFullScan(level, fullScan, min, max);
+            assertNotNull(SupportIndex.get(level, SectionPos.blockToSectionCoord(min.getX()), SectionPos.blockToSectionCoord(min.getZ())));
+
+            // Supports either side of the chunk boundaries, and at random positions in and around the area
+            placed.add(new BlockPos(boundaryX - 1, minY + 3, boundaryZ - 1));
+            placed.add(new BlockPos(boundaryX, minY + 4, boundaryZ));
+            for (int i = 0; i < 14; i++)
+            {
+                placed.add(min.offset(random.nextInt(16 + 8) - 4, random.nextInt(8 + 4) - 2, random.nextInt(16 + 8) - 4));
+            }
+            placed.forEach(pos -> level.setBlock(pos, support, Block.UPDATE_CLIENTS));
+            assertMatchesFullScan(level, fullScan, min, max);
+
+            // Break every other support
+            for (int i = 0; i < placed.size(); i += 2)
+            {
+                level.setBlock(placed.get(i), Blocks.AIR.defaultBlockState(), Block.UPDATE_CLIENTS);
+            }
+            assertMatchesFullScan(level, fullScan, min, max);
+
+            // Blocks which only become supports after supports are reloaded
+            for (int i = 0; i < 4; i++)
+            {
+                final BlockPos pos = min.offset(random.nextInt(16), random.nextInt(8), random.nextInt(16));
+                placed.add(pos);
+                level.setBlock(pos, Blocks.GOLD_BLOCK.defaultBlockState(), Block.UPDATE_CLIENTS);
+            }
+            assertMatchesFullScan(level, fullScan, min, max);
+
+            final List<Support> supports = new ArrayList<>(Support.MANAGER.getValues());
+            supports.add(new Support(Helpers.identifier("test_gold_block"), JsonParser.parseString("{\"ingredient\": \"minecraft:gold_block\", \"support_up\": 1, \"support_down\": 1, \"support_horizontal\": 3}").getAsJsonObject()));
+            Support.CACHE.reload(supports);
+            Support.updateMaximumSupportRange();
+            assertMatchesFullScan(level, fullScan, min, max);
+        }
+        finally
+        {
+            Support.CACHE.reload(Support.MANAGER.getValues());
+            Support.updateMaximumSupportRange();
+            placed.forEach(pos -> level.setBlock(pos, Blocks.AIR.defaultBlockState(), Block.UPDATE_CLIENTS));
+        }
+        assertMatchesFullScan(level, fullScan, min, max);
+    }
+
+    private void assertMatchesFullScan(ServerLevel level, BlockGetter fullScan, BlockPos min, BlockPos max)
+    {
+        for (BlockPos pos : BlockPos.betweenClosed(min, max))
+        {
+            assertEquals(Support.isSupported(fullScan, pos), Support.isSupported(level, pos), "isSupported at " + pos);
+        }
+        assertEquals(Support.findUnsupportedPositions(fullScan, min, max), Support.findUnsupportedPositions(level, min, max));
+    }
+
+    /**
+     * A view of the level which is not a {@link net.minecraft.world.level.Level}, so support queries fall back to checking every position in range.
+     */
+    private BlockGetter fullScan(ServerLevel level)
+    {
+        return new BlockGetter()
+        {
+            @Nullable
+            @Override
+            public BlockEntity getBlockEntity(BlockPos pos)
+            {
+                return level.getBlockEntity(pos);
+            }
+
+            @Override
+            public BlockState getBlockState(BlockPos pos)
+            {
+                return level.getBlockState(pos);
+            }
+
+            @Override
+            public FluidState getFluidState(BlockPos pos)
+            {
+                return level.getFluidState(pos);
+            }
+
+            @Override
+            public int getHeight()
+            {
+                return level.getHeight();
+            }
+
+            @Override
+            public int getMinBuildHeight()
+            {
+                return level.getMinBuildHeight();
+            }
+        };
+    }
+}
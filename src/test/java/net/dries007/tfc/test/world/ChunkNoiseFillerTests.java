@@ -0,0 +1,124 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.test.world;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+import net.minecraft.Util;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Registry;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.gametest.framework.GameTestGenerator;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.gametest.framework.TestFunction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.chunk.ProtoChunk;
+import net.minecraft.world.level.chunk.UpgradeData;
+import net.minecraft.world.level.levelgen.GenerationStep;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.levelgen.NoiseGeneratorSettings;
+import net.minecraft.world.level.material.FluidState;
+import net.minecraftforge.gametest.GameTestHolder;
+
+import net.dries007.tfc.MyTest;
+import net.dries007.tfc.TestAssertions;
+import net.dries007.tfc.world.TFCChunkGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@GameTestHolder
+public class ChunkNoiseFillerTests
+{
+    @GameTestGenerator
+    public Collection<TestFunction> generator()
+    {
+        return TestAssertions.testGenerator();
+    }
+
+    @MyTest(unitTest = true)
+    public void testParallelFillIsIdenticalToSerialFill(GameTestHelper helper)
+    {
+        final ServerLevel level = helper.getLevel();
+        final RegistryAccess registries = level.registryAccess();
+        final Registry<Biome> biomes = registries.registryOrThrow(Registry.BIOME_REGISTRY);
+
+        // Use a new generator, rather than the level's, so the chunks generated here are not visible to the level
+        final TFCChunkGenerator generator = TFCChunkGenerator.defaultChunkGenerator(
+            registries.registryOrThrow(Registry.STRUCTURE_SET_REGISTRY),
+            registries.registryOrThrow(Registry.NOISE_REGISTRY),
+            registries.registryOrThrow(Registry.NOISE_GENERATOR_SETTINGS_REGISTRY).getHolderOrThrow(NoiseGeneratorSettings.OVERWORLD),
+            biomes,
+            level.getSeed());
+
+        // Several chunks, spread out, so at least some contain aquifers and caves
+        int fluids = 0, carved = 0;
+        for (ChunkPos pos : List.of(new ChunkPos(0, 0), new ChunkPos(37, -12), new ChunkPos(-150, 83), new ChunkPos(412, 391), new ChunkPos(-1024, -768)))
+        {
+            final ProtoChunk serial = new ProtoChunk(pos, UpgradeData.EMPTY, level, biomes, null);
+            final ProtoChunk parallel = new ProtoChunk(pos, UpgradeData.EMPTY, level, biomes, null);
+
+            generator.fillFromNoise(Runnable::run, null, serial).join();
+            generator.fillFromNoise(Runnable::run, Util.backgroundExecutor(), parallel).join(); // Replays the writes recorded by each task
+
+            fluids += assertChunksEqual(serial, parallel);
+            carved += assertCarvingMasksEqual(serial, parallel);
+        }
+        assertTrue(fluids > 0, "Expected at least one fluid to be generated");
+        assertTrue(carved > 0, "Expected at least one position to be carved");
+    }
+
+    /**
+     * @return The number of positions containing a fluid.
+     */
+    private int assertChunksEqual(ProtoChunk expected, ProtoChunk actual)
+    {
+        final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+        final int minX = expected.getPos().getMinBlockX(), minZ = expected.getPos().getMinBlockZ();
+        int fluids = 0;
+        for (int x = 0; x < 16; x++)
+        {
+            for (int z = 0; z < 16; z++)
+            {
+                for (int y = expected.getMinBuildHeight(); y < expected.getMaxBuildHeight(); y++)
+                {
+                    cursor.set(minX + x, y, minZ + z);
+
+                    final FluidState fluid = expected.getFluidState(cursor);
+                    assertEquals(expected.getBlockState(cursor), actual.getBlockState(cursor), () -> "Block state at " + cursor);
+                    assertEquals(fluid, actual.getFluidState(cursor), () -> "Fluid state at " + cursor);
+                    if (!fluid.isEmpty())
+                    {
+                        fluids++;
+                    }
+                }
+
+                for (Heightmap.Types type : new Heightmap.Types[] {Heightmap.Types.OCEAN_FLOOR_WG, Heightmap.Types.WORLD_SURFACE_WG})
+                {
+                    final int localX = x, localZ = z;
+                    assertEquals(expected.getHeight(type, x, z), actual.getHeight(type, x, z), () -> type + " height at " + localX + ", " + localZ + " in " + expected.getPos());
+                }
+            }
+        }
+        return fluids;
+    }
+
+    /**
+     * @return The number of positions marked in the air carving mask.
+     */
+    private int assertCarvingMasksEqual(ProtoChunk expected, ProtoChunk actual)
+    {
+        for (GenerationStep.Carving step : GenerationStep.Carving.values())
+        {
+            assertArrayEquals(expected.getOrCreateCarvingMask(step).toArray(), actual.getOrCreateCarvingMask(step).toArray(), () -> step + " carving mask in " + expected.getPos());
+        }
+        return BitSet.valueOf(expected.getOrCreateCarvingMask(GenerationStep.Carving.AIR).toArray()).cardinality();
+    }
+}
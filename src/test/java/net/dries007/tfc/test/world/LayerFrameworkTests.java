@@ -15,6 +15,8 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import net.dries007.tfc.TestHelper;
+import net.dries007.tfc.world.layer.SmoothLayer;
+import net.dries007.tfc.world.layer.ZoomLayer;
 import net.dries007.tfc.world.layer.framework.*;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -103,6 +105,42 @@ public class LayerFrameworkTests extends TestHelper
         }
     }
 
+    @Test
+    public void testRegionFillMatchesPointQueries()
+    {
+        final long seed = System.currentTimeMillis();
+        final Random random = new Random(seed);
+        final SourceLayer source = (context, x, z) -> context.random().nextInt(6);
+        final CenterTransformLayer center = (context, value) -> context.random().nextInt(3) == 0 ? value + 1 : value;
+        final CenterMergeLayer merge = (context, first, second) -> first * 7 + second;
+
+        AreaFactory layer = source.apply(random.nextLong());
+        layer = ZoomLayer.NORMAL.apply(random.nextLong(), layer);
+        layer = SmoothLayer.INSTANCE.apply(random.nextLong(), layer);
+        layer = center.apply(random.nextLong(), layer);
+        layer = ZoomLayer.FUZZY.apply(random.nextLong(), layer);
+        layer = merge.apply(random.nextLong(), layer, ZoomLayer.NORMAL.apply(random.nextLong(), source.apply(random.nextLong())));
+        layer = SmoothLayer.INSTANCE.apply(random.nextLong(), layer);
+
+        final Area pointArea = layer.get(), regionArea = layer.get();
+        for (int i = 0; i < 20; i++)
+        {
+            final int x0 = random.nextInt(20_000) - 10_000, z0 = random.nextInt(20_000) - 10_000;
+            final int width = 1 + random.nextInt(64), height = 1 + random.nextInt(64);
+            final int[] values = new int[width * height];
+
+            regionArea.fill(values, x0, z0, width, height);
+            for (int dz = 0; dz < height; dz++)
+            {
+                for (int dx = 0; dx < width; dx++)
+                {
+                    final int x = x0 + dx, z = z0 + dz;
+                    assertEquals(pointArea.get(x, z), values[dx + width * dz], () -> "Region fill differs from point query at x=" + x + ", z=" + z + " with seed " + seed);
+                }
+            }
+        }
+    }
+
     private void resolve(ExecutorService service, List<Future<Integer>> futures)
     {
         Integer result = null;
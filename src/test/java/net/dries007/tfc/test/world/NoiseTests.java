@@ -0,0 +1,71 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.test.world;
+
+import net.dries007.tfc.TestHelper;
+import net.dries007.tfc.world.noise.Noise2D;
+import net.dries007.tfc.world.noise.Noise3D;
+import net.dries007.tfc.world.noise.OpenSimplex2D;
+import net.dries007.tfc.world.noise.OpenSimplex3D;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class NoiseTests extends TestHelper
+{
+    @Test
+    public void testNoise2DFillMatchesPointSampling()
+    {
+        final long seed = seed();
+        assertFillMatchesPointSampling(new OpenSimplex2D(seed).octaves(2).scaled(-10, 10).spread(0.03f));
+        assertFillMatchesPointSampling(new OpenSimplex2D(seed).octaves(4).spread(0.0025f).map(x -> 1.1f * Math.abs(x)).clamped(0, 1));
+        assertFillMatchesPointSampling(new OpenSimplex2D(seed).spread(0.02f).warped(new OpenSimplex2D(seed + 1).spread(0.01f).scaled(-30, 30)));
+        assertFillMatchesPointSampling(((Noise2D) (x, z) -> 0.001f * x - 0.002f * z).octaves(3).spread(0.7f).ridged().terraces(5)
+            .add(new OpenSimplex2D(seed).spread(0.01f).abs())
+            .affine(3, 1)
+            .lazyProduct(new OpenSimplex2D(seed + 1).scaled(0, 1)));
+    }
+
+    @Test
+    public void testNoise3DFillMatchesPointSampling()
+    {
+        final long seed = seed();
+        assertFillMatchesPointSampling(new OpenSimplex3D(seed).octaves(3).spread(0.05f).scaled(-2, 5));
+        assertFillMatchesPointSampling(((Noise3D) (x, y, z) -> 0.001f * x * y + z).octaves(2).spread(0.3f).scaled(-1, 1, 0, 4).warped(new OpenSimplex3D(seed).spread(0.1f).scaled(-4, 4)));
+    }
+
+    private void assertFillMatchesPointSampling(Noise2D noise)
+    {
+        final int x0 = -1234, z0 = 98765, width = 16, height = 24;
+        final float[] out = new float[width * height];
+        noise.fill(out, x0, z0, width, height);
+        for (int dz = 0; dz < height; dz++)
+        {
+            for (int dx = 0; dx < width; dx++)
+            {
+                assertEquals(noise.noise(x0 + dx, z0 + dz), out[dx + width * dz], "at " + dx + ", " + dz);
+            }
+        }
+    }
+
+    private void assertFillMatchesPointSampling(Noise3D noise)
+    {
+        final int n = 100;
+        final float[] xs = new float[n], ys = new float[n], zs = new float[n], out = new float[n];
+        for (int i = 0; i < n; i++)
+        {
+            xs[i] = i * 3.1f;
+            ys[i] = i % 17;
+            zs[i] = -i * 1.7f;
+        }
+        noise.fill(out, xs, ys, zs, n);
+        for (int i = 0; i < n; i++)
+        {
+            assertEquals(noise.noise(xs[i], ys[i], zs[i]), out[i], "at " + i);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.test.world;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import net.dries007.tfc.TestHelper;
+import net.dries007.tfc.world.layer.TFCLayers;
+import net.dries007.tfc.world.river.Flow;
+import net.dries007.tfc.world.river.MidpointFractal;
+import net.dries007.tfc.world.river.RiverPartition;
+import net.dries007.tfc.world.river.Watershed;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RiverPartitionTests extends TestHelper
+{
+    @Test
+    public void testPartitionMatchesLinearSearch()
+    {
+        final long seed = seed();
+        final Watershed.Context context = new Watershed.Context(TFCLayers.createEarlyPlateLayers(seed), seed, 0.5f, 0.8f, 14, 0.2f);
+
+        for (int x = -256; x < 256; x++)
+        {
+            for (int z = -256; z < 256; z++)
+            {
+                final RiverPartition partition = context.getPartition(x, z);
+                final Flow expected = linearSearch(context, x, z);
+
+                assertEquals(expected, partition.getFlow(x, z), "at " + x + ", " + z);
+                assertEquals(expected != Flow.NONE, partition.intersect(x, z), "at " + x + ", " + z);
+            }
+        }
+    }
+
+    @Test
+    public void testPrefetchedWatershedsMatchSynchronous()
+    {
+        final long seed = seed();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            final Watershed.Context expected = new Watershed.Context(TFCLayers.createEarlyPlateLayers(seed), seed, 0.5f, 0.8f, 14, 0.2f);
+            final Watershed.Context actual = new Watershed.Context(TFCLayers.createEarlyPlateLayers(seed), seed, 0.5f, 0.8f, 14, 0.2f, executor);
+
+            // Queries race with the prefetches they schedule, so watersheds are variously built synchronously, by the prefetch, or waited for
+            for (int x = -2048; x < 2048; x += 4)
+            {
+                for (int z = -2048; z < 2048; z += 4)
+                {
+                    assertEquals(expected.getPartition(x, z).getFlow(x, z), actual.getPartition(x, z).getFlow(x, z), "at " + x + ", " + z);
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private Flow linearSearch(Watershed.Context context, int x, int z)
+    {
+        final float scale = 1f / (1 << 7);
+        final float x0 = x * scale, z0 = z * scale;
+        for (MidpointFractal fractal : context.getFractalsByPartition(x, z))
+        {
+            if (fractal.maybeIntersect(x0, z0, Watershed.RIVER_WIDTH))
+            {
+                final Flow flow = fractal.intersectWithFlow(x0, z0, Watershed.RIVER_WIDTH);
+                if (flow != Flow.NONE)
+                {
+                    return flow;
+                }
+            }
+        }
+        return Flow.NONE;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.test.world;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import net.minecraft.util.Mth;
+
+import net.dries007.tfc.TestHelper;
+import net.dries007.tfc.world.noise.ChunkNoiseSamplingSettings;
+import net.dries007.tfc.world.noise.TrilinearInterpolator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+public class TrilinearInterpolatorTests extends TestHelper
+{
+    private static final ChunkNoiseSamplingSettings SETTINGS = new ChunkNoiseSamplingSettings(-64, 4, 48, 4, 8, 37, -8, -12);
+    private static final TrilinearInterpolator.Source SOURCE = (x, y, z) -> Math.sin(x * 0.37 + y * 0.11) * Math.cos(z * 0.23 - y * 0.05);
+
+    @Test
+    public void testFillingCellsInParallelIsIdenticalToSerial()
+    {
+        final double[] serial = new double[16 * 16 * SETTINGS.cellCountY() * SETTINGS.cellHeight()];
+        final double[] parallel = new double[serial.length];
+
+        fillCellsX(serial, 0, SETTINGS.cellCountXZ());
+
+        final ExecutorService executor = Executors.newFixedThreadPool(SETTINGS.cellCountXZ());
+        try
+        {
+            final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+            for (int cellX = 0; cellX < SETTINGS.cellCountXZ(); cellX++)
+            {
+                final int taskCellX = cellX;
+                tasks.add(CompletableFuture.runAsync(() -> fillCellsX(parallel, taskCellX, taskCellX + 1), executor));
+            }
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        assertArrayEquals(serial, parallel);
+    }
+
+    @Test
+    public void testSampleColumnMatchesTrilinearInterpolation()
+    {
+        final TrilinearInterpolator interpolator = new TrilinearInterpolator(SETTINGS, SOURCE);
+        final int cellWidth = SETTINGS.cellWidth(), cellHeight = SETTINGS.cellHeight(), height = SETTINGS.cellCountY() * cellHeight;
+        final int maxCellY = SETTINGS.cellCountY() - 3;
+        final double[] expected = new double[height], column = new double[height];
+
+        interpolator.initializeForCellX(0);
+        interpolator.advanceCellX(0);
+        for (int cellZ = 0; cellZ < SETTINGS.cellCountXZ(); cellZ++)
+        {
+            for (int localCellX = 0; localCellX < cellWidth; localCellX++)
+            {
+                for (int localCellZ = 0; localCellZ < cellWidth; localCellZ++)
+                {
+                    final double deltaX = (double) localCellX / cellWidth, deltaZ = (double) localCellZ / cellWidth;
+                    for (int cellY = 0; cellY <= maxCellY; cellY++)
+                    {
+                        final double valueX0Z = interpolate(0, cellY, cellZ, deltaX, deltaZ), valueX1Z = interpolate(0, cellY + 1, cellZ, deltaX, deltaZ);
+                        for (int localCellY = 0; localCellY < cellHeight; localCellY++)
+                        {
+                            expected[cellY * cellHeight + localCellY] = Mth.lerp((double) localCellY / cellHeight, valueX0Z, valueX1Z);
+                        }
+                    }
+
+                    interpolator.sampleColumn(cellZ, deltaX, deltaZ, maxCellY, column);
+                    assertArrayEquals(expected, column);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The source, interpolated in x and z, at the corner of the cell at (cellX, cornerY, cellZ), relative to the first cell.
+     */
+    private double interpolate(int cellX, int cornerY, int cellZ, double deltaX, double deltaZ)
+    {
+        final double valueX0 = Mth.lerp(deltaX, sample(cellX, cornerY, cellZ), sample(cellX + 1, cornerY, cellZ));
+        final double valueX1 = Mth.lerp(deltaX, sample(cellX, cornerY, cellZ + 1), sample(cellX + 1, cornerY, cellZ + 1));
+        return Mth.lerp(deltaZ, valueX0, valueX1);
+    }
+
+    private double sample(int cellX, int cellY, int cellZ)
+    {
+        return SOURCE.sample((SETTINGS.firstCellX() + cellX) * SETTINGS.cellWidth(), (SETTINGS.firstCellY() + cellY) * SETTINGS.cellHeight(), (SETTINGS.firstCellZ() + cellZ) * SETTINGS.cellWidth());
+    }
+
+    /**
+     * Iterates in the same order as {@link net.dries007.tfc.world.ChunkNoiseFiller}, recording every sampled value.
+     */
+    private void fillCellsX(double[] out, int fromCellX, int toCellX)
+    {
+        final TrilinearInterpolator interpolator = new TrilinearInterpolator(SETTINGS, SOURCE);
+        final int cellWidth = SETTINGS.cellWidth(), height = SETTINGS.cellCountY() * SETTINGS.cellHeight();
+        final double[] column = new double[height];
+
+        interpolator.initializeForCellX(fromCellX);
+        for (int cellX = fromCellX; cellX < toCellX; cellX++)
+        {
+            interpolator.advanceCellX(cellX);
+            for (int cellZ = 0; cellZ < SETTINGS.cellCountXZ(); cellZ++)
+            {
+                for (int localCellX = 0; localCellX < cellWidth; localCellX++)
+                {
+                    final int x = cellX * cellWidth + localCellX;
+                    for (int localCellZ = 0; localCellZ < cellWidth; localCellZ++)
+                    {
+                        final int z = cellZ * cellWidth + localCellZ;
+                        interpolator.sampleColumn(cellZ, (double) localCellX / cellWidth, (double) localCellZ / cellWidth, SETTINGS.cellCountY() - 1, column);
+                        System.arraycopy(column, 0, out, height * (x + 16 * z), height);
+                    }
+                }
+            }
+            interpolator.swapSlices();
+        }
+    }
+}